@@ -0,0 +1,55 @@
+package de.cofinpro.battleship.ai;
+
+import de.cofinpro.battleship.benchmark.BenchmarkFleet;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * compares the fast random fleet placer with the naive rejection sampling placer - for plain layouts
+ * (sampleFleet) and for complete battlefields. The crowded config fills a 10x10 field almost completely.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFleet.QUIET_LOGGING)
+@State(Scope.Thread)
+public class PlacerBenchmark {
+
+    @Param({"5", "10", "16", "26"})
+    int fieldSize;
+
+    @Param({"2-2", "5-4-3-3-2", "5-4-4-3-3-3-2-2-2-2"})
+    String fleetConfig;
+
+    private List<Battleship> fleet;
+    private RandomFleetPlacer randomFleetPlacer;
+    private RandomPlacer randomPlacer;
+
+    @Setup
+    public void setUp() {
+        fleet = new BenchmarkFleet(fieldSize, fleetConfig).newShips();
+        randomFleetPlacer = new RandomFleetPlacer(new SplittableRandom(42));
+        randomPlacer = new RandomPlacer(new SplittableRandom(42));
+    }
+
+    @Benchmark
+    public boolean sampleFleet() {
+        return randomFleetPlacer.sampleFleet(fieldSize, fleet);
+    }
+
+    @Benchmark
+    public Battlefield randomFleetPlacer() {
+        return randomFleetPlacer.placeFleet(fieldSize, fleet);
+    }
+
+    @Benchmark
+    public Battlefield rejectionSamplingPlacer() {
+        return randomPlacer.placeFleet(fieldSize, fleet);
+    }
+}
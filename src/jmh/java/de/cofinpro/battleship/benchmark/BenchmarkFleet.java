@@ -0,0 +1,97 @@
+package de.cofinpro.battleship.benchmark;
+
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * deterministic fleet layout shared by the benchmarks. The ships of a fleet config (cell lengths separated by "-",
+ * e.g. "5-4-3-3-2") are positioned row aligned from the largest to the smallest ship, left to right in every
+ * second row. Ships, that do not fit on the field any more, are dropped - so every config works for all field sizes.
+ */
+public class BenchmarkFleet {
+
+    /**
+     * JVM argument for the benchmark forks, that silences the game output (see log4j2-benchmark.xml).
+     */
+    public static final String QUIET_LOGGING = "-Dlog4j2.configurationFile=log4j2-benchmark.xml";
+
+    private final int fieldSize;
+    private final List<Integer> lengths = new ArrayList<>();
+    private final List<List<String>> positionTokens = new ArrayList<>();
+
+    public BenchmarkFleet(int fieldSize, String fleetConfig) {
+        this.fieldSize = fieldSize;
+        List<Integer> requested = new ArrayList<>(Arrays.stream(fleetConfig.split("-")).map(Integer::valueOf).toList());
+        requested.sort(Collections.reverseOrder());
+        int row = 0;
+        int column = 0;
+        for (int length : requested) {
+            if (length > fieldSize) {
+                continue;
+            }
+            if (column + length > fieldSize) {
+                row += 2;
+                column = 0;
+            }
+            if (row >= fieldSize) {
+                break;
+            }
+            lengths.add(length);
+            positionTokens.add(List.of(token(row, column), token(row, column + length - 1)));
+            column += length + 1;
+        }
+    }
+
+    public int getFieldSize() {
+        return fieldSize;
+    }
+
+    /**
+     * @return the cell lengths of the ships in the layout, largest first.
+     */
+    public List<Integer> getLengths() {
+        return lengths;
+    }
+
+    /**
+     * @return the two position tokens (e.g. ["A1", "A5"]) per ship in the layout.
+     */
+    public List<List<String>> getPositionTokens() {
+        return positionTokens;
+    }
+
+    /**
+     * @return new, not yet positioned ships of the layout.
+     */
+    public List<Battleship> newShips() {
+        List<Battleship> ships = new ArrayList<>();
+        for (int i = 0; i < lengths.size(); i++) {
+            ships.add(new Battleship("ship-" + i, lengths.get(i)));
+        }
+        return ships;
+    }
+
+    /**
+     * @return a new battlefield with all ships of the layout positioned.
+     */
+    public Battlefield newBattlefield() {
+        Battlefield battlefield = new Battlefield(fieldSize);
+        List<Battleship> ships = newShips();
+        for (int i = 0; i < ships.size(); i++) {
+            battlefield.couldPositionShip(positionTokens.get(i), ships.get(i));
+        }
+        return battlefield;
+    }
+
+    /**
+     * @return the position token (e.g. "B3") of the cell given.
+     */
+    public static String token(int row, int column) {
+        return (char) ('A' + row) + String.valueOf(column + 1);
+    }
+}
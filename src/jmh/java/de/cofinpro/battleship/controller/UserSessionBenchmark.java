@@ -0,0 +1,101 @@
+package de.cofinpro.battleship.controller;
+
+import de.cofinpro.battleship.benchmark.BenchmarkFleet;
+import de.cofinpro.battleship.config.GameConfig;
+import de.cofinpro.battleship.config.PropertyManager;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+import de.cofinpro.battleship.view.CommandLineUI;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * benchmark of the shot application of a UserSession: every invocation shoots at all cells of a freshly set up
+ * battlefield row by row, until the fleet is sunk. The UI is replaced by a non-interactive one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFleet.QUIET_LOGGING)
+@State(Scope.Thread)
+public class UserSessionBenchmark {
+
+    private static final String[] AMOUNT_KEYS = {"two-cell-ships", "three-cell-ships", "four-cell-ships",
+            "five-cell-ships"};
+
+    @Param({"2", "5", "10", "16", "26"})
+    int fieldSize;
+
+    @Param({"2-2", "5-4-3-3-2", "4-3-3-2-2-2-2"})
+    String fleetConfig;
+
+    private BenchmarkFleet fleet;
+    private GameConfig config;
+    private Shot[] shots;
+    private UserSession userSession;
+
+    @Setup
+    public void setUp() {
+        fleet = new BenchmarkFleet(fieldSize, fleetConfig);
+        Properties properties = new Properties();
+        properties.putAll(PropertyManager.getProperties());
+        properties.setProperty("field-size", String.valueOf(fieldSize));
+        for (int cells = 2; cells <= 5; cells++) {
+            int shipCells = cells;
+            long amount = fleet.getLengths().stream().filter(length -> length == shipCells).count();
+            properties.setProperty(AMOUNT_KEYS[cells - 2], String.valueOf(amount));
+        }
+        properties.setProperty("ship-names", IntStream.range(0, fleet.getLengths().size())
+                .mapToObj(i -> "ship-" + i).collect(Collectors.joining(",")));
+        config = GameConfig.from(properties);
+        shots = IntStream.range(0, fieldSize * fieldSize)
+                .mapToObj(i -> new Shot(i / fieldSize, i % fieldSize)).toArray(Shot[]::new);
+    }
+
+    @Setup(Level.Invocation)
+    public void newGame() {
+        userSession = new UserSession("benchmark", config, new ScriptedUI(fleet.getPositionTokens()));
+        userSession.userAddOwnShipsToBattleField();
+    }
+
+    @Benchmark
+    public void applyShotToAllCells(Blackhole blackhole) {
+        for (Shot shot : shots) {
+            ShotResult result = userSession.applyShot(shot);
+            blackhole.consume(result);
+            if (result == ShotResult.WON) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * UI that answers the ship position prompts from the benchmark layout and never waits for a player change.
+     */
+    static class ScriptedUI extends CommandLineUI {
+
+        private final Iterator<List<String>> positions;
+
+        ScriptedUI(List<List<String>> positions) {
+            this.positions = positions.iterator();
+        }
+
+        @Override
+        public List<String> promptForShipPosition(String shipName, int length) {
+            return positions.next();
+        }
+
+        @Override
+        public void promptForPlayerChange() {
+            // no hand-over in the benchmark
+        }
+    }
+}
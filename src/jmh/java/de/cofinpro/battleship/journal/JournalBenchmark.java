@@ -0,0 +1,130 @@
+package de.cofinpro.battleship.journal;
+
+import de.cofinpro.battleship.ai.ProbabilityDensityShooter;
+import de.cofinpro.battleship.ai.RandomFleetPlacer;
+import de.cofinpro.battleship.benchmark.BenchmarkFleet;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+import de.cofinpro.battleship.simulation.GameResult;
+import de.cofinpro.battleship.simulation.HeadlessGame;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the game journal as engine workload and its cost in the turn loop: replayGames streams a journal of recorded
+ * games (density shooters on the classic fleet) and replays every placement and shot on new battlefields;
+ * playGame and playJournaledGame compare a headless game without and with journaling.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFleet.QUIET_LOGGING)
+@State(Scope.Thread)
+public class JournalBenchmark {
+
+    private static final int FIELD_SIZE = 10;
+    private static final List<Integer> FLEET = List.of(5, 4, 3, 3, 2);
+
+    @Param({"1000"})
+    int games;
+
+    private Path directory;
+    private JournalReader reader;
+    private HeadlessGame game;
+    private GameJournal journal;
+    private GameJournal.Writer writer;
+    private HeadlessGame journaledGame;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        HeadlessGame recorded = newGame(1);
+        try (GameJournal recording = GameJournal.open(directory.resolve("recorded.journal"))) {
+            recorded.setJournal(recording.writer());
+            for (int i = 0; i < games; i++) {
+                recorded.play();
+            }
+        }
+        reader = JournalReader.open(directory.resolve("recorded.journal"));
+        game = newGame(2);
+        journal = GameJournal.open(directory.resolve("benchmark.journal"));
+        writer = journal.writer();
+        journaledGame = newGame(3);
+        journaledGame.setJournal(writer);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        journal.close();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public long replayGames() throws IOException {
+        Replay replay = new Replay();
+        reader.forEach(replay);
+        return replay.wins;
+    }
+
+    @Benchmark
+    public GameResult playGame() {
+        return game.play();
+    }
+
+    @Benchmark
+    public GameResult playJournaledGame() {
+        return journaledGame.play();
+    }
+
+    private static HeadlessGame newGame(long seed) {
+        return new HeadlessGame(FIELD_SIZE, FLEET, new RandomFleetPlacer(new SplittableRandom(seed)),
+                new ProbabilityDensityShooter(new SplittableRandom(seed + 10)),
+                new RandomFleetPlacer(new SplittableRandom(seed + 20)),
+                new ProbabilityDensityShooter(new SplittableRandom(seed + 30)));
+    }
+
+    /**
+     * replays the games recorded one after the other on the battlefields of both players.
+     */
+    private static class Replay implements JournalVisitor {
+        private final Battlefield[] battlefields = new Battlefield[2];
+        private long wins;
+
+        @Override
+        public void gameCreated(int gameId, int fieldSize, int ships) {
+            battlefields[0] = new Battlefield(fieldSize);
+            battlefields[1] = new Battlefield(fieldSize);
+        }
+
+        @Override
+        public void shipPlaced(int gameId, int player, int row, int column, int cells, boolean rowAligned) {
+            Battleship ship = new Battleship("replayed", cells);
+            ship.setRow(row);
+            ship.setColumn(column);
+            ship.setRowAligned(rowAligned);
+            battlefields[player].tryPositionShip(ship);
+        }
+
+        @Override
+        public void shotFired(int gameId, int player, int turn, int row, int column, ShotResult result) {
+            if (battlefields[1 - player].applyShot(new Shot(row, column)) == ShotResult.WON) {
+                wins++;
+            }
+        }
+    }
+}
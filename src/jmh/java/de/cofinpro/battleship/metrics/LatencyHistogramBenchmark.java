@@ -0,0 +1,33 @@
+package de.cofinpro.battleship.metrics;
+
+import de.cofinpro.battleship.benchmark.BenchmarkFleet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * cost of recording a latency on the hot path: recordSince takes the time and records it into a histogram
+ * shared by all benchmark threads - run with -prof gc to see that it does not allocate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFleet.QUIET_LOGGING)
+@State(Scope.Benchmark)
+public class LatencyHistogramBenchmark {
+
+    private final LatencyHistogram histogram = new LatencyHistogram("benchmark");
+
+    @Benchmark
+    @Threads(1)
+    public void recordSince() {
+        histogram.recordSince(GameMetrics.start());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordSinceContended() {
+        histogram.recordSince(GameMetrics.start());
+    }
+}
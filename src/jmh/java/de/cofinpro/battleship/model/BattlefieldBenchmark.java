@@ -0,0 +1,86 @@
+package de.cofinpro.battleship.model;
+
+import de.cofinpro.battleship.benchmark.BenchmarkFleet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks of the placement checks and the position token parsing of the Battlefield.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFleet.QUIET_LOGGING)
+@State(Scope.Thread)
+public class BattlefieldBenchmark {
+
+    @Param({"2", "5", "10", "16", "26"})
+    int fieldSize;
+
+    @Param({"2-2", "5-4-3-3-2", "4-3-3-2-2-2-2"})
+    String fleetConfig;
+
+    private BenchmarkFleet fleet;
+    private Battlefield fullBattlefield;
+    private List<String> rejectedTokens;
+    private Battleship rejectedShip;
+    private String[] cellTokens;
+    private int nextToken;
+
+    @Setup
+    public void setUp() {
+        fleet = new BenchmarkFleet(fieldSize, fleetConfig);
+        fullBattlefield = fleet.newBattlefield();
+        // the first ship moved one row down touches itself, or overlaps on a two-row field.
+        List<String> first = fleet.getPositionTokens().get(0);
+        rejectedTokens = fieldSize > 2 ? List.of(first.get(0).replace('A', 'B'), first.get(1).replace('A', 'B'))
+                : first;
+        rejectedShip = new Battleship("rejected", fleet.getLengths().get(0));
+        cellTokens = new String[fieldSize * fieldSize];
+        for (int i = 0; i < cellTokens.length; i++) {
+            cellTokens[i] = BenchmarkFleet.token(i / fieldSize, i % fieldSize);
+        }
+    }
+
+    @Benchmark
+    public Battlefield placeFleet() {
+        Battlefield battlefield = new Battlefield(fieldSize);
+        List<Battleship> ships = fleet.newShips();
+        for (int i = 0; i < ships.size(); i++) {
+            battlefield.couldPositionShip(fleet.getPositionTokens().get(i), ships.get(i));
+        }
+        return battlefield;
+    }
+
+    @Benchmark
+    public boolean couldPositionShipRejected() {
+        return fullBattlefield.couldPositionShip(rejectedTokens, rejectedShip);
+    }
+
+    @Benchmark
+    public void parsePositionToken(Blackhole blackhole) {
+        blackhole.consume(fullBattlefield.parsePositionToken(nextCellToken()));
+    }
+
+    @Benchmark
+    public int parsePosition() {
+        return fullBattlefield.parsePosition(nextCellToken());
+    }
+
+    @Benchmark
+    public Optional<Shot> getShot() {
+        return fullBattlefield.getShot(nextCellToken());
+    }
+
+    private String nextCellToken() {
+        if (nextToken == cellTokens.length) {
+            nextToken = 0;
+        }
+        return cellTokens[nextToken++];
+    }
+}
@@ -0,0 +1,45 @@
+package de.cofinpro.battleship.model;
+
+import de.cofinpro.battleship.benchmark.BenchmarkFleet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks of the hit check and hit counting of a Battleship. The shots cycle through the ship's line
+ * including the cells before and after the ship, so hits and misses alternate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFleet.QUIET_LOGGING)
+@State(Scope.Thread)
+public class BattleshipBenchmark {
+
+    @Param({"2", "3", "5"})
+    int cells;
+
+    @Param({"true", "false"})
+    boolean rowAligned;
+
+    private Battleship battleship;
+    private int offset;
+
+    @Setup
+    public void setUp() {
+        battleship = new Battleship("benchmark", cells);
+        battleship.setRowAligned(rowAligned);
+        battleship.setRow(1);
+        battleship.setColumn(1);
+    }
+
+    @Benchmark
+    public long hitsShipAndRemainingCells() {
+        if (++offset > cells + 1) {
+            offset = 0;
+        }
+        boolean hit = rowAligned ? battleship.hitsShip(1, offset) : battleship.hitsShip(offset, 1);
+        return hit ? battleship.remainingCells() : -1;
+    }
+}
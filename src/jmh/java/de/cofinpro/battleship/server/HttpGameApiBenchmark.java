@@ -0,0 +1,104 @@
+package de.cofinpro.battleship.server;
+
+import de.cofinpro.battleship.benchmark.BenchmarkFleet;
+import de.cofinpro.battleship.config.GameConfig;
+import de.cofinpro.battleship.model.Battlefield;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * throughput benchmark of the HTTP/JSON API against localhost: every benchmark thread plays its own game over
+ * a keep-alive connection, reading the board or firing its shots row by row and starting a new game when one is
+ * over. Client and server share the machine, so the numbers include the client's cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {BenchmarkFleet.QUIET_LOGGING, "-Dsun.net.httpserver.nodelay=true"})
+@Threads(4)
+public class HttpGameApiBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\":\"(\\w+)\"");
+
+    @State(Scope.Benchmark)
+    public static class Server {
+        HttpGameApi api;
+        String baseUri;
+
+        @Setup
+        public void start() throws IOException {
+            api = new HttpGameApi(GameConfig.fromProperties(), 0);
+            api.start();
+            baseUri = "http://127.0.0.1:" + api.getPort() + "/games";
+        }
+
+        @TearDown
+        public void stop() {
+            api.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        HttpClient httpClient;
+        HttpRequest boardRequest;
+        String gameUri;
+        int fieldSize;
+        int nextCell;
+
+        @Setup
+        public void connect(Server server) throws IOException, InterruptedException {
+            httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            newGame(server);
+        }
+
+        @TearDown
+        public void close() {
+            httpClient.close();
+        }
+
+        void newGame(Server server) throws IOException, InterruptedException {
+            String created = post(server.baseUri, "");
+            Matcher matcher = ID.matcher(created);
+            if (!matcher.find()) {
+                throw new IllegalStateException("no game created: " + created);
+            }
+            gameUri = server.baseUri + "/" + matcher.group(1);
+            boardRequest = HttpRequest.newBuilder(URI.create(gameUri)).GET().build();
+            post(gameUri + "/fleet", "random");
+            fieldSize = GameConfig.fromProperties().getFieldSize();
+            nextCell = 0;
+        }
+
+        String post(String uri, String body) throws IOException, InterruptedException {
+            return httpClient.send(HttpRequest.newBuilder(URI.create(uri))
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString())
+                    .body();
+        }
+    }
+
+    @Benchmark
+    public String getBoard(Client client) throws IOException, InterruptedException {
+        return client.httpClient.send(client.boardRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public String fireShot(Server server, Client client) throws IOException, InterruptedException {
+        int cell = client.nextCell++;
+        String result = client.post(client.gameUri + "/shots?cell="
+                + Battlefield.positionToken(cell / client.fieldSize, cell % client.fieldSize), "");
+        if (result.contains("\"over\":true") || client.nextCell == client.fieldSize * client.fieldSize) {
+            client.newGame(server);
+        }
+        return result;
+    }
+}
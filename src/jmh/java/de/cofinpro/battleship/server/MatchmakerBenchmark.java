@@ -0,0 +1,38 @@
+package de.cofinpro.battleship.server;
+
+import de.cofinpro.battleship.benchmark.BenchmarkFleet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * contended throughput of the Matchmaker: all benchmark threads enqueue players into the same few buckets and the
+ * pairs are handed to a no-op game worker running in place. Every enqueue is half a pairing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFleet.QUIET_LOGGING)
+@Threads(8)
+@State(Scope.Benchmark)
+public class MatchmakerBenchmark {
+
+    @Param({"1", "4"})
+    int buckets;
+
+    private final LongAdder games = new LongAdder();
+    private Matchmaker<Integer, Integer> matchmaker;
+
+    @Setup
+    public void setUp() {
+        matchmaker = new Matchmaker<>(Runnable::run, (first, second) -> games.increment());
+    }
+
+    @Benchmark
+    public Matchmaker.Ticket<Integer> enqueue() {
+        return matchmaker.enqueue(1, ThreadLocalRandom.current().nextInt(buckets));
+    }
+}
@@ -0,0 +1,67 @@
+package de.cofinpro.battleship.snapshot;
+
+import de.cofinpro.battleship.ai.RandomFleetPlacer;
+import de.cofinpro.battleship.benchmark.BenchmarkFleet;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.ShipType;
+import de.cofinpro.battleship.model.Shot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * checkpoint and resume cost of a game: encode packs a half played 10x10 game with the classic fleet into its
+ * snapshot, decode restores battlefields and fleets from it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFleet.QUIET_LOGGING)
+@State(Scope.Thread)
+public class GameSnapshotBenchmark {
+
+    private static final int FIELD_SIZE = 10;
+    private static final List<ShipType> FLEET = List.of(new ShipType("Aircraft Carrier", 5),
+            new ShipType("Battleship", 4), new ShipType("Submarine", 3), new ShipType("Cruiser", 3),
+            new ShipType("Destroyer", 2));
+
+    @Param({"50"})
+    int shots;
+
+    private Battlefield first;
+    private Battlefield second;
+    private byte[] snapshot;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        first = playedBattlefield(random);
+        second = playedBattlefield(random);
+        snapshot = GameSnapshot.encode(FLEET, 0, first, second);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return GameSnapshot.encode(FLEET, 0, first, second);
+    }
+
+    @Benchmark
+    public GameSnapshot decode() {
+        return GameSnapshot.decode(FLEET, snapshot);
+    }
+
+    private Battlefield playedBattlefield(SplittableRandom random) {
+        List<Battleship> fleet = new ArrayList<>();
+        FLEET.forEach(type -> fleet.add(new Battleship(type)));
+        Battlefield battlefield = new RandomFleetPlacer(random).placeFleet(FIELD_SIZE, fleet);
+        for (int i = 0; i < shots; i++) {
+            battlefield.applyShot(new Shot(random.nextInt(FIELD_SIZE), random.nextInt(FIELD_SIZE)));
+        }
+        return battlefield;
+    }
+}
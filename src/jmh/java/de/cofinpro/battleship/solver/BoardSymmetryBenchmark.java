@@ -0,0 +1,62 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.benchmark.BenchmarkFleet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the cost of canonicalising a knowledge state per state: canonicalForm of random boards of misses, hits and sunk
+ * cells - and, for comparison, the Zobrist key of the canonical representative as the solver computes it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFleet.QUIET_LOGGING)
+@State(Scope.Benchmark)
+public class BoardSymmetryBenchmark {
+
+    private static final int STATES = 1024;
+
+    @Param({"4", "8"})
+    int fieldSize;
+
+    private BoardSymmetry symmetry;
+    private final long[] misses = new long[STATES];
+    private final long[] hits = new long[STATES];
+    private final long[] sunk = new long[STATES];
+
+    @Setup
+    public void setUp() {
+        symmetry = BoardSymmetry.of(fieldSize);
+        long field = FleetLayouts.of(fieldSize, List.of(1)).fieldMask();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < STATES; i++) {
+            hits[i] = random.nextLong() & random.nextLong() & field;
+            misses[i] = random.nextLong() & field & ~hits[i];
+            sunk[i] = random.nextLong() & hits[i];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATES)
+    public void canonicalForm(Blackhole blackhole) {
+        for (int i = 0; i < STATES; i++) {
+            blackhole.consume(symmetry.canonicalForm(misses[i], hits[i], sunk[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATES)
+    public void canonicalKey(Blackhole blackhole) {
+        for (int i = 0; i < STATES; i++) {
+            int canonical = BoardSymmetry.symmetryOf(symmetry.canonicalForm(misses[i], hits[i], sunk[i]));
+            blackhole.consume(KnowledgeState.zobristHash(symmetry.transform(misses[i], canonical),
+                    symmetry.transform(hits[i], canonical), symmetry.transform(sunk[i], canonical)));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.benchmark.BenchmarkFleet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the exact solver as heavy CPU workload of the bitwise model: every invocation solves a small configuration from
+ * scratch with a new transposition table, allocated before the invocation - the layouts are enumerated once.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFleet.QUIET_LOGGING)
+@State(Scope.Benchmark)
+public class ExactSolverBenchmark {
+
+    @Param({"4"})
+    int fieldSize;
+
+    @Param({"2-2", "3-2", "2-1"})
+    String fleet;
+
+    private FleetLayouts layouts;
+    private ExactSolver solver;
+
+    @Setup
+    public void setUp() {
+        List<Integer> lengths = Arrays.stream(fleet.split("-")).map(Integer::valueOf).toList();
+        layouts = FleetLayouts.of(fieldSize, lengths);
+    }
+
+    @Setup(Level.Invocation)
+    public void newSolver() {
+        solver = new ExactSolver(layouts, new TranspositionTable(ExactSolver.DEFAULT_TABLE_CAPACITY),
+                ForkJoinPool.commonPool(), ExactSolver.PARALLEL_DEPTH);
+    }
+
+    @Benchmark
+    public double solve() {
+        return solver.solve();
+    }
+}
@@ -0,0 +1,73 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.benchmark.BenchmarkFleet;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the cost of a tablebase lookup per state: the best shot of every state, that the optimal policy reaches in the
+ * games against all layouts, answered from the memory-mapped file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFleet.QUIET_LOGGING)
+@State(Scope.Benchmark)
+public class TablebaseBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"4"})
+    int fieldSize;
+
+    @Param({"3-2", "2-2"})
+    String fleet;
+
+    private Tablebase tablebase;
+    private KnowledgeState[] states;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Integer> lengths = Arrays.stream(fleet.split("-")).map(Integer::valueOf).toList();
+        Path file = Files.createTempFile("tablebase", ".bin");
+        file.toFile().deleteOnExit();
+        ExactSolver solver = new ExactSolver(fieldSize, lengths);
+        Tablebase.generate(solver, file);
+        tablebase = Tablebase.open(file);
+        List<KnowledgeState> reached = new ArrayList<>();
+        FleetLayouts layouts = solver.getLayouts();
+        for (int layout = 0; layout < layouts.size(); layout++) {
+            Battlefield battlefield = new Battlefield(fieldSize);
+            layouts.positionedShips(layout).forEach(battlefield::tryPositionShip);
+            KnowledgeState state = KnowledgeState.INITIAL;
+            ShotResult result;
+            do {
+                reached.add(state);
+                Shot shot = tablebase.bestShot(state);
+                result = battlefield.applyShot(shot);
+                state = state.afterShot(fieldSize, shot, result);
+            } while (result != ShotResult.WON);
+        }
+        states = reached.toArray(KnowledgeState[]::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void bestShot(Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            blackhole.consume(tablebase.bestShot(states[i % states.length]));
+        }
+    }
+}
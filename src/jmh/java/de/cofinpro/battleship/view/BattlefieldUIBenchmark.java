@@ -0,0 +1,73 @@
+package de.cofinpro.battleship.view;
+
+import de.cofinpro.battleship.benchmark.BenchmarkFleet;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Shot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks of the clear and obscured rendering of a battlefield, on which every third cell has been shot at.
+ * The ...AfterChange benchmarks change one cell before rendering, i.e. measure the incremental rendering of a turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkFleet.QUIET_LOGGING)
+@State(Scope.Thread)
+public class BattlefieldUIBenchmark {
+
+    @Param({"2", "5", "10", "16", "26"})
+    int fieldSize;
+
+    @Param({"2-2", "5-4-3-3-2", "4-3-3-2-2-2-2"})
+    String fleetConfig;
+
+    private Battlefield battlefield;
+    private BattlefieldUI battlefieldUI;
+    private int nextCell;
+
+    @Setup
+    public void setUp() {
+        battlefield = new BenchmarkFleet(fieldSize, fleetConfig).newBattlefield();
+        for (int i = 0; i < fieldSize * fieldSize; i += 3) {
+            battlefield.applyShot(new Shot(i / fieldSize, i % fieldSize));
+        }
+        battlefieldUI = new BattlefieldUI(battlefield);
+    }
+
+    @Benchmark
+    public String displayBattlefield() {
+        return battlefieldUI.displayBattlefield();
+    }
+
+    @Benchmark
+    public String displayBattlefieldObscured() {
+        return battlefieldUI.displayBattlefieldObscured();
+    }
+
+    @Benchmark
+    public String displayBattlefieldAfterChange() {
+        changeCell();
+        return battlefieldUI.displayBattlefield();
+    }
+
+    @Benchmark
+    public String renderChangedCellsAfterChange() {
+        changeCell();
+        return battlefieldUI.renderChangedCells(false, 1, 1);
+    }
+
+    /**
+     * toggles a cell between its type and MISS, walking over the field - every call changes one row.
+     */
+    private void changeCell() {
+        int row = nextCell / fieldSize;
+        int column = nextCell % fieldSize;
+        BattlefieldCell cell = battlefield.getCell(row, column);
+        battlefield.setCell(row, column, cell == BattlefieldCell.MISS ? BattlefieldCell.WATER : BattlefieldCell.MISS);
+        nextCell = (nextCell + 1) % (fieldSize * fieldSize);
+    }
+}
@@ -1,10 +1,187 @@
 package de.cofinpro.battleship;
 
+import de.cofinpro.battleship.ai.ProbabilityDensityShooter;
+import de.cofinpro.battleship.config.GameConfig;
 import de.cofinpro.battleship.controller.BattleshipController;
+import de.cofinpro.battleship.controller.SimulationController;
+import de.cofinpro.battleship.metrics.GameMetrics;
+import de.cofinpro.battleship.metrics.MetricsDumper;
+import de.cofinpro.battleship.server.GameServer;
+import de.cofinpro.battleship.server.HttpGameApi;
+import de.cofinpro.battleship.server.LoadGenerator;
+import de.cofinpro.battleship.solver.ExactSolver;
+import de.cofinpro.battleship.solver.KnowledgeState;
+import de.cofinpro.battleship.solver.LayoutEnumerator;
+import de.cofinpro.battleship.solver.Tablebase;
+import de.cofinpro.battleship.solver.TablebaseShooter;
+import de.cofinpro.battleship.view.ScriptReader;
+import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
 public class Main {
 
-    public static void main(String[] args) {
-        new BattleshipController().run();
+    private static final long DEFAULT_SIMULATION_GAMES = 100_000;
+    private static final int DEFAULT_LOAD_CLIENTS = 1_000;
+    private static final int DEFAULT_LOAD_GAMES = 10;
+    private static final long CHECKPOINT_SECONDS = 10;
+    private static final long DEFAULT_METRICS_SECONDS = 60;
+    private static final int DEFAULT_SOLVER_FIELD_SIZE = 4;
+    private static final List<Integer> DEFAULT_SOLVER_FLEET = List.of(3, 2);
+
+    /**
+     * starts the interactive 2 player game - or with arguments "simulate [games] [journal]" the headless simulation,
+     * "serve [port]" the game server, "api [port] [checkpoint]" the HTTP/JSON API (with its games checkpointed to
+     * the file given), "loadtest [port] [clients] [games]" the load generator against the game server and
+     * "script [file]" the non-interactive games of a script file (or of System.in), "solve [size] [lengths...]"
+     * the exact solver on a small field (default 4 with ships of 3 and 2 cells) and "tablebase file [size]
+     * [lengths...]" the tablebase of the optimal policy - generated, if the file does not exist - and "layouts" the
+     * number of legal layouts of the configured fleet.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        GameConfig config = GameConfig.fromProperties();
+        publishMetrics();
+        if (args.length > 0 && "simulate".equals(args[0])) {
+            long games = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SIMULATION_GAMES;
+            Path journal = args.length > 2 ? Path.of(args[2]) : null;
+            new SimulationController(games, config, journal).run();
+            return;
+        }
+        if (args.length > 0 && "serve".equals(args[0])) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+            try (GameServer server = new GameServer(config, port)) {
+                server.run();
+            }
+            return;
+        }
+        if (args.length > 0 && "api".equals(args[0])) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : HttpGameApi.DEFAULT_PORT;
+            // small exchanges - without TCP_NODELAY every response waits for the delayed ACK (~40 ms)
+            System.getProperties().putIfAbsent("sun.net.httpserver.nodelay", "true");
+            HttpGameApi api = new HttpGameApi(config, port);
+            if (args.length > 2) {
+                checkpointPeriodically(api, Path.of(args[2]));
+            }
+            api.start();
+            return;
+        }
+        if (args.length > 0 && "loadtest".equals(args[0])) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+            int clients = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_LOAD_CLIENTS;
+            int games = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_LOAD_GAMES;
+            log.info(new LoadGenerator(port, clients, games).run().summary());
+            return;
+        }
+        if (args.length > 0 && "script".equals(args[0])) {
+            try (ScriptReader script = args.length > 1 ? ScriptReader.open(Path.of(args[1]))
+                    : ScriptReader.systemIn()) {
+                new BattleshipController(config, script).run();
+            }
+            return;
+        }
+        if (args.length > 0 && "solve".equals(args[0])) {
+            solve(args);
+            return;
+        }
+        if (args.length > 0 && "tablebase".equals(args[0])) {
+            tablebase(args);
+            return;
+        }
+        if (args.length > 0 && "layouts".equals(args[0])) {
+            long start = System.nanoTime();
+            LayoutEnumerator enumerator = LayoutEnumerator.of(config);
+            log.info(String.format("fleet %s on field size %d: %d layouts (%d ms)", enumerator.getLengths(),
+                    enumerator.getFieldSize(), enumerator.count(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            return;
+        }
+        new BattleshipController(config).run();
+    }
+
+    /**
+     * solves the field and fleet given exactly and compares the density shooter with the optimum.
+     */
+    private static void solve(String[] args) {
+        int fieldSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SOLVER_FIELD_SIZE;
+        List<Integer> lengths = args.length > 2
+                ? Arrays.stream(args, 2, args.length).map(Integer::valueOf).toList() : DEFAULT_SOLVER_FLEET;
+        long start = System.nanoTime();
+        ExactSolver solver = new ExactSolver(fieldSize, lengths);
+        double optimum = solver.solve();
+        log.info(String.format("fleet %s on field size %d: %d layouts, optimum %.4f expected shots (%d states, %d ms)",
+                lengths, fieldSize, solver.getLayouts().size(), optimum, solver.getStates(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        log.info("transposition table: " + solver.getTable().summary());
+        log.info(String.format("density shooter: %.4f shots on average over all layouts",
+                solver.averageShots(new ProbabilityDensityShooter())));
+    }
+
+    /**
+     * generates the tablebase of the field and fleet given, if its file does not exist, and plays it against all
+     * layouts.
+     */
+    private static void tablebase(String[] args) throws IOException {
+        if (args.length < 2) {
+            log.error("usage: tablebase file [fieldSize [shipLengths...]]");
+            return;
+        }
+        Path file = Path.of(args[1]);
+        if (Files.notExists(file)) {
+            int fieldSize = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SOLVER_FIELD_SIZE;
+            List<Integer> lengths = args.length > 3
+                    ? Arrays.stream(args, 3, args.length).map(Integer::valueOf).toList() : DEFAULT_SOLVER_FLEET;
+            long start = System.nanoTime();
+            int entries = Tablebase.generate(new ExactSolver(fieldSize, lengths), file);
+            log.info(String.format("tablebase of fleet %s on field size %d: %d entries, %d bytes (%d ms)", lengths,
+                    fieldSize, entries, Files.size(file), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        }
+        Tablebase tablebase = Tablebase.open(file);
+        ExactSolver solver = new ExactSolver(tablebase.getFieldSize(), tablebase.getLengths());
+        log.info(String.format("tablebase shooter: %.4f shots on average over all layouts, expected %.4f",
+                solver.averageShots(new TablebaseShooter(tablebase)), tablebase.expectedShots(KnowledgeState.INITIAL)));
+    }
+
+    /**
+     * registers the game metrics as MBeans and - with -Dbattleship.metrics.file=... - appends them to the file
+     * every battleship.metrics.period seconds (default 60) and at shutdown.
+     */
+    private static void publishMetrics() {
+        if (!GameMetrics.ENABLED) {
+            return;
+        }
+        GameMetrics.INSTANCE.register();
+        String file = System.getProperty("battleship.metrics.file");
+        if (file != null) {
+            MetricsDumper dumper = new MetricsDumper(GameMetrics.INSTANCE, Path.of(file),
+                    Long.getLong("battleship.metrics.period", DEFAULT_METRICS_SECONDS));
+            Runtime.getRuntime().addShutdownHook(new Thread(dumper::close));
+        }
+    }
+
+    /**
+     * restores the games of the checkpoint file, if it exists, and checkpoints all games to it periodically
+     * and at shutdown.
+     */
+    private static void checkpointPeriodically(HttpGameApi api, Path checkpoint) throws IOException {
+        if (Files.exists(checkpoint)) {
+            log.info("restored " + api.restore(checkpoint) + " games from " + checkpoint);
+        }
+        Runnable writeCheckpoint = () -> {
+            try {
+                api.checkpoint(checkpoint);
+            } catch (IOException exception) {
+                log.error("checkpoint to " + checkpoint + " failed: " + exception.getMessage());
+            }
+        };
+        Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().factory())
+                .scheduleWithFixedDelay(writeCheckpoint, CHECKPOINT_SECONDS, CHECKPOINT_SECONDS, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(writeCheckpoint));
     }
 }
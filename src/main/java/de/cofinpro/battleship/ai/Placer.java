@@ -0,0 +1,21 @@
+package de.cofinpro.battleship.ai;
+
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+
+import java.util.List;
+
+/**
+ * strategy of a computer player for positioning its fleet.
+ * An instance is reused for many games, but only by one thread at a time.
+ */
+public interface Placer {
+
+    /**
+     * creates a battlefield with all ships of the fleet positioned on it.
+     * @param fieldSize the size of the battlefield
+     * @param fleet the ships to position - their position and alignment is set by the placer
+     * @return the new battlefield
+     */
+    Battlefield placeFleet(int fieldSize, List<Battleship> fleet);
+}
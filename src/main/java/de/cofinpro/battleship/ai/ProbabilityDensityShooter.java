@@ -0,0 +1,262 @@
+package de.cofinpro.battleship.ai;
+
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.PlacementTable;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * strong computer shooter, that shoots at the cell covered by the most placements of the opponent's remaining
+ * ships, which are still consistent with the shot results known so far.
+ * For every distinct ship length a density map holds per cell the summed weight of all slots (see PlacementTable)
+ * covering it: a slot containing a dead cell (missed, sunk or next to a sunk ship) weighs 0, else 1 plus
+ * HIT_WEIGHT per hit cell in it - which switches to target mode around hits. The maps are combined with the
+ * number of remaining ships per length (taken from the live fleet list) when choosing a shot.
+ * The maps are updated incrementally: a shot result only changes the slots through the shot cell, i.e. the
+ * slots in its row and column, and only their cells' densities are corrected.
+ */
+public class ProbabilityDensityShooter implements Shooter {
+
+    static final int HIT_WEIGHT = 100;
+
+    private static final byte UNKNOWN = 0;
+    private static final byte HIT = 1;
+    private static final byte DEAD = 2;
+
+    private final RandomGenerator random;
+    private int fieldSize;
+    private List<Battleship> opponentFleet;
+    private byte[] cells = new byte[0];
+    // per distinct ship length k: table, remaining ships, density per cell and per slot its hit and dead cells
+    private int[] lengths = new int[0];
+    private int[] remainingShips = new int[0];
+    private PlacementTable[] tables = new PlacementTable[0];
+    private int[][] density = new int[0][];
+    private byte[][] slotHits = new byte[0][];
+    private byte[][] slotDeads = new byte[0][];
+    // scratch for the cells of a sunk ship
+    private int[] sunkCells = new int[0];
+
+    public ProbabilityDensityShooter() {
+        this(new SplittableRandom());
+    }
+
+    public ProbabilityDensityShooter(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public void newGame(int fieldSize, List<Battleship> opponentFleet) {
+        this.opponentFleet = opponentFleet;
+        int[] fleetLengths = opponentFleet.stream().mapToInt(Battleship::getCells).distinct().sorted().toArray();
+        if (fieldSize != this.fieldSize || !Arrays.equals(fleetLengths, lengths)) {
+            allocate(fieldSize, fleetLengths);
+        }
+        Arrays.fill(cells, UNKNOWN);
+        for (int k = 0; k < lengths.length; k++) {
+            Arrays.fill(slotHits[k], (byte) 0);
+            Arrays.fill(slotDeads[k], (byte) 0);
+            Arrays.fill(density[k], 0);
+            PlacementTable table = tables[k];
+            for (int slot = 0; slot < table.size(); slot++) {
+                addToSlotCells(k, slot, 1);
+            }
+        }
+        countRemainingShips();
+    }
+
+    private void allocate(int fieldSize, int[] fleetLengths) {
+        this.fieldSize = fieldSize;
+        lengths = fleetLengths;
+        cells = new byte[fieldSize * fieldSize];
+        sunkCells = new int[fieldSize];
+        remainingShips = new int[lengths.length];
+        tables = new PlacementTable[lengths.length];
+        density = new int[lengths.length][fieldSize * fieldSize];
+        slotHits = new byte[lengths.length][];
+        slotDeads = new byte[lengths.length][];
+        for (int k = 0; k < lengths.length; k++) {
+            tables[k] = PlacementTable.of(fieldSize, lengths[k]);
+            slotHits[k] = new byte[tables[k].size()];
+            slotDeads[k] = new byte[tables[k].size()];
+        }
+    }
+
+    @Override
+    public Shot nextShot() {
+        int best = -1;
+        long bestScore = -1;
+        int ties = 0;
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] != UNKNOWN) {
+                continue;
+            }
+            long score = 0;
+            for (int k = 0; k < lengths.length; k++) {
+                score += (long) remainingShips[k] * density[k][cell];
+            }
+            if (score > bestScore) {
+                best = cell;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        if (best < 0) {
+            throw new IllegalStateException("all cells have been shot at already");
+        }
+        return new Shot(best / fieldSize, best % fieldSize);
+    }
+
+    @Override
+    public void shotResult(Shot shot, ShotResult result) {
+        int cell = shot.getRow() * fieldSize + shot.getColumn();
+        if (cells[cell] != UNKNOWN) {
+            return;
+        }
+        switch (result) {
+            case MISSED -> markDead(cell);
+            case HIT -> markHit(cell);
+            case SUNK, WON -> {
+                markHit(cell);
+                sink(shot.getRow(), shot.getColumn());
+                countRemainingShips();
+            }
+            default -> throw new IllegalArgumentException("unexpected shot result " + result);
+        }
+    }
+
+    /**
+     * the sunk ship consists of the straight line of hit cells through the shot cell - ships do not touch.
+     * Its cells and all unknown cells around it are dead for the remaining ships.
+     */
+    private void sink(int row, int column) {
+        boolean rowAligned = column > 0 && cells[row * fieldSize + column - 1] == HIT
+                || column < fieldSize - 1 && cells[row * fieldSize + column + 1] == HIT;
+        int from = rowAligned ? column : row;
+        while (from > 0 && cells[rowAligned ? row * fieldSize + from - 1 : (from - 1) * fieldSize + column] == HIT) {
+            from--;
+        }
+        int to = rowAligned ? column : row;
+        while (to < fieldSize - 1
+                && cells[rowAligned ? row * fieldSize + to + 1 : (to + 1) * fieldSize + column] == HIT) {
+            to++;
+        }
+        int sunk = 0;
+        for (int i = from; i <= to; i++) {
+            sunkCells[sunk++] = rowAligned ? row * fieldSize + i : i * fieldSize + column;
+        }
+        for (int i = 0; i < sunk; i++) {
+            int sunkRow = sunkCells[i] / fieldSize;
+            int sunkColumn = sunkCells[i] % fieldSize;
+            for (int r = Math.max(0, sunkRow - 1); r <= Math.min(fieldSize - 1, sunkRow + 1); r++) {
+                for (int c = Math.max(0, sunkColumn - 1); c <= Math.min(fieldSize - 1, sunkColumn + 1); c++) {
+                    if (cells[r * fieldSize + c] != DEAD) {
+                        markDead(r * fieldSize + c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void markHit(int cell) {
+        cells[cell] = HIT;
+        forSlotsThrough(cell, true);
+    }
+
+    private void markDead(int cell) {
+        boolean wasHit = cells[cell] == HIT;
+        cells[cell] = DEAD;
+        if (wasHit) {
+            forSlotsThrough(cell, false);
+        }
+        forSlotsThroughDead(cell);
+    }
+
+    /**
+     * adds (hit = true) or removes a hit in all slots through the cell and corrects their cells' density.
+     */
+    private void forSlotsThrough(int cell, boolean hit) {
+        int row = cell / fieldSize;
+        int column = cell % fieldSize;
+        for (int k = 0; k < lengths.length; k++) {
+            int length = lengths[k];
+            PlacementTable table = tables[k];
+            for (int start = Math.max(0, column - length + 1); start <= Math.min(column, fieldSize - length); start++) {
+                changeHits(k, table.slot(row, start, true), hit);
+            }
+            if (length == 1) {
+                continue;
+            }
+            for (int start = Math.max(0, row - length + 1); start <= Math.min(row, fieldSize - length); start++) {
+                changeHits(k, table.slot(start, column, false), hit);
+            }
+        }
+    }
+
+    private void changeHits(int k, int slot, boolean hit) {
+        int oldWeight = weight(k, slot);
+        slotHits[k][slot] += (byte) (hit ? 1 : -1);
+        int delta = weight(k, slot) - oldWeight;
+        if (delta != 0) {
+            addToSlotCells(k, slot, delta);
+        }
+    }
+
+    /**
+     * adds a dead cell to all slots through the cell, which removes their weight from their cells' density.
+     */
+    private void forSlotsThroughDead(int cell) {
+        int row = cell / fieldSize;
+        int column = cell % fieldSize;
+        for (int k = 0; k < lengths.length; k++) {
+            int length = lengths[k];
+            PlacementTable table = tables[k];
+            for (int start = Math.max(0, column - length + 1); start <= Math.min(column, fieldSize - length); start++) {
+                addDead(k, table.slot(row, start, true));
+            }
+            if (length == 1) {
+                continue;
+            }
+            for (int start = Math.max(0, row - length + 1); start <= Math.min(row, fieldSize - length); start++) {
+                addDead(k, table.slot(start, column, false));
+            }
+        }
+    }
+
+    private void addDead(int k, int slot) {
+        if (slotDeads[k][slot]++ == 0) {
+            addToSlotCells(k, slot, -weight(k, slot, 0));
+        }
+    }
+
+    private int weight(int k, int slot) {
+        return weight(k, slot, slotDeads[k][slot]);
+    }
+
+    private int weight(int k, int slot, int deads) {
+        return deads > 0 ? 0 : 1 + HIT_WEIGHT * slotHits[k][slot];
+    }
+
+    private void addToSlotCells(int k, int slot, int delta) {
+        PlacementTable table = tables[k];
+        int cell = table.row(slot) * fieldSize + table.column(slot);
+        int step = table.isRowAligned(slot) ? 1 : fieldSize;
+        for (int i = 0; i < lengths[k]; i++, cell += step) {
+            density[k][cell] += delta;
+        }
+    }
+
+    private void countRemainingShips() {
+        Arrays.fill(remainingShips, 0);
+        for (Battleship ship : opponentFleet) {
+            remainingShips[Arrays.binarySearch(lengths, ship.getCells())]++;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package de.cofinpro.battleship.ai;
+
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.BlockedCells;
+import de.cofinpro.battleship.model.PlacementTable;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * fast random placer, which samples every ship uniformly from the legal slots of its length (see PlacementTable),
+ * that are still valid. Ships are placed from the largest to the smallest; after each ship its cells plus border
+ * are blocked, so the next draw is taken from the remaining valid slots only - no rejection sampling, that
+ * degrades on crowded fields. Only if a ship has no valid slot left, the fleet is restarted.
+ * The valid slots are not tested one by one: per row and column the free start positions are computed as
+ * bit word with a few shifts, the k-th of them is drawn by bit counting.
+ */
+public class RandomFleetPlacer implements Placer {
+
+    private static final int MAX_RESTARTS = 10_000;
+
+    private final RandomGenerator random;
+    // scratch state reused between fleets of the same field size
+    private BlockedCells blocked;
+    private long[] starts = new long[0];
+    private PlacementTable[] tables = new PlacementTable[0];
+    private int[] order = new int[0];
+    private int blockedFieldSize;
+
+    public RandomFleetPlacer() {
+        this(new SplittableRandom());
+    }
+
+    public RandomFleetPlacer(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public Battlefield placeFleet(int fieldSize, List<Battleship> fleet) {
+        if (!sampleFleet(fieldSize, fleet)) {
+            throw new IllegalStateException("fleet does not fit on a field of size " + fieldSize);
+        }
+        Battlefield battlefield = new Battlefield(fieldSize);
+        fleet.forEach(battlefield::tryPositionShip);
+        return battlefield;
+    }
+
+    /**
+     * draws a random legal layout for the fleet, which is stored in the ships' position and alignment.
+     * @param fieldSize size of the battlefield
+     * @param fleet the ships to position
+     * @return false, if no legal layout was found
+     */
+    public boolean sampleFleet(int fieldSize, List<Battleship> fleet) {
+        if (fleet.stream().anyMatch(ship -> ship.getCells() > fieldSize)) {
+            return false;
+        }
+        prepareScratch(fieldSize, fleet);
+        for (int restart = 0; restart < MAX_RESTARTS; restart++) {
+            if (trySampleFleet(fieldSize, fleet)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean trySampleFleet(int fieldSize, List<Battleship> fleet) {
+        blocked.clear();
+        for (int i = 0; i < fleet.size(); i++) {
+            Battleship ship = fleet.get(order[i]);
+            int length = ship.getCells();
+            // starts[0 .. fieldSize - 1] are the row aligned, starts[fieldSize ..] the column aligned free starts
+            int valid = 0;
+            for (int line = 0; line < fieldSize; line++) {
+                starts[line] = blocked.freeStartsInRow(line, length);
+                starts[fieldSize + line] = length == 1 ? 0 : blocked.freeStartsInColumn(line, length);
+                valid += Long.bitCount(starts[line]) + Long.bitCount(starts[fieldSize + line]);
+            }
+            if (valid == 0) {
+                return false;
+            }
+            int drawn = random.nextInt(valid);
+            int line = 0;
+            for (int count = Long.bitCount(starts[line]); drawn >= count; count = Long.bitCount(starts[++line])) {
+                drawn -= count;
+            }
+            long lineStarts = starts[line];
+            for (; drawn > 0; drawn--) {
+                lineStarts &= lineStarts - 1;
+            }
+            int start = Long.numberOfTrailingZeros(lineStarts);
+            if (tables[length] == null) {
+                tables[length] = PlacementTable.of(fieldSize, length);
+            }
+            PlacementTable table = tables[length];
+            int slot = line < fieldSize ? table.slot(line, start, true) : table.slot(start, line - fieldSize, false);
+            table.position(slot, ship);
+            table.block(slot, blocked);
+        }
+        return true;
+    }
+
+    /**
+     * (re-)creates the scratch state if needed and sorts the fleet indices by descending ship length.
+     */
+    private void prepareScratch(int fieldSize, List<Battleship> fleet) {
+        if (blocked == null || blockedFieldSize != fieldSize) {
+            blocked = new BlockedCells(fieldSize);
+            blockedFieldSize = fieldSize;
+            starts = new long[2 * fieldSize];
+            tables = new PlacementTable[fieldSize + 1];
+        }
+        if (order.length < fleet.size()) {
+            order = new int[fleet.size()];
+        }
+        for (int i = 0; i < fleet.size(); i++) {
+            int j = i;
+            for (; j > 0 && fleet.get(order[j - 1]).getCells() < fleet.get(i).getCells(); j--) {
+                order[j] = order[j - 1];
+            }
+            order[j] = i;
+        }
+    }
+}
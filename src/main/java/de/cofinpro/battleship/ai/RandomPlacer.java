@@ -0,0 +1,58 @@
+package de.cofinpro.battleship.ai;
+
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * placer, that positions the ships (in fleet order) by rejection sampling: random alignment and position are
+ * drawn until the ship fits. If a ship does not fit after MAX_ATTEMPTS draws, the placing restarts on a new
+ * battlefield.
+ */
+public class RandomPlacer implements Placer {
+
+    private static final int MAX_ATTEMPTS = 1000;
+    private static final int MAX_RESTARTS = 1000;
+
+    private final RandomGenerator random;
+
+    public RandomPlacer() {
+        this(new SplittableRandom());
+    }
+
+    public RandomPlacer(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public Battlefield placeFleet(int fieldSize, List<Battleship> fleet) {
+        for (int restart = 0; restart < MAX_RESTARTS; restart++) {
+            Battlefield battlefield = new Battlefield(fieldSize);
+            if (fleet.stream().allMatch(ship -> positionRandomly(battlefield, ship))) {
+                return battlefield;
+            }
+        }
+        throw new IllegalStateException("fleet does not fit on a field of size " + fieldSize);
+    }
+
+    private boolean positionRandomly(Battlefield battlefield, Battleship ship) {
+        int fieldSize = battlefield.getSize();
+        if (ship.getCells() > fieldSize) {
+            return false;
+        }
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            boolean rowAligned = random.nextBoolean();
+            int extent = fieldSize - ship.getCells() + 1;
+            ship.setRowAligned(rowAligned);
+            ship.setRow(random.nextInt(rowAligned ? fieldSize : extent));
+            ship.setColumn(random.nextInt(rowAligned ? extent : fieldSize));
+            if (battlefield.tryPositionShip(ship)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
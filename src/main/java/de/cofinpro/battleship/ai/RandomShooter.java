@@ -0,0 +1,59 @@
+package de.cofinpro.battleship.ai;
+
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * shooter, that shoots at every cell exactly once in random order - the baseline strategy. The cells still
+ * to shoot at are kept at the front of an array, from which one is drawn and swapped behind (Fisher-Yates).
+ * As a field has at most 26 * 26 cells, the cell indices fit in shorts.
+ */
+public class RandomShooter implements Shooter {
+
+    private final RandomGenerator random;
+    private int fieldSize;
+    private short[] cells = new short[0];
+    private int remaining;
+
+    public RandomShooter() {
+        this(new SplittableRandom());
+    }
+
+    public RandomShooter(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public void newGame(int fieldSize, List<Battleship> opponentFleet) {
+        this.fieldSize = fieldSize;
+        if (cells.length != fieldSize * fieldSize) {
+            cells = new short[fieldSize * fieldSize];
+        }
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (short) i;
+        }
+        remaining = cells.length;
+    }
+
+    @Override
+    public Shot nextShot() {
+        if (remaining == 0) {
+            throw new IllegalStateException("all cells have been shot at already");
+        }
+        int drawn = random.nextInt(remaining--);
+        short cell = cells[drawn];
+        cells[drawn] = cells[remaining];
+        cells[remaining] = cell;
+        return new Shot(cell / fieldSize, cell % fieldSize);
+    }
+
+    @Override
+    public void shotResult(Shot shot, ShotResult result) {
+        // the random shooter does not learn
+    }
+}
@@ -0,0 +1,33 @@
+package de.cofinpro.battleship.ai;
+
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+
+import java.util.List;
+
+/**
+ * strategy of a computer player for choosing the next shot at the opponent's battlefield.
+ * An instance is reused for many games, but only by one thread at a time.
+ */
+public interface Shooter {
+
+    /**
+     * prepares the shooter for a new game.
+     * @param fieldSize the size of the opponent's battlefield
+     * @param opponentFleet the live list of the opponent's ships not sunk yet - sunk ships are removed by the game
+     */
+    void newGame(int fieldSize, List<Battleship> opponentFleet);
+
+    /**
+     * @return the position of the next shot at the opponent's battlefield.
+     */
+    Shot nextShot();
+
+    /**
+     * informs the shooter about the result of its last shot.
+     * @param shot the shot fired
+     * @param result the result the opponent's battlefield gave for it
+     */
+    void shotResult(Shot shot, ShotResult result);
+}
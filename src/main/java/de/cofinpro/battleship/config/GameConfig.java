@@ -0,0 +1,165 @@
+package de.cofinpro.battleship.config;
+
+import de.cofinpro.battleship.controller.ApplicationPropertiesException;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.PlacementRejection;
+import de.cofinpro.battleship.model.ShipType;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.IntStream;
+
+/**
+ * immutable, typed snapshot of the game configuration - parsed and validated once from the application properties.
+ * Sessions and games take it by injection instead of looking up and parsing properties while playing, so
+ * games with different configurations can run in one JVM.
+ */
+@Value
+@Builder(access = AccessLevel.PRIVATE)
+@Slf4j
+public class GameConfig {
+
+    private static final String[] AMOUNT_KEYS = {"five-cell-ships", "four-cell-ships", "three-cell-ships",
+            "two-cell-ships"};
+
+    int fieldSize;
+    // the fleet template shared by all games of this config, largest ships first
+    List<ShipType> fleetTemplate;
+    boolean computerPlayer;
+
+    String waterSymbol;
+    String ownShipSymbol;
+    String hitSymbol;
+    String missSymbol;
+
+    MessageTemplate msgPlaceShips;
+    MessageTemplate msgShot;
+    String msgChangePlayer;
+    String msgHit;
+    String msgMiss;
+    String msgSink;
+    String msgWin;
+    String errorMsgWrongCoords;
+    String errorMsgShipLocation;
+    MessageTemplate errorMsgShipLength;
+    String errorMsgShipTooClose;
+
+    /**
+     * @return the configuration from the current application properties of the PropertyManager.
+     */
+    public static GameConfig fromProperties() {
+        return from(PropertyManager.getProperties());
+    }
+
+    /**
+     * parses and validates the configuration from the properties given.
+     * @param properties all application properties
+     * @return the configuration
+     * @throws ApplicationPropertiesException if a property is missing or invalid
+     */
+    public static GameConfig from(Properties properties) {
+        int fieldSize = parseInt(properties, "field-size");
+        if (fieldSize < 2 || fieldSize > 26) {
+            throw new ApplicationPropertiesException("Field-size property value must be in [2,26]. Given: "
+                    + fieldSize);
+        }
+        List<String> names = Arrays.stream(required(properties, "ship-names").split(",")).toList();
+        List<Integer> lengths = new ArrayList<>();
+        for (int i = 0; i < AMOUNT_KEYS.length; i++) {
+            int shipsInCategory = parseInt(properties, AMOUNT_KEYS[i]);
+            if (shipsInCategory < 0) {
+                throw new ApplicationPropertiesException(AMOUNT_KEYS[i] + " must not be negative");
+            }
+            for (int ship = 0; ship < shipsInCategory; ship++) {
+                lengths.add(5 - i);
+            }
+        }
+        if (lengths.size() > names.size()) {
+            throw new ApplicationPropertiesException(
+                    "not enough ship names specified as required for requested ships!");
+        }
+        if (lengths.size() < names.size()) {
+            log.warn("Application properties mismatch: more ship names specified as ships requested");
+        }
+        if (!lengths.isEmpty() && lengths.get(0) > fieldSize) {
+            throw new ApplicationPropertiesException("Ships of " + lengths.get(0)
+                    + " cells do not fit on a field of size " + fieldSize);
+        }
+        return GameConfig.builder()
+                .fieldSize(fieldSize)
+                .fleetTemplate(IntStream.range(0, lengths.size())
+                        .mapToObj(i -> new ShipType(names.get(i), lengths.get(i))).toList())
+                .computerPlayer(Boolean.parseBoolean(properties.getProperty("computer-player")))
+                .waterSymbol(required(properties, "water-symbol"))
+                .ownShipSymbol(required(properties, "own-ship-symbol"))
+                .hitSymbol(required(properties, "hit-symbol"))
+                .missSymbol(required(properties, "miss-symbol"))
+                .msgPlaceShips(template(properties, "msg-place-ships"))
+                .msgShot(template(properties, "msg-shot"))
+                .msgChangePlayer(required(properties, "msg-change-player"))
+                .msgHit(required(properties, "msg-hit"))
+                .msgMiss(required(properties, "msg-miss"))
+                .msgSink(required(properties, "msg-sink"))
+                .msgWin(required(properties, "msg-win"))
+                .errorMsgWrongCoords(required(properties, "error-msg-wrong-coords"))
+                .errorMsgShipLocation(required(properties, "error-msg-ship-location"))
+                .errorMsgShipLength(template(properties, "error-msg-ship-length"))
+                .errorMsgShipTooClose(required(properties, "error-msg-ship-too-close"))
+                .build();
+    }
+
+    /**
+     * @return the error message for the user, whose ship was rejected as given.
+     */
+    public String placementErrorMsg(PlacementRejection rejection, Battleship ship) {
+        return switch (rejection) {
+            case COORDINATES -> errorMsgWrongCoords;
+            case ALIGNMENT -> errorMsgShipLocation;
+            case LENGTH -> errorMsgShipLength.format(ship.getName());
+            case DISTANCE -> errorMsgShipTooClose;
+        };
+    }
+
+    /**
+     * @return a new fleet of not yet positioned ships of the shared ship types of the fleet template.
+     */
+    public List<Battleship> newFleet() {
+        List<Battleship> fleet = new ArrayList<>(fleetTemplate.size());
+        fleetTemplate.forEach(type -> fleet.add(new Battleship(type)));
+        return fleet;
+    }
+
+    /**
+     * @return the cell lengths of the fleet template's ships, largest first.
+     */
+    public List<Integer> getShipLengths() {
+        return fleetTemplate.stream().map(ShipType::getCells).toList();
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new ApplicationPropertiesException("Property " + key + " is missing.");
+        }
+        return value;
+    }
+
+    private static int parseInt(Properties properties, String key) {
+        String value = required(properties, key);
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException exception) {
+            throw new ApplicationPropertiesException("Property " + key + " must be an integer. Given: " + value);
+        }
+    }
+
+    private static MessageTemplate template(Properties properties, String key) {
+        return MessageTemplate.compile(key, required(properties, key));
+    }
+}
@@ -0,0 +1,66 @@
+package de.cofinpro.battleship.config;
+
+import de.cofinpro.battleship.controller.ApplicationPropertiesException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * a message property precompiled once into its literal parts around the "%s" placeholders, so formatting
+ * a message is a mere concatenation without parsing the format string every time. Besides "%s" only "%%"
+ * is supported.
+ */
+public final class MessageTemplate {
+
+    private final String[] parts;
+
+    private MessageTemplate(String[] parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * compiles a message template.
+     * @param key property key of the template - for the error message only
+     * @param template the template string
+     * @return the compiled template
+     * @throws ApplicationPropertiesException if the template contains other format specifiers
+     */
+    public static MessageTemplate compile(String key, String template) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (c != '%') {
+                part.append(c);
+                continue;
+            }
+            char specifier = i + 1 < template.length() ? template.charAt(++i) : ' ';
+            if (specifier == 's') {
+                parts.add(part.toString());
+                part.setLength(0);
+            } else if (specifier == '%') {
+                part.append('%');
+            } else {
+                throw new ApplicationPropertiesException("Only %s and %% are supported in property " + key
+                        + ". Given: " + template);
+            }
+        }
+        parts.add(part.toString());
+        return new MessageTemplate(parts.toArray(String[]::new));
+    }
+
+    /**
+     * @param argument the value to put in for every "%s"
+     * @return the message
+     */
+    public String format(String argument) {
+        if (parts.length == 1) {
+            return parts[0];
+        }
+        StringBuilder message = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            message.append(argument).append(parts[i]);
+        }
+        return message.toString();
+    }
+}
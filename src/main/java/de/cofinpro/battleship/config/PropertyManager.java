@@ -72,6 +72,8 @@ public class PropertyManager {
         APP_CONFIG.setProperty("two-cell-ships", "1");
         // comma separated names list, which is consumed from largest to smallest ship (ignoring if more, error if less)
         APP_CONFIG.setProperty("ship-names", "Aircraft Carrier,Battleship,Submarine,Cruiser,Destroyer");
+        // if true, the second player is played by the computer
+        APP_CONFIG.setProperty("computer-player", "false");
         APP_CONFIG.setProperty("error-msg-wrong-coords", "Error! Wrong coordinates given! Try again:");
         APP_CONFIG.setProperty("error-msg-ship-length", "Error! Wrong length of the %s! Try again:");
         APP_CONFIG.setProperty("error-msg-ship-location", "Error! Wrong ship location! Try again:");
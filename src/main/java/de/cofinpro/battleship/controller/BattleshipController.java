@@ -1,9 +1,15 @@
 package de.cofinpro.battleship.controller;
 
+import de.cofinpro.battleship.ai.ProbabilityDensityShooter;
+import de.cofinpro.battleship.config.GameConfig;
 import de.cofinpro.battleship.config.PropertyManager;
+import de.cofinpro.battleship.events.GameEndEvent;
+import de.cofinpro.battleship.metrics.GameMetrics;
 import de.cofinpro.battleship.model.Battleship;
 import de.cofinpro.battleship.model.Shot;
 import de.cofinpro.battleship.model.ShotResult;
+import de.cofinpro.battleship.view.ScriptReader;
+import de.cofinpro.battleship.view.ScriptedCommandLineUI;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
@@ -11,35 +17,103 @@ import java.util.*;
 /**
  * Controller class - application logic which controls the game workflow of the battleship game.
  * It creates a queue of 2 players, which in turns set up their battlefields and shoot in a
- * play loop until one player wins.
+ * play loop until one player wins. If configured, the second player is played by the computer.
  */
 @Slf4j
 public class BattleshipController {
 
     private final Queue<UserSession> players = new ArrayDeque<>();
+    private final GameConfig config;
+    // null for the interactive game
+    private final ScriptReader script;
+    // shots of both players in the current game
+    private int shots;
+
+    public BattleshipController(GameConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * controller of non-interactive games, that take all ship positions and shots of the human players from the
+     * script given - without battlefield displays and hand-over prompts.
+     * @param config the game configuration
+     * @param script the reader of the script, null for the interactive game
+     */
+    public BattleshipController(GameConfig config, ScriptReader script) {
+        this.config = config;
+        this.script = script;
+    }
 
     /**
      * the run method of the game - entry point for main program.
      * Initializes the player sessions, lets both players position their fleet and starts the play loop.
+     * A scripted run plays games one after the other, until the script ends.
      */
     public void run() {
         printPropertiesInfo(PropertyManager.getProperties());
+        if (script != null) {
+            runScript();
+            return;
+        }
+        playGame();
+    }
+
+    private void playGame() {
+        GameEndEvent game = GameEndEvent.startGame(script == null ? "console" : "script", config.getFieldSize(),
+                config.getFleetTemplate().size());
         initPlayerSessions();
         nextUserPositionShips();
         nextUserPositionShips();
-        play();
+        UserSession winner = play();
+        game.endGame(shots, winner.getUserName());
+    }
+
+    /**
+     * plays the games of the script - a last game cut off by the end of the script is not counted.
+     * @return the number of games played to the end
+     */
+    long runScript() {
+        long start = System.nanoTime();
+        long games = 0;
+        while (script.hasNextToken()) {
+            try {
+                playGame();
+                games++;
+            } catch (NoSuchElementException exception) {
+                log.warn("Script ended within game " + (games + 1));
+            }
+        }
+        log.info(String.format("%nScript of %d tokens played as %d games in %d ms", script.getTokens(), games,
+                (System.nanoTime() - start) / 1_000_000));
+        return games;
     }
 
     /**
      * create the User sessions for both players and add them to the players queue.
      */
     private void initPlayerSessions() {
-        UserSession player1 = new UserSession("Player 1");
-        UserSession player2 = new UserSession("Player 2");
+        players.clear();
+        UserSession player1 = newSession("Player 1");
+        UserSession player2 = newSession("Player 2");
+        if (config.isComputerPlayer()) {
+            player2.playAsComputer(new ProbabilityDensityShooter(), player1);
+            player1.setPlayerChangePrompts(false);
+            player2.setPlayerChangePrompts(false);
+        }
         players.offer(player1);
         players.offer(player2);
     }
 
+    private UserSession newSession(String userName) {
+        if (script == null) {
+            return new UserSession(userName, config);
+        }
+        UserSession session = new UserSession(userName, config, new ScriptedCommandLineUI(script));
+        session.setPlayerChangePrompts(false);
+        session.setBattlefieldDisplays(false);
+        return session;
+    }
+
     /**
      * takes out the player waiting at the head of the players queue and lets him position his ships.
      * After that puts him back to the end of the queue.
@@ -54,21 +128,32 @@ public class BattleshipController {
      * play loop - until all ships are sunk. The currentPlayer is taken from the head of the queue, while
      * the element() call peeks the opponent. The opponents battlefield is only shown obscured.
      * The player who has the turn shoots and the opponent applies the shot to his battlefield.
-     * Then the turn changes - until one player has won.
+     * Then the turn changes - until one player has won. Battlefields are not shown in the computer's turns.
+     * @return the session of the winner
      */
-    void play() {
+    UserSession play() {
         log.info("\nThe game starts!");
+        shots = 0;
         ShotResult shotResult = ShotResult.NONE;
+        UserSession currentPlayer = null;
         while (shotResult != ShotResult.WON) {
-            UserSession currentPlayer = players.remove();
+            currentPlayer = players.remove();
             UserSession opponent = players.element();
 
-            opponent.getBattlefieldUI().displayBattlefieldObscured();
-            currentPlayer.getBattlefieldUI().displayBattlefield();
-            shotResult = opponent.applyShot(currentPlayer.shoots());
+            if (!currentPlayer.isComputerPlayer() && script == null) {
+                opponent.getBattlefieldUI().displayBattlefieldObscured();
+                currentPlayer.getBattlefieldUI().displayBattlefield();
+            }
+            Shot shot = currentPlayer.shoots();
+            long start = GameMetrics.start();
+            shotResult = opponent.applyShot(shot);
+            currentPlayer.shotResult(shot, shotResult);
+            GameMetrics.INSTANCE.getTurns().recordSince(start);
+            shots++;
             players.offer(currentPlayer);
         }
-        log.info(PropertyManager.getProperty("msg-win"));
+        log.info(config.getMsgWin());
+        return currentPlayer;
     }
 
     /**
@@ -0,0 +1,61 @@
+package de.cofinpro.battleship.controller;
+
+import de.cofinpro.battleship.ai.ProbabilityDensityShooter;
+import de.cofinpro.battleship.ai.RandomFleetPlacer;
+import de.cofinpro.battleship.ai.RandomShooter;
+import de.cofinpro.battleship.config.GameConfig;
+import de.cofinpro.battleship.journal.GameJournal;
+import de.cofinpro.battleship.simulation.SimulationEngine;
+import de.cofinpro.battleship.simulation.SimulationReport;
+import de.cofinpro.battleship.simulation.Strategy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Controller class for the headless simulation mode: computer players play the configured number of games
+ * against each other on all cores with the configured battlefield and fleet and the statistics are printed.
+ * The probability density shooter plays first against the random shooter as baseline.
+ * Optionally, all games are recorded in a binary game journal.
+ */
+@Slf4j
+public class SimulationController {
+
+    private final long games;
+    private final GameConfig config;
+    private final Path journalPath;
+
+    public SimulationController(long games, GameConfig config) {
+        this(games, config, null);
+    }
+
+    /**
+     * @param journalPath path of the journal file to append the games to, null for none
+     */
+    public SimulationController(long games, GameConfig config, Path journalPath) {
+        this.games = games;
+        this.config = config;
+        this.journalPath = journalPath;
+    }
+
+    /**
+     * the run method of the simulation - entry point for main program in simulation mode.
+     */
+    public void run() throws IOException {
+        Strategy density = new Strategy("density", RandomFleetPlacer::new, ProbabilityDensityShooter::new);
+        Strategy random = new Strategy("random", RandomFleetPlacer::new, RandomShooter::new);
+        log.info(String.format("Simulating %d games %s vs. %s ...", games, density.getName(), random.getName()));
+        SimulationEngine engine = new SimulationEngine(config.getFieldSize(), config.getShipLengths(), density, random);
+        if (journalPath == null) {
+            log.info(engine.run(games).summary());
+            return;
+        }
+        try (GameJournal journal = GameJournal.open(journalPath)) {
+            engine.setJournal(journal);
+            SimulationReport report = engine.run(games);
+            log.info(report.summary());
+        }
+        log.info("Games journaled to " + journalPath);
+    }
+}
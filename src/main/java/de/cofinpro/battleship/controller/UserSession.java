@@ -1,113 +1,231 @@
 package de.cofinpro.battleship.controller;
 
-import de.cofinpro.battleship.config.PropertyManager;
+import de.cofinpro.battleship.ai.RandomFleetPlacer;
+import de.cofinpro.battleship.ai.Shooter;
+import de.cofinpro.battleship.config.GameConfig;
+import de.cofinpro.battleship.events.ShipPlacementEvent;
+import de.cofinpro.battleship.events.ShotEvent;
+import de.cofinpro.battleship.metrics.GameMetrics;
 import de.cofinpro.battleship.model.Battlefield;
 import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.PlacementRejection;
 import de.cofinpro.battleship.model.Shot;
 import de.cofinpro.battleship.model.ShotResult;
 import de.cofinpro.battleship.view.BattlefieldCell;
 import de.cofinpro.battleship.view.BattlefieldUI;
 import de.cofinpro.battleship.view.CommandLineUI;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * class that represents the gaming tools, that each of the player has to his service. In the game,
- * there is one instance of this class for both of the players.
+ * there is one instance of this class for both of the players. A session can also be played by the computer,
+ * which then positions its fleet randomly and takes its shots from a Shooter instead of the console.
+ * The session is set up from a GameConfig and has its user specific messages prepared once.
  */
 public class UserSession {
 
     private final String userName;
-    private CommandLineUI commandLineUI = new CommandLineUI();
+    private final GameConfig config;
+    private final String placeShipsMessage;
+    private final String shotMessage;
+    private CommandLineUI commandLineUI;
     private Battlefield battlefield;
     private List<Battleship> fleet;
     private BattlefieldUI battlefieldUI;
+    // set for a computer player only
+    private Shooter shooter;
+    private boolean playerChangePrompts = true;
+    private boolean battlefieldDisplays = true;
 
     public UserSession(String userName) {
+        this(userName, GameConfig.fromProperties());
+    }
+
+    public UserSession(String userName, GameConfig config) {
+        this(userName, config, new CommandLineUI());
+        commandLineUI.setChangePlayerMessage(config.getMsgChangePlayer());
+    }
+
+    /**
+     * session talking to the user through the command line UI given (e.g. a silent one for server hosted games).
+     */
+    public UserSession(String userName, GameConfig config, CommandLineUI commandLineUI) {
         this.userName = userName;
+        this.config = config;
+        this.commandLineUI = commandLineUI;
+        placeShipsMessage = config.getMsgPlaceShips().format(userName);
+        shotMessage = config.getMsgShot().format(userName);
         battlefield = initBattleField();
         fleet = initFleet();
     }
 
+    public String getUserName() {
+        return userName;
+    }
+
     public BattlefieldUI getBattlefieldUI() {
         return battlefieldUI;
     }
 
-    /**
-     * init the battlefield and the attached battlefieldUI with configurable size.
-     */
-    Battlefield initBattleField() {
-        int size = Integer.parseInt(PropertyManager.getProperty("field-size"));
-        if (size < 2 || size > 26) {
-            throw new ApplicationPropertiesException("Field-size property value must be in [2,26]. Given: " + size);
-        }
-        battlefield = new Battlefield(size);
-        battlefieldUI = new BattlefieldUI(battlefield);
+    public Battlefield getBattlefield() {
         return battlefield;
     }
 
     /**
-     * initialize the highly configurable fleet of battleships.
-     * @return the fleet as List<Battleship>.
+     * @return the live fleet - sunk ships are removed from it.
      */
-    List<Battleship> initFleet() {
-        fleet = new ArrayList<>();
-        List<String> shipNames = Arrays.stream(PropertyManager.getProperty("ship-names").split(",")).toList();
-        fleet.addAll(getNCellsShips(5, "five-cell-ships", shipNames, 0));
-        fleet.addAll(getNCellsShips(4, "four-cell-ships", shipNames, fleet.size()));
-        fleet.addAll(getNCellsShips(3, "three-cell-ships", shipNames, fleet.size()));
-        fleet.addAll(getNCellsShips(2, "two-cell-ships", shipNames, fleet.size()));
-        if (fleet.size() != shipNames.size()) {
-            commandLineUI.warn("Application properties mismatch: more ship names specified as ships requested");
-        }
-        commandLineUI.trace(fleet.toString());
+    public List<Battleship> getFleet() {
         return fleet;
     }
 
     /**
-     * helper method during fleet initialization, that creates and returns all ships of a given Cell-length
-     * @param cells the cells length
-     * @param amountKey amount of ships in this category as configurable
-     * @param shipNames the list af all ship names read from property.
-     * @param namesOffset offset within the names list for this category
-     * @return the list of ships created
+     * lets the computer play this session. Its shots are chosen by the shooter given, that aims at the
+     * opponent's battlefield knowing the opponent's live fleet.
+     * @param shooter the shooting strategy
+     * @param opponent the session of the opponent
      */
-    List<Battleship> getNCellsShips(int cells, String amountKey, List<String> shipNames, int namesOffset) {
-        List<Battleship> nCellsShips = new ArrayList<>();
-        int shipsInCategory = Integer.parseInt(PropertyManager.getProperty(amountKey));
+    public void playAsComputer(Shooter shooter, UserSession opponent) {
+        this.shooter = shooter;
+        shooter.newGame(opponent.battlefield.getSize(), opponent.fleet);
+    }
 
-        if (namesOffset + shipsInCategory > shipNames.size()) {
-            throw new ApplicationPropertiesException("not enough ship names specified as required for requested ships!");
+    /**
+     * lets the computer resume this session in a restored game: the shooter learns the results of all shots
+     * fired at the opponent's battlefield so far - misses first, then the hits in row order, so the last cell of
+     * a sunk ship comes after its other cells.
+     * @param shooter the shooting strategy
+     * @param opponent the restored session of the opponent
+     */
+    public void resumeAsComputer(Shooter shooter, UserSession opponent) {
+        playAsComputer(shooter, opponent);
+        Battlefield target = opponent.battlefield;
+        for (int row = 0; row < target.getSize(); row++) {
+            for (int column = 0; column < target.getSize(); column++) {
+                if (target.getCell(row, column) == BattlefieldCell.MISS) {
+                    shooter.shotResult(new Shot(row, column), ShotResult.MISSED);
+                }
+            }
         }
-        for (int i = 0; i < shipsInCategory; i++, namesOffset++) {
-            nCellsShips.add(new Battleship(shipNames.get(namesOffset), cells));
+        for (int row = 0; row < target.getSize(); row++) {
+            for (int column = 0; column < target.getSize(); column++) {
+                if (target.getCell(row, column) == BattlefieldCell.HIT) {
+                    Battleship ship = target.shipAt(row, column);
+                    boolean lastCell = ship != null && ship.isSunk()
+                            && row == ship.getRow() + (ship.isRowAligned() ? 0 : ship.getCells() - 1)
+                            && column == ship.getColumn() + (ship.isRowAligned() ? ship.getCells() - 1 : 0);
+                    shooter.shotResult(new Shot(row, column), lastCell ? ShotResult.SUNK : ShotResult.HIT);
+                }
+            }
         }
-        return nCellsShips;
+    }
+
+    public boolean isComputerPlayer() {
+        return shooter != null;
+    }
+
+    /**
+     * switch the "press enter" hand-over to the other player after each turn on or off (e.g. if there is no
+     * second human player to hide the battlefield from).
+     */
+    public void setPlayerChangePrompts(boolean playerChangePrompts) {
+        this.playerChangePrompts = playerChangePrompts;
+    }
+
+    /**
+     * switch the display of the own battlefield while positioning the ships on or off (e.g. for scripted games).
+     */
+    public void setBattlefieldDisplays(boolean battlefieldDisplays) {
+        this.battlefieldDisplays = battlefieldDisplays;
+    }
+
+    /**
+     * init the battlefield and the attached battlefieldUI with configured size.
+     */
+    Battlefield initBattleField() {
+        battlefield = new Battlefield(config.getFieldSize());
+        battlefieldUI = new BattlefieldUI(battlefield, config);
+        return battlefield;
+    }
+
+    /**
+     * initialize the highly configurable fleet of battleships from the shared fleet template.
+     * @return the fleet as List<Battleship>.
+     */
+    List<Battleship> initFleet() {
+        fleet = config.newFleet();
+        return fleet;
     }
 
     /**
      * user positioning loop over all ships in the fleet.
      */
     public void userAddOwnShipsToBattleField() {
-        commandLineUI.info(String.format(PropertyManager.getProperty("msg-place-ships"), userName));
-        battlefieldUI.displayBattlefield();
+        commandLineUI.info(placeShipsMessage);
+        if (isComputerPlayer()) {
+            placeFleetRandomly();
+            return;
+        }
+        displayBattlefield();
         fleet.forEach(this::userPositionShip);
-        commandLineUI.promptForPlayerChange();
+        promptForPlayerChange();
     }
 
     /**
-     * method to ask the user for the position of a given ship in a loop until it fits on the field.
+     * resumes the session on a battlefield and live fleet restored from a snapshot (see GameSnapshot).
+     * @param battlefield the restored battlefield
+     * @param fleet the restored live fleet - the positioned ships not sunk yet, followed by the ones to position
+     */
+    public void restore(Battlefield battlefield, List<Battleship> fleet) {
+        this.battlefield = battlefield;
+        this.fleet = fleet;
+        battlefieldUI = new BattlefieldUI(battlefield, config);
+    }
+
+    /**
+     * positions the whole fleet randomly on a new battlefield.
+     */
+    public void placeFleetRandomly() {
+        battlefield = new RandomFleetPlacer().placeFleet(battlefield.getSize(), fleet);
+        ShipPlacementEvent.fleetPositioned(fleet);
+        battlefieldUI = new BattlefieldUI(battlefield, config);
+    }
+
+    /**
+     * positions a ship of the fleet at the position tokens given, if it fits on the field.
+     * @param battleship the ship to position
+     * @param positionTokens list of two position tokens, e.g. ["B2", "B6"]
+     * @return the validation, that rejected the ship, null if it was positioned
+     */
+    public PlacementRejection positionShip(Battleship battleship, List<String> positionTokens) {
+        long start = GameMetrics.start();
+        ShipPlacementEvent event = new ShipPlacementEvent();
+        event.begin();
+        PlacementRejection rejectedBy = battlefield.checkAndPositionShip(positionTokens, battleship);
+        GameMetrics.INSTANCE.placementChecked(start, rejectedBy == null);
+        event.shipChecked(battleship, rejectedBy);
+        return rejectedBy;
+    }
+
+    /**
+     * method to ask the user for the position of a given ship in a loop until it fits on the field - every
+     * rejected position is answered with the error message of its rejection.
      * @param battleship the ship to position
      */
     void userPositionShip(Battleship battleship) {
-        List<String> positions;
-        do {
-            positions = commandLineUI.promptForShipPosition(battleship.getName(), battleship.getCells());
-        } while (!battlefield.couldPositionShip(positions, battleship));
-        battlefieldUI.displayBattlefield();
+        PlacementRejection rejection;
+        while ((rejection = positionShip(battleship, commandLineUI.promptForShipPosition(battleship.getName(),
+                battleship.getCells()))) != null) {
+            commandLineUI.error(config.placementErrorMsg(rejection, battleship));
+        }
+        displayBattlefield();
+    }
+
+    private void displayBattlefield() {
+        if (battlefieldDisplays) {
+            battlefieldUI.displayBattlefield();
+        }
     }
 
     /**
@@ -116,12 +234,17 @@ public class UserSession {
      * @return immutable Shot position object corresponding to the user entry.
      */
     public Shot shoots() {
-        commandLineUI.info(String.format(PropertyManager.getProperty("msg-shot"), userName));
+        commandLineUI.info(shotMessage);
+        if (isComputerPlayer()) {
+            Shot shot = shooter.nextShot();
+            commandLineUI.info(Battlefield.positionToken(shot.getRow(), shot.getColumn()));
+            return shot;
+        }
         Optional<Shot> shot;
         do {
             String positionToken = commandLineUI.promptForShotPosition();
             shot = battlefield.getShot(positionToken).or(()-> {
-                commandLineUI.error(PropertyManager.getProperty("error-msg-wrong-coords"));
+                commandLineUI.error(config.getErrorMsgWrongCoords());
                 return Optional.empty();
             });
         } while (shot.isEmpty());
@@ -137,44 +260,41 @@ public class UserSession {
      * @return a ShotResult Enum type
      */
     public ShotResult applyShot(Shot shot) {
-        BattlefieldCell cell = battlefield.getField()[shot.getRow()][shot.getColumn()];
-        if (cell == BattlefieldCell.WATER || cell == BattlefieldCell.MISS) {
-            battlefield.setCell(shot.getRow(), shot.getColumn(), BattlefieldCell.MISS);
-            commandLineUI.info(PropertyManager.getProperty("msg-miss"));
-            commandLineUI.promptForPlayerChange();
-            return ShotResult.MISSED;
-        }
-
-        battlefield.setCell(shot.getRow(), shot.getColumn(), BattlefieldCell.HIT);
-        Battleship sunkShip = shipSunkByHit(fleet, shot);
-        if (sunkShip == null) {
-            commandLineUI.info(PropertyManager.getProperty("msg-hit"));
-            commandLineUI.promptForPlayerChange();
-            return ShotResult.HIT;
+        long start = GameMetrics.start();
+        ShotEvent event = new ShotEvent();
+        event.begin();
+        ShotResult result = battlefield.applyShot(shot);
+        event.shotApplied(shot, result);
+        if (result == ShotResult.SUNK || result == ShotResult.WON) {
+            fleet.remove(battlefield.shipAt(shot.getRow(), shot.getColumn()));
         }
-
-        fleet.remove(sunkShip);
-        if (!fleet.isEmpty()) {
-            commandLineUI.info(PropertyManager.getProperty("msg-sink"));
-            commandLineUI.promptForPlayerChange();
-            return ShotResult.SUNK;
+        GameMetrics.INSTANCE.shotResolved(start, result);
+        if (result == ShotResult.WON) {
+            return result;
         }
-        return ShotResult.WON;
+        commandLineUI.info(switch (result) {
+            case MISSED -> config.getMsgMiss();
+            case HIT -> config.getMsgHit();
+            default -> config.getMsgSink();
+        });
+        promptForPlayerChange();
+        return result;
     }
 
     /**
-     * applies a hit to a ship and returns, if the ship has sunk, i.e. the last cell was hit. To achieve this check,
-     * the Battleship stores the hit cell.
-     * @param fleet the fleet to check for a hit
-     * @param shot the shot to apply
-     * @return the Battleship that has just sunk, or null, if no ship sunk by this shot
+     * informs a computer player about the result of its last shot, so it can aim the next one.
+     * @param shot the shot of this player
+     * @param result the result of the shot on the opponent's battlefield
      */
-    Battleship shipSunkByHit(List<Battleship> fleet, Shot shot) {
-        for (Battleship ship: fleet) {
-            if (ship.hitsShip(shot.getRow(), shot.getColumn()) && ship.remainingCells() == 0) {
-                return ship;
-            }
+    public void shotResult(Shot shot, ShotResult result) {
+        if (isComputerPlayer()) {
+            shooter.shotResult(shot, result);
+        }
+    }
+
+    private void promptForPlayerChange() {
+        if (playerChangePrompts) {
+            commandLineUI.promptForPlayerChange();
         }
-        return null;
     }
-}
\ No newline at end of file
+}
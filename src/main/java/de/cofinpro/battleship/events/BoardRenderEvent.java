@@ -0,0 +1,31 @@
+package de.cofinpro.battleship.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of rendering a view of a battlefield - the whole board or its changed cells.
+ */
+@Name("de.cofinpro.battleship.BoardRender")
+@Label("Board Render")
+@Category("Battleship")
+@Description("A battlefield view rendered for the console")
+@StackTrace(false)
+public class BoardRenderEvent extends jdk.jfr.Event {
+
+    @Label("Field Size")
+    public int fieldSize;
+
+    @Label("Obscured")
+    public boolean obscured;
+
+    @Label("Changed Cells Only")
+    @Description("True for the ANSI updates of the changed cells, false for the whole board")
+    public boolean changedCellsOnly;
+
+    @Label("Characters")
+    public int characters;
+}
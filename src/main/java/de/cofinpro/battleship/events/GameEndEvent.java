@@ -0,0 +1,63 @@
+package de.cofinpro.battleship.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of a game played to the end, lasting from its start to the winning shot.
+ */
+@Name("de.cofinpro.battleship.GameEnd")
+@Label("Game End")
+@Category("Battleship")
+@Description("A game was won - the duration is the one of the whole game")
+@StackTrace(false)
+public class GameEndEvent extends jdk.jfr.Event {
+
+    @Label("Mode")
+    @Description("console, script, headless or server")
+    String mode;
+
+    @Label("Shots")
+    @Description("Shots of both players")
+    int shots;
+
+    @Label("Winner")
+    String winner;
+
+    /**
+     * commits a GameStartEvent and begins the GameEndEvent of the game.
+     * @param mode the mode of the game: console, script, headless or server
+     * @param fieldSize the size of the battlefields
+     * @param ships the number of ships per fleet
+     * @return the begun event, to be ended by endGame()
+     */
+    public static GameEndEvent startGame(String mode, int fieldSize, int ships) {
+        GameStartEvent start = new GameStartEvent();
+        if (start.shouldCommit()) {
+            start.mode = mode;
+            start.fieldSize = fieldSize;
+            start.ships = ships;
+            start.commit();
+        }
+        GameEndEvent end = new GameEndEvent();
+        end.mode = mode;
+        end.begin();
+        return end;
+    }
+
+    /**
+     * commits the event at the end of the game.
+     * @param shots the shots of both players
+     * @param winner the name of the winner
+     */
+    public void endGame(int shots, String winner) {
+        if (shouldCommit()) {
+            this.shots = shots;
+            this.winner = winner;
+            commit();
+        }
+    }
+}
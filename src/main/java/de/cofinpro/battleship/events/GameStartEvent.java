@@ -0,0 +1,29 @@
+package de.cofinpro.battleship.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of a game started - committed by GameEndEvent.startGame().
+ */
+@Name("de.cofinpro.battleship.GameStart")
+@Label("Game Start")
+@Category("Battleship")
+@Description("A game was started")
+@StackTrace(false)
+public class GameStartEvent extends jdk.jfr.Event {
+
+    @Label("Mode")
+    @Description("console, script, headless or server")
+    String mode;
+
+    @Label("Field Size")
+    int fieldSize;
+
+    @Label("Ships")
+    @Description("Ships per fleet")
+    int ships;
+}
@@ -0,0 +1,73 @@
+package de.cofinpro.battleship.events;
+
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.PlacementRejection;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JFR event of an attempt to position a ship of a game on a battlefield, with the validation that rejected it.
+ * A fleet positioned by a placer gives one event per ship.
+ */
+@Name("de.cofinpro.battleship.ShipPlacement")
+@Label("Ship Placement")
+@Category("Battleship")
+@Description("An attempt to position a ship on a battlefield")
+@StackTrace(false)
+public class ShipPlacementEvent extends jdk.jfr.Event {
+
+    @Label("Ship")
+    public String ship;
+
+    @Label("Cells")
+    public int cells;
+
+    @Label("Row")
+    public int row;
+
+    @Label("Column")
+    public int column;
+
+    @Label("Row Aligned")
+    public boolean rowAligned;
+
+    @Label("Positioned")
+    public boolean positioned;
+
+    @Label("Rejected By")
+    @Description("The failed validation: coordinates, alignment, length or distance - null if positioned")
+    public String rejectedBy;
+
+    /**
+     * commits the event after the ship was checked.
+     * @param ship the ship to position
+     * @param rejectedBy the validation, that rejected the ship, null if it was positioned - recorded in lower case
+     */
+    public void shipChecked(Battleship ship, PlacementRejection rejectedBy) {
+        if (shouldCommit()) {
+            this.ship = ship.getName();
+            cells = ship.getCells();
+            row = ship.getRow();
+            column = ship.getColumn();
+            rowAligned = ship.isRowAligned();
+            positioned = rejectedBy == null;
+            this.rejectedBy = rejectedBy == null ? null : rejectedBy.name().toLowerCase(Locale.ROOT);
+            commit();
+        }
+    }
+
+    /**
+     * commits an event for every ship of the fleet, that a placer positioned.
+     */
+    public static void fleetPositioned(List<Battleship> fleet) {
+        for (Battleship ship : fleet) {
+            new ShipPlacementEvent().shipChecked(ship, null);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package de.cofinpro.battleship.events;
+
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of a shot of a game applied to a battlefield - begun by the game before it applies the shot.
+ */
+@Name("de.cofinpro.battleship.Shot")
+@Label("Shot")
+@Category("Battleship")
+@Description("A shot applied to a battlefield")
+@StackTrace(false)
+public class ShotEvent extends jdk.jfr.Event {
+
+    @Label("Row")
+    public int row;
+
+    @Label("Column")
+    public int column;
+
+    @Label("Result")
+    public String result;
+
+    /**
+     * commits the event after the shot was applied.
+     * @param shot the shot applied
+     * @param result the result of the shot
+     */
+    public void shotApplied(Shot shot, ShotResult result) {
+        if (shouldCommit()) {
+            row = shot.getRow();
+            column = shot.getColumn();
+            this.result = result.name();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package de.cofinpro.battleship.journal;
+
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * append-only binary journal of games: game created, ship placed and shot fired with its result, each as one
+ * fixed-width record of RECORD_SIZE bytes (big endian):
+ * <pre>
+ *  0  type      byte  GAME_CREATED, SHIP_PLACED or SHOT_FIRED
+ *  1  player    byte  owner of the battlefield of a placed ship, shooter of a shot
+ *  2  row       byte
+ *  3  column    byte
+ *  4  game id   int
+ *  8  value     int   created: field size, placed: ship cells, shot: ShotResult ordinal
+ * 12  value 2   int   created: ships per fleet, placed: 1 if row aligned, shot: turn (1-based)
+ * </pre>
+ * The turn loops do not write to the file: every thread journals through a Writer of its own, that fills a
+ * buffer of records and appends it to the channel in one write when full. The records of a game are written by
+ * one writer and stay in order; the buffers of different writers interleave in the file.
+ * When an existing journal is opened, a torn last record is cut off and the game ids continue after the last one.
+ */
+public class GameJournal implements AutoCloseable {
+
+    public static final int RECORD_SIZE = 16;
+    static final byte GAME_CREATED = 1;
+    static final byte SHIP_PLACED = 2;
+    static final byte SHOT_FIRED = 3;
+
+    private static final int DEFAULT_BUFFERED_RECORDS = 4096;
+
+    private final FileChannel channel;
+    private final AtomicInteger lastGameId;
+    private final List<Writer> writers = new ArrayList<>();
+
+    private GameJournal(FileChannel channel, int lastGameId) {
+        this.channel = channel;
+        this.lastGameId = new AtomicInteger(lastGameId);
+    }
+
+    /**
+     * opens the journal file for appending - it is created if it does not exist.
+     * @param path path of the journal file
+     * @return the journal
+     * @throws IOException if the file cannot be opened or read
+     */
+    public static GameJournal open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long wholeRecords = channel.size() / RECORD_SIZE * RECORD_SIZE;
+            if (wholeRecords != channel.size()) {
+                channel.truncate(wholeRecords);
+            }
+            int lastGameId = 0;
+            if (wholeRecords > 0) {
+                lastGameId = new JournalReader(channel).lastGameId();
+            }
+            channel.position(wholeRecords);
+            return new GameJournal(channel, lastGameId);
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * @return a new writer with the default buffer size - to be used by one thread only.
+     */
+    public Writer writer() {
+        return writer(DEFAULT_BUFFERED_RECORDS);
+    }
+
+    /**
+     * @param bufferedRecords the number of records buffered before they are written
+     * @return a new writer - to be used by one thread only.
+     */
+    public synchronized Writer writer(int bufferedRecords) {
+        Writer writer = new Writer(bufferedRecords);
+        writers.add(writer);
+        return writer;
+    }
+
+    /**
+     * flushes all writers not yet closed and closes the file. Writers must not be in use any more.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            for (Writer writer : writers) {
+                writer.flush();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void append(ByteBuffer records) {
+        try {
+            // one writer's buffer is appended as a whole, before the next writer's buffer
+            synchronized (channel) {
+                while (records.hasRemaining()) {
+                    channel.write(records);
+                }
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("writing to game journal failed", exception);
+        }
+    }
+
+    /**
+     * buffered writer of the journal records of one thread.
+     */
+    public class Writer implements AutoCloseable {
+
+        private final ByteBuffer buffer;
+
+        private Writer(int bufferedRecords) {
+            buffer = ByteBuffer.allocateDirect(bufferedRecords * RECORD_SIZE);
+        }
+
+        /**
+         * records a new game.
+         * @return the id of the game
+         */
+        public int gameCreated(int fieldSize, int ships) {
+            int gameId = lastGameId.incrementAndGet();
+            put(GAME_CREATED, 0, 0, 0, gameId, fieldSize, ships);
+            return gameId;
+        }
+
+        /**
+         * records a ship with its position and alignment on the battlefield of the player.
+         */
+        public void shipPlaced(int gameId, int player, Battleship ship) {
+            put(SHIP_PLACED, player, ship.getRow(), ship.getColumn(), gameId, ship.getCells(),
+                    ship.isRowAligned() ? 1 : 0);
+        }
+
+        /**
+         * records a shot of the player at the opponent's battlefield.
+         */
+        public void shotFired(int gameId, int player, int turn, Shot shot, ShotResult result) {
+            put(SHOT_FIRED, player, shot.getRow(), shot.getColumn(), gameId, result.ordinal(), turn);
+        }
+
+        private void put(byte type, int player, int row, int column, int gameId, int value, int value2) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put(type).put((byte) player).put((byte) row).put((byte) column)
+                    .putInt(gameId).putInt(value).putInt(value2);
+        }
+
+        /**
+         * appends the buffered records to the journal file.
+         */
+        public void flush() {
+            if (buffer.position() > 0) {
+                buffer.flip();
+                append(buffer);
+                buffer.clear();
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+            synchronized (GameJournal.this) {
+                writers.remove(this);
+            }
+        }
+    }
+}
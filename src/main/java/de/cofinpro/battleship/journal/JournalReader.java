@@ -0,0 +1,149 @@
+package de.cofinpro.battleship.journal;
+
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static de.cofinpro.battleship.journal.GameJournal.*;
+
+/**
+ * replay reader of a GameJournal file: the file is memory-mapped read-only (in chunks of up to 2 GB) and its
+ * records are streamed to a JournalVisitor, decoded straight from the mapped buffer. Records appended after the
+ * reader was opened are not seen.
+ */
+public class JournalReader implements AutoCloseable {
+
+    // largest multiple of the record size, that can be mapped at once
+    private static final long CHUNK = Integer.MAX_VALUE / RECORD_SIZE * RECORD_SIZE;
+    private static final ShotResult[] RESULTS = ShotResult.values();
+
+    private final FileChannel channel;
+    private final long records;
+
+    JournalReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        records = channel.size() / RECORD_SIZE;
+    }
+
+    /**
+     * opens the journal file for reading.
+     * @param path path of the journal file
+     * @return the reader
+     * @throws IOException if the file cannot be opened
+     */
+    public static JournalReader open(Path path) throws IOException {
+        return new JournalReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * @return the number of records in the journal.
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * streams all records to the visitor in file order.
+     * @throws IOException if the file cannot be mapped
+     */
+    public void forEach(JournalVisitor visitor) throws IOException {
+        long size = records * RECORD_SIZE;
+        for (long offset = 0; offset < size; offset += CHUNK) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                    Math.min(CHUNK, size - offset));
+            while (buffer.hasRemaining()) {
+                byte type = buffer.get();
+                int player = buffer.get();
+                int row = buffer.get();
+                int column = buffer.get();
+                int gameId = buffer.getInt();
+                int value = buffer.getInt();
+                int value2 = buffer.getInt();
+                switch (type) {
+                    case GAME_CREATED -> visitor.gameCreated(gameId, value, value2);
+                    case SHIP_PLACED -> visitor.shipPlaced(gameId, player, row, column, value, value2 != 0);
+                    case SHOT_FIRED -> {
+                        if (value < 0 || value >= RESULTS.length) {
+                            throw new IllegalStateException("corrupt journal record of result " + value + " at "
+                                    + (offset + buffer.position() - RECORD_SIZE));
+                        }
+                        visitor.shotFired(gameId, player, value2, row, column, RESULTS[value]);
+                    }
+                    default -> throw new IllegalStateException("corrupt journal record of type " + type + " at "
+                            + (offset + buffer.position() - RECORD_SIZE));
+                }
+            }
+        }
+    }
+
+    /**
+     * reconstructs the battlefield of a player as it was after a turn of the game.
+     * @param gameId the id of the game
+     * @param owner the player owning the battlefield (0 or 1)
+     * @param turn the number of shots fired in the game so far, 0 for the battlefield before the first shot
+     * @return the battlefield with the fleet of the player and the shots of the opponent up to the turn
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the journal has no such game
+     */
+    public Battlefield battlefieldAt(int gameId, int owner, int turn) throws IOException {
+        Battlefield[] battlefield = new Battlefield[1];
+        forEach(new JournalVisitor() {
+            private int ships;
+
+            @Override
+            public void gameCreated(int id, int fieldSize, int fleetSize) {
+                if (id == gameId) {
+                    battlefield[0] = new Battlefield(fieldSize);
+                }
+            }
+
+            @Override
+            public void shipPlaced(int id, int player, int row, int column, int cells, boolean rowAligned) {
+                if (id == gameId && player == owner) {
+                    Battleship ship = new Battleship("Ship " + ++ships, cells);
+                    ship.setRow(row);
+                    ship.setColumn(column);
+                    ship.setRowAligned(rowAligned);
+                    battlefield[0].tryPositionShip(ship);
+                }
+            }
+
+            @Override
+            public void shotFired(int id, int player, int shotTurn, int row, int column, ShotResult result) {
+                if (id == gameId && player != owner && shotTurn <= turn) {
+                    battlefield[0].applyShot(new Shot(row, column));
+                }
+            }
+        });
+        if (battlefield[0] == null) {
+            throw new IllegalArgumentException("no game " + gameId + " in the journal");
+        }
+        return battlefield[0];
+    }
+
+    /**
+     * @return the highest game id in the journal, 0 if there is no game.
+     */
+    int lastGameId() throws IOException {
+        int[] last = new int[1];
+        forEach(new JournalVisitor() {
+            @Override
+            public void gameCreated(int gameId, int fieldSize, int ships) {
+                last[0] = Math.max(last[0], gameId);
+            }
+        });
+        return last[0];
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
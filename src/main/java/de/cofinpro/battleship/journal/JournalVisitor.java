@@ -0,0 +1,36 @@
+package de.cofinpro.battleship.journal;
+
+import de.cofinpro.battleship.model.ShotResult;
+
+/**
+ * receives the records of a journal streamed by the JournalReader - in file order, without any allocation per
+ * record. All methods do nothing by default.
+ */
+public interface JournalVisitor {
+
+    /**
+     * @param gameId the id of the game
+     * @param fieldSize the size of both battlefields
+     * @param ships the number of ships of each fleet
+     */
+    default void gameCreated(int gameId, int fieldSize, int ships) {
+    }
+
+    /**
+     * @param player the player, whose battlefield the ship is placed on (0 or 1)
+     * @param row the row of the ship's first cell
+     * @param column the column of the ship's first cell
+     * @param cells the length of the ship
+     * @param rowAligned true, if the ship lies in the row
+     */
+    default void shipPlaced(int gameId, int player, int row, int column, int cells, boolean rowAligned) {
+    }
+
+    /**
+     * @param player the player, who fired the shot at the opponent's battlefield
+     * @param turn the number of the shot in the game, starting with 1
+     * @param result the result of the shot
+     */
+    default void shotFired(int gameId, int player, int turn, int row, int column, ShotResult result) {
+    }
+}
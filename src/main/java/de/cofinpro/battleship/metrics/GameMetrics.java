@@ -0,0 +1,155 @@
+package de.cofinpro.battleship.metrics;
+
+import de.cofinpro.battleship.model.ShotResult;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * process wide metrics of the game loop: latency histograms of the turns, the shot resolution, the placement
+ * checks and the battlefield rendering as well as counters of the shot results and rejected placements.
+ * The instrumented code takes a start() before and records with the histogram or event method after the
+ * operation - allocation-free and lock-free. Published as MXBeans in the domain de.cofinpro.battleship
+ * (see register()). With -Dbattleship.metrics=false start() gives 0 and nothing is recorded.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+
+    public static final boolean ENABLED = !"false".equals(System.getProperty("battleship.metrics"));
+    public static final GameMetrics INSTANCE = new GameMetrics();
+    static final String DOMAIN = "de.cofinpro.battleship";
+
+    private final LatencyHistogram turns = new LatencyHistogram("turn");
+    private final LatencyHistogram shots = new LatencyHistogram("shot");
+    private final LatencyHistogram placements = new LatencyHistogram("placement");
+    private final LatencyHistogram renderings = new LatencyHistogram("rendering");
+    private final LongAdder[] shotResults = new LongAdder[ShotResult.values().length];
+    private final LongAdder placementsRejected = new LongAdder();
+
+    GameMetrics() {
+        for (int i = 0; i < shotResults.length; i++) {
+            shotResults[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return the start time of a measured operation, 0 if metrics are switched off.
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @return the latencies of the turns of the play loop, from the shot taken to the shooter updated with
+     * its result - without the time a player needs to enter the shot.
+     */
+    public LatencyHistogram getTurns() {
+        return turns;
+    }
+
+    /**
+     * @return the latencies of the shot resolution on a battlefield.
+     */
+    public LatencyHistogram getShots() {
+        return shots;
+    }
+
+    /**
+     * @return the latencies of the placement checks of ships positioned by the users.
+     */
+    public LatencyHistogram getPlacements() {
+        return placements;
+    }
+
+    /**
+     * @return the latencies of rendering a battlefield view (without printing it).
+     */
+    public LatencyHistogram getRenderings() {
+        return renderings;
+    }
+
+    public List<LatencyHistogram> histograms() {
+        return List.of(turns, shots, placements, renderings);
+    }
+
+    /**
+     * records a shot resolved since the start given with its result.
+     */
+    public void shotResolved(long startNanos, ShotResult result) {
+        if (startNanos != 0) {
+            shots.recordSince(startNanos);
+            shotResults[result.ordinal()].increment();
+        }
+    }
+
+    /**
+     * records a placement check since the start given with its outcome.
+     */
+    public void placementChecked(long startNanos, boolean positioned) {
+        if (startNanos != 0) {
+            placements.recordSince(startNanos);
+            if (!positioned) {
+                placementsRejected.increment();
+            }
+        }
+    }
+
+    @Override
+    public long getShotsMissed() {
+        return shotResults[ShotResult.MISSED.ordinal()].sum();
+    }
+
+    @Override
+    public long getShotsHit() {
+        return shotResults[ShotResult.HIT.ordinal()].sum();
+    }
+
+    @Override
+    public long getShipsSunk() {
+        return shotResults[ShotResult.SUNK.ordinal()].sum() + getGamesWon();
+    }
+
+    @Override
+    public long getGamesWon() {
+        return shotResults[ShotResult.WON.ordinal()].sum();
+    }
+
+    @Override
+    public long getPlacementsRejected() {
+        return placementsRejected.sum();
+    }
+
+    /**
+     * registers the counters as de.cofinpro.battleship:type=GameMetrics and every histogram as
+     * de.cofinpro.battleship:type=Latency,name=... at the platform MBean server - once per process.
+     */
+    public synchronized void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=GameMetrics");
+            if (server.isRegistered(name)) {
+                return;
+            }
+            server.registerMBean(this, name);
+            for (LatencyHistogram histogram : histograms()) {
+                server.registerMBean(histogram, new ObjectName(DOMAIN + ":type=Latency,name=" + histogram.getName()));
+            }
+        } catch (JMException exception) {
+            throw new IllegalStateException("registering the game metrics failed", exception);
+        }
+    }
+
+    /**
+     * @return printable summary of the counters and one line per histogram.
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format("shots: %d missed, %d hit, %d ships sunk, %d games won,"
+                + " %d placements rejected", getShotsMissed(), getShotsHit(), getShipsSunk(), getGamesWon(),
+                getPlacementsRejected()));
+        histograms().forEach(histogram -> summary.append('\n').append(histogram.summary()));
+        return summary.toString();
+    }
+}
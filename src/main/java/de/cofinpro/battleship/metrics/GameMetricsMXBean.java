@@ -0,0 +1,17 @@
+package de.cofinpro.battleship.metrics;
+
+/**
+ * JMX view of the game counters of GameMetrics - the latencies are published as LatencyHistogram beans.
+ */
+public interface GameMetricsMXBean {
+
+    long getShotsMissed();
+
+    long getShotsHit();
+
+    long getShipsSunk();
+
+    long getGamesWon();
+
+    long getPlacementsRejected();
+}
@@ -0,0 +1,124 @@
+package de.cofinpro.battleship.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * concurrent log2 histogram of latencies: recording is one bucket increment, two adder increments and a rarely
+ * contended max update - no locks and no allocation, so it can stay on in production (it also keeps the wait times
+ * of the Matchmaker). Element i of the buckets counts the latencies of [2^(i-1), 2^i) nanoseconds, element 0 those
+ * of 0 nanoseconds.
+ */
+public class LatencyHistogram implements LatencyHistogramMXBean {
+
+    static final int BUCKETS = 64;
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanosSum = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * records the latency from the start given (see GameMetrics.start()) until now. Nothing is recorded for a
+     * start of 0, i.e. with metrics switched off.
+     * @param startNanos the System.nanoTime() at the start of the measured operation
+     */
+    public void recordSince(long startNanos) {
+        if (startNanos != 0) {
+            record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * @param nanos the latency to record, negative values count as 0
+     */
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        count.increment();
+        nanosSum.add(nanos);
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(nanos));
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getMeanNanos() {
+        long recorded = count.sum();
+        return recorded == 0 ? 0 : (double) nanosSum.sum() / recorded;
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return percentileNanos(50);
+    }
+
+    @Override
+    public long getP90Nanos() {
+        return percentileNanos(90);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return percentileNanos(99);
+    }
+
+    @Override
+    public long getP999Nanos() {
+        return percentileNanos(99.9);
+    }
+
+    /**
+     * @param percentile the percentile in (0, 100]
+     * @return upper bound of the latency in nanoseconds, that at least the percentile of the recorded latencies
+     * did not exceed - exact to a power of 2. Taken while recording goes on, it is approximate.
+     */
+    public long percentileNanos(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long threshold = (long) Math.ceil(total * percentile / 100);
+        long max = maxNanos.get();
+        long cumulated = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulated += counts[i];
+            if (cumulated >= threshold && cumulated > 0) {
+                return i == 0 ? 0 : Math.min(max, (1L << i) - 1);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return printable one line summary of the histogram.
+     */
+    public String summary() {
+        return String.format(Locale.ROOT, "%s: %d, mean %.1f µs, p50 %.1f µs, p99 %.1f µs, max %.1f µs", name,
+                getCount(), getMeanNanos() / 1e3, getP50Nanos() / 1e3, getP99Nanos() / 1e3, getMaxNanos() / 1e3);
+    }
+}
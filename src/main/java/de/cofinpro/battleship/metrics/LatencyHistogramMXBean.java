@@ -0,0 +1,21 @@
+package de.cofinpro.battleship.metrics;
+
+/**
+ * JMX view of a LatencyHistogram - all times in nanoseconds, percentiles exact to a power of 2.
+ */
+public interface LatencyHistogramMXBean {
+
+    long getCount();
+
+    double getMeanNanos();
+
+    long getMaxNanos();
+
+    long getP50Nanos();
+
+    long getP90Nanos();
+
+    long getP99Nanos();
+
+    long getP999Nanos();
+}
@@ -0,0 +1,61 @@
+package de.cofinpro.battleship.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * appends the summary of the game metrics to a file periodically - on a daemon thread of its own, so the game
+ * loop never waits for the file. A last dump is written on close.
+ */
+@Slf4j
+public class MetricsDumper implements AutoCloseable {
+
+    private final GameMetrics metrics;
+    private final Path file;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("metrics-dumper").daemon().factory());
+
+    /**
+     * starts dumping the metrics given.
+     * @param metrics the metrics to dump
+     * @param file the file to append to - created if it does not exist
+     * @param periodSeconds the seconds between two dumps
+     */
+    public MetricsDumper(GameMetrics metrics, Path file, long periodSeconds) {
+        this.metrics = metrics;
+        this.file = file;
+        scheduler.scheduleAtFixedRate(this::dump, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * appends the current metrics with a timestamp line to the file.
+     */
+    void dump() {
+        try {
+            Files.writeString(file, Instant.now() + "\n" + metrics.summary() + "\n\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException exception) {
+            log.error("dumping the metrics to " + file + " failed: " + exception.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        dump();
+    }
+}
@@ -1,19 +1,23 @@
 package de.cofinpro.battleship.model;
 
-import de.cofinpro.battleship.config.PropertyManager;
 import de.cofinpro.battleship.view.BattlefieldCell;
-import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.IntStream;
 
 /**
  * class representing the battlefield, that stores the ships and hits, misses in a field of cells with
  * configurable size.
+ * The state is kept in three bit planes (ships, hits, misses) with one long word per row, where bit j of
+ * word i represents the cell (i, j). As the field size is limited to 26, every row fits into one word and
+ * placement checks, shots and the "all ships sunk" test come down to a few word operations.
+ * Additionally, an index from cell to positioned ship resolves the ship of a hit in constant time.
+ * Every row carries a version, that is increased with each change of the row - views use it to re-render
+ * only changed rows. The Zobrist hash of the board as the opponent observes it (see ZobristKeys) is kept up to
+ * date with every shot and cell change, for searches caching results per observed board.
  */
-@Slf4j
 public class Battlefield {
 
     class Indices {
@@ -26,23 +30,89 @@ public class Battlefield {
         }
     }
 
-    private final BattlefieldCell[][] field;
+    // result of the packed position parsers for tokens, that are no position on the field
+    public static final int NO_POSITION = -1;
+    // ship ids are stored in one unsigned byte per cell
+    static final int MAX_SHIPS = 255;
+
     private final int size;
+    // bit planes - a HIT cell always has its ship bit set, a MISS cell never.
+    private final long[] shipRows;
+    private final long[] hitRows;
+    private final long[] missRows;
+    // cell index (row * size + column) to 1-based id (unsigned) of the ship positioned there, 0 for no ship
+    private final byte[] shipIds;
+    private final List<Battleship> ships = new ArrayList<>();
+    private final int[] rowVersions;
+    private long observedHash;
 
     public Battlefield(int size) {
         this.size = size;
-        field = new BattlefieldCell[size][size];
-        IntStream.range(0, size * size).forEach(n -> field[n / size][n % size] = BattlefieldCell.WATER);
+        rowVersions = new int[size];
+        shipRows = new long[size];
+        hitRows = new long[size];
+        missRows = new long[size];
+        shipIds = new byte[size * size];
     }
 
     public int getSize() {
         return size;
     }
 
+    /**
+     * @return the ships positioned on the field in the order of their positioning - read-only view.
+     */
+    public List<Battleship> getShips() {
+        return Collections.unmodifiableList(ships);
+    }
+
+    /**
+     * @param row row of the field
+     * @return the version of the row, which changes whenever a cell of the row changes
+     */
+    public int getRowVersion(int row) {
+        return rowVersions[row];
+    }
+
+    /**
+     * @return the Zobrist hash of the misses, the hits of ships not sunk and the cells of sunk ships.
+     */
+    public long getObservedHash() {
+        return observedHash;
+    }
+
+    /**
+     * adapter view of the bit planes as the cell grid known to the console UI. The grid is a snapshot,
+     * i.e. it is newly created with every call and changes to it do not write through to the battlefield.
+     * @return the cell grid
+     */
     public BattlefieldCell[][] getField() {
+        BattlefieldCell[][] field = new BattlefieldCell[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                field[row][column] = getCell(row, column);
+            }
+        }
         return field;
     }
 
+    /**
+     * get the cell type at the position given from the bit planes.
+     * @param row row of the cell
+     * @param column column of the cell
+     * @return the enum type of the cell
+     */
+    public BattlefieldCell getCell(int row, int column) {
+        long bit = 1L << column;
+        if ((hitRows[row] & bit) != 0) {
+            return BattlefieldCell.HIT;
+        }
+        if ((missRows[row] & bit) != 0) {
+            return BattlefieldCell.MISS;
+        }
+        return (shipRows[row] & bit) != 0 ? BattlefieldCell.SHIP : BattlefieldCell.WATER;
+    }
+
     /**
      * Players can enter their MISS or HIT here to a cell, when applying a shot of the opponent.
      * @param row row of the shot
@@ -50,7 +120,129 @@ public class Battlefield {
      * @param type enum type to set the cell to
      */
     public void setCell(int row, int column, BattlefieldCell type) {
-        field[row][column] = type;
+        long bit = 1L << column;
+        rowVersions[row]++;
+        observedHash ^= observedKey(row, column);
+        switch (type) {
+            case WATER -> {
+                shipRows[row] &= ~bit;
+                hitRows[row] &= ~bit;
+                missRows[row] &= ~bit;
+                shipIds[row * size + column] = 0;
+            }
+            case SHIP -> {
+                shipRows[row] |= bit;
+                hitRows[row] &= ~bit;
+                missRows[row] &= ~bit;
+            }
+            case HIT -> {
+                shipRows[row] |= bit;
+                hitRows[row] |= bit;
+                missRows[row] &= ~bit;
+            }
+            case MISS -> {
+                shipRows[row] &= ~bit;
+                hitRows[row] &= ~bit;
+                missRows[row] |= bit;
+                shipIds[row * size + column] = 0;
+            }
+        }
+        observedHash ^= observedKey(row, column);
+    }
+
+    /**
+     * @return the Zobrist key of what is observed at the cell, 0 for nothing (WATER or SHIP).
+     */
+    private long observedKey(int row, int column) {
+        long bit = 1L << column;
+        int cell = row * size + column;
+        if ((missRows[row] & bit) != 0) {
+            return ZobristKeys.key(cell, ZobristKeys.MISS);
+        }
+        if ((hitRows[row] & bit) == 0) {
+            return 0;
+        }
+        Battleship ship = shipAt(row, column);
+        return ZobristKeys.key(cell, ship != null && ship.isSunk() ? ZobristKeys.SUNK : ZobristKeys.HIT);
+    }
+
+    /**
+     * applies a shot of the opponent to the field: the cell is marked as MISS or HIT and in case of a hit,
+     * the ship positioned there is looked up in the cell index and stores the hit cell.
+     * Shooting at a cell already hit gives HIT again, without any further effect.
+     * @param shot the shot position to apply
+     * @return MISSED, HIT, SUNK if the last cell of the hit ship was hit or WON if this was the last ship
+     */
+    public ShotResult applyShot(Shot shot) {
+        return resolveShot(shot.getRow(), shot.getColumn());
+    }
+
+    private ShotResult resolveShot(int row, int column) {
+        long bit = 1L << column;
+        if ((shipRows[row] & bit) == 0) {
+            if ((missRows[row] & bit) == 0) {
+                missRows[row] |= bit;
+                rowVersions[row]++;
+                observedHash ^= ZobristKeys.key(row * size + column, ZobristKeys.MISS);
+            }
+            return ShotResult.MISSED;
+        }
+        if ((hitRows[row] & bit) != 0) {
+            return ShotResult.HIT;
+        }
+        hitRows[row] |= bit;
+        rowVersions[row]++;
+        observedHash ^= ZobristKeys.key(row * size + column, ZobristKeys.HIT);
+        Battleship ship = shipAt(row, column);
+        if (ship == null || !ship.hitsShip(row, column) || !ship.isSunk()) {
+            return ShotResult.HIT;
+        }
+        observeSunk(ship);
+        return allShipsSunk() ? ShotResult.WON : ShotResult.SUNK;
+    }
+
+    /**
+     * switches the cells of the ship just sunk from HIT to SUNK in the observed hash.
+     */
+    private void observeSunk(Battleship ship) {
+        int cell = ship.getRow() * size + ship.getColumn();
+        int step = ship.isRowAligned() ? 1 : size;
+        for (int i = 0; i < ship.getCells(); i++, cell += step) {
+            observedHash ^= ZobristKeys.key(cell, ZobristKeys.HIT) ^ ZobristKeys.key(cell, ZobristKeys.SUNK);
+        }
+    }
+
+    /**
+     * look up the ship positioned at the cell given in the cell index.
+     * @param row row of the cell
+     * @param column column of the cell
+     * @return the ship, or null if no ship was positioned at this cell
+     */
+    public Battleship shipAt(int row, int column) {
+        int id = shipIds[row * size + column] & 0xFF;
+        return id == 0 ? null : ships.get(id - 1);
+    }
+
+    /**
+     * checks if a ship (hit or not) occupies the cell given.
+     * @param row row of the cell
+     * @param column column of the cell
+     * @return true, if the cell is SHIP or HIT
+     */
+    public boolean hasShipAt(int row, int column) {
+        return (shipRows[row] & 1L << column) != 0;
+    }
+
+    /**
+     * @return true, if every ship cell on the field has been hit.
+     */
+    public boolean allShipsSunk() {
+        for (int row = 0; row < size; row++) {
+            if ((shipRows[row] & ~hitRows[row]) != 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -62,20 +254,58 @@ public class Battlefield {
      * @return true, if position algorithm is able to position ship with given input
      */
     public boolean couldPositionShip(List<String> positionTokens, Battleship ship) {
+        return checkAndPositionShip(positionTokens, ship) == null;
+    }
+
+    /**
+     * positions the ship as couldPositionShip does.
+     * @return the validation, that rejected the ship, null if it was positioned
+     */
+    public PlacementRejection checkAndPositionShip(List<String> positionTokens, Battleship ship) {
         List<Indices> indices= new ArrayList<>();
         positionTokens.forEach(token -> parsePositionToken(token).ifPresent(indices::add));
         if (indices.size() != 2) {
-            log.error(PropertyManager.getProperty("error-msg-wrong-coords"));
-            return false;
+            return PlacementRejection.COORDINATES;
+        }
+        if (!positionsAreAlignedOnField(indices, ship)) {
+            return PlacementRejection.ALIGNMENT;
+        }
+        if (!matchesShipLength(indices, ship)) {
+            return PlacementRejection.LENGTH;
+        }
+        if (!shipFitsWithOtherShips(ship)) {
+            return PlacementRejection.DISTANCE;
         }
+        positionShip(ship);
+        return null;
+    }
 
-        if (positionsAreAlignedOnField(indices, ship)
-                && matchesShipLength(indices, ship)
-                && shipFitsWithOtherShips(ship)) {
-            positionShip(ship);
-            return true;
+    /**
+     * positions a ship, whose row, column and alignment are already set, if it lies completely on the field
+     * and does not touch other ships. Other than couldPositionShip the ship is not set from position tokens,
+     * as this is meant for computer players.
+     * @param ship the battleship to position
+     * @return true, if the ship was positioned
+     */
+    public boolean tryPositionShip(Battleship ship) {
+        int lastRow = ship.isRowAligned() ? ship.getRow() : ship.getRow() + ship.getCells() - 1;
+        int lastColumn = ship.isRowAligned() ? ship.getColumn() + ship.getCells() - 1 : ship.getColumn();
+        if (ship.getRow() < 0 || ship.getColumn() < 0 || lastRow >= size || lastColumn >= size
+                || !isWaterAround(ship)) {
+            return false;
         }
-        return false;
+        positionShip(ship);
+        return true;
+    }
+
+    /**
+     * formats a cell position as the users enter it.
+     * @param row row index of the cell
+     * @param column column index of the cell
+     * @return the position string, e.g. "B2" for row 1, column 1
+     */
+    public static String positionToken(int row, int column) {
+        return (char) ('A' + row) + String.valueOf(column + 1);
     }
 
     /**
@@ -85,8 +315,9 @@ public class Battlefield {
      * @return empty, if no valid position, a Shot object with position of the shot
      */
     public Optional<Shot> getShot(String positionToken) {
-        return parsePositionToken(positionToken)
-                .map(indices -> new Shot(indices.row, indices.column));
+        int position = parsePosition(positionToken);
+        return position == NO_POSITION ? Optional.empty()
+                : Optional.of(new Shot(positionRow(position), positionColumn(position)));
     }
 
     /**
@@ -95,16 +326,81 @@ public class Battlefield {
      * @return optional with parse result as Indices object or empty if parse fails
      */
     Optional<Indices> parsePositionToken(String token) {
-        int row = token.toUpperCase().toCharArray()[0] - 'A';
-        if (row < 0 || row >= size || token.length() < 2
-                || !token.substring(1).matches("\\d+")) {
-            return Optional.empty();
+        int position = parsePosition(token);
+        return position == NO_POSITION ? Optional.empty()
+                : Optional.of(new Indices(positionRow(position), positionColumn(position)));
+    }
+
+    /**
+     * allocation-free variant of parsePositionToken: decodes a position token (e.g. "B2" or "b2") into the
+     * packed position row &lt;&lt; 16 | column.
+     * @param token the characters to parse
+     * @return the packed position or NO_POSITION, if the token is no valid position on this field
+     */
+    public int parsePosition(CharSequence token) {
+        return parsePosition(token, 0, token.length());
+    }
+
+    /**
+     * parses the position token in the characters from index from (inclusive) to index to (exclusive).
+     * @return the packed position or NO_POSITION, if the token is no valid position on this field
+     */
+    public int parsePosition(CharSequence chars, int from, int to) {
+        if (to - from < 2) {
+            return NO_POSITION;
         }
-        int column = Integer.parseInt(token.substring(1)) - 1;
-        if (column < 0 || column >= size) {
-            return Optional.empty();
+        int column = 0;
+        for (int i = from + 1; i < to && column <= size; i++) {
+            int digit = chars.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return NO_POSITION;
+            }
+            column = column * 10 + digit;
         }
-        return Optional.of(new Indices(row, column));
+        return packPosition(rowIndex(chars.charAt(from)), column - 1);
+    }
+
+    /**
+     * parses the ASCII position token in the bytes from index from (inclusive) to index to (exclusive),
+     * e.g. straight from a network or file buffer.
+     * @return the packed position or NO_POSITION, if the token is no valid position on this field
+     */
+    public int parsePosition(byte[] bytes, int from, int to) {
+        if (to - from < 2) {
+            return NO_POSITION;
+        }
+        int column = 0;
+        for (int i = from + 1; i < to && column <= size; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return NO_POSITION;
+            }
+            column = column * 10 + digit;
+        }
+        return packPosition(rowIndex((char) bytes[from]), column - 1);
+    }
+
+    public static int positionRow(int position) {
+        return position >>> 16;
+    }
+
+    public static int positionColumn(int position) {
+        return position & 0xFFFF;
+    }
+
+    private static int rowIndex(char letter) {
+        return letter >= 'a' && letter <= 'z' ? letter - 'a' : letter - 'A';
+    }
+
+    /**
+     * packs valid indices - digits beyond the field size are not parsed any further, so column is out of range
+     * then and overflow cannot happen.
+     */
+    private int packPosition(int row, int column) {
+        if (row < 0 || row >= size || column < 0 || column >= size) {
+            return NO_POSITION;
+        }
+        return row << 16 | column;
     }
 
     /**
@@ -112,12 +408,25 @@ public class Battlefield {
      * @param ship ship to position
      */
     private void positionShip(Battleship ship) {
+        if (ships.size() == MAX_SHIPS) {
+            throw new IllegalStateException("no more than " + MAX_SHIPS + " ships can be positioned on a field");
+        }
+        ships.add(ship);
+        byte id = (byte) ships.size();
+        int cellIndex = ship.getRow() * size + ship.getColumn();
+        int step = ship.isRowAligned() ? 1 : size;
+        for (int i = 0; i < ship.getCells(); i++, cellIndex += step) {
+            shipIds[cellIndex] = id;
+        }
+        if (ship.isRowAligned()) {
+            shipRows[ship.getRow()] |= BlockedCells.bitMask(ship.getColumn(), ship.getColumn() + ship.getCells() - 1);
+            rowVersions[ship.getRow()]++;
+            return;
+        }
+        long bit = 1L << ship.getColumn();
         for (int i = 0; i < ship.getCells(); i++) {
-            if (ship.isRowAligned()) {
-                field[ship.getRow()][ship.getColumn() + i] = BattlefieldCell.SHIP;
-            } else {
-                field[ship.getRow() + i][ship.getColumn()] = BattlefieldCell.SHIP;
-            }
+            shipRows[ship.getRow() + i] |= bit;
+            rowVersions[ship.getRow() + i]++;
         }
     }
 
@@ -128,19 +437,24 @@ public class Battlefield {
      * @return true if check passes
      */
      boolean shipFitsWithOtherShips(Battleship ship) {
+        return isWaterAround(ship);
+    }
+
+    /**
+     * checks the rectangle around the ship with border width 1 cell to contain only water.
+     * @param ship ship to check positioning
+     * @return true if check passes
+     */
+    private boolean isWaterAround(Battleship ship) {
         int row = ship.getRow();
         int column = ship.getColumn();
         int cells = ship.getCells();
-        if (ship.isRowAligned()
+        return ship.isRowAligned()
                 && isWaterInRectangle(Math.max(0, row - 1), Math.min(size - 1, row + 1),
                                      Math.max(0, column - 1), Math.min(size - 1, column + cells))
             || !ship.isRowAligned()
                 && isWaterInRectangle(Math.max(0, row - 1), Math.min(size - 1, row + cells),
-                                     Math.max(0, column - 1), Math.min(size - 1, column + 1))) {
-            return true;
-        }
-        log.error(PropertyManager.getProperty("error-msg-ship-too-close"));
-        return false;
+                                     Math.max(0, column - 1), Math.min(size - 1, column + 1));
     }
 
     /**
@@ -152,11 +466,10 @@ public class Battlefield {
      * @return the check result
      */
     private boolean isWaterInRectangle(int rowFrom, int rowTo, int columnFrom, int columnTo) {
+        long mask = BlockedCells.bitMask(columnFrom, columnTo);
         for (int row = rowFrom; row <= rowTo; row++) {
-            for (int column = columnFrom; column <= columnTo; column++) {
-                if (field[row][column] != BattlefieldCell.WATER) {
-                    return false;
-                }
+            if (((shipRows[row] | hitRows[row] | missRows[row]) & mask) != 0) {
+                return false;
             }
         }
         return true;
@@ -169,14 +482,10 @@ public class Battlefield {
      * @return the check result, if the ship fits
      */
      boolean matchesShipLength(List<Indices> indices, Battleship ship) {
-        if (ship.isRowAligned()
+        return ship.isRowAligned()
                 && Math.abs(indices.get(0).column - indices.get(1).column) + 1 == ship.getCells()
             || !ship.isRowAligned()
-                && Math.abs(indices.get(0).row - indices.get(1).row) + 1 == ship.getCells()) {
-            return true;
-        }
-        log.error(String.format(PropertyManager.getProperty("error-msg-ship-length"), ship.getName()));
-        return false;
+                && Math.abs(indices.get(0).row - indices.get(1).row) + 1 == ship.getCells();
     }
 
     /**
@@ -199,7 +508,6 @@ public class Battlefield {
             ship.setColumn(indices.get(0).column);
             return true;
         }
-        log.error(PropertyManager.getProperty("error-msg-ship-location"));
         return false;
     }
 }
\ No newline at end of file
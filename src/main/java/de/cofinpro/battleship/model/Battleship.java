@@ -1,52 +1,105 @@
 package de.cofinpro.battleship.model;
 
-import lombok.Data;
-
-import java.util.Arrays;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
 /**
  * class representing a battleship on the field
- * It is constructed with name and cells (e.g. length). Later the position and alignment can be stored
- * when the ship gets positioned on the battlefield
+ * It is constructed with its ship type (name and cells, e.g. length), which is shared by all games. Later the
+ * position and alignment can be stored when the ship gets positioned on the battlefield.
+ * The hit cells are stored as bitmask (bit i for the i-th cell from row, column on), so no hit check needs to
+ * iterate or allocate. Position and alignment are kept in bytes, which makes the per-game ship state 24 bytes.
  */
-@Data
+@EqualsAndHashCode
+@ToString
 public class Battleship {
 
-    private final String name;
-    private final int cells;
+    @Getter
+    private final ShipType type;
     // row and column contain the two lowest(!) array indices of the ship cells (0 to size - 1)
-    private int row;
-    private int column;
+    private byte row;
+    private byte column;
     private boolean isRowAligned;
-    private final Boolean[] hitCells;
+    @Getter
+    private int hitMask;
 
     public Battleship(String name, int cells) {
-        this.name = name;
-        this.cells = cells;
-        this.hitCells = new Boolean[cells];
-        Arrays.fill(hitCells, false);
+        this(new ShipType(name, cells));
+    }
+
+    public Battleship(ShipType type) {
+        this.type = type;
+    }
+
+    public String getName() {
+        return type.getName();
+    }
+
+    public int getCells() {
+        return type.getCells();
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = (byte) row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public void setColumn(int column) {
+        this.column = (byte) column;
+    }
+
+    public boolean isRowAligned() {
+        return isRowAligned;
+    }
+
+    public void setRowAligned(boolean isRowAligned) {
+        this.isRowAligned = isRowAligned;
     }
 
     /**
-     * checks if this ship was hit by a shot. In that case the hit cell is set to true
+     * checks if this ship was hit by a shot. In that case the hit cell is set in the hit mask
      * @return true, if a ship's cell was hit, false else.
      */
     public boolean hitsShip(int hitRow, int hitColumn) {
-        for (int i = 0; i < cells; i++) {
-            int shipRow = isRowAligned ? row : row + i;
-            int shipColumn = isRowAligned ? column + i : column;
-            if (shipRow == hitRow && shipColumn == hitColumn) {
-                hitCells[i] = true;
-                return true;
-            }
+        boolean onShipLine = isRowAligned ? hitRow == row : hitColumn == column;
+        int offset = isRowAligned ? hitColumn - column : hitRow - row;
+        if (!onShipLine || offset < 0 || offset >= getCells()) {
+            return false;
         }
-        return false;
+        hitMask |= 1 << offset;
+        return true;
     }
 
     /**
      * @return the number of cells of this ship not hit yet.
      */
     public long remainingCells() {
-        return Arrays.stream(hitCells).filter(cell -> !cell).count();
+        return getCells() - Integer.bitCount(hitMask);
+    }
+
+    /**
+     * @return true, if all cells of this ship are hit.
+     */
+    public boolean isSunk() {
+        return Integer.bitCount(hitMask) == getCells();
+    }
+
+    /**
+     * @return the hit state per cell - derived from the hit mask.
+     */
+    public Boolean[] getHitCells() {
+        Boolean[] hitCells = new Boolean[getCells()];
+        for (int i = 0; i < hitCells.length; i++) {
+            hitCells[i] = (hitMask & 1 << i) != 0;
+        }
+        return hitCells;
     }
 }
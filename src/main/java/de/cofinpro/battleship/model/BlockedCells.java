@@ -0,0 +1,100 @@
+package de.cofinpro.battleship.model;
+
+import java.util.Arrays;
+
+/**
+ * set of cells, on which no further ship may be positioned, kept twice: row-major with one long word per row
+ * (bit j of word i is the cell (i, j)) and column-major with one word per column (bit i of word j is the cell
+ * (i, j)). Thus the cells of a row aligned as well as of a column aligned ship are checked with one word operation
+ * and all free slots of a ship in a row or column are found with a few shifts.
+ */
+public class BlockedCells {
+
+    private final long[] rows;
+    private final long[] columns;
+    private final long fieldMask;
+
+    public BlockedCells(int fieldSize) {
+        rows = new long[fieldSize];
+        columns = new long[fieldSize];
+        fieldMask = bitMask(0, fieldSize - 1);
+    }
+
+    public void clear() {
+        Arrays.fill(rows, 0);
+        Arrays.fill(columns, 0);
+    }
+
+    /**
+     * sets the blocked cells to those of the other set, which has the same field size.
+     */
+    public void copyFrom(BlockedCells other) {
+        System.arraycopy(other.rows, 0, rows, 0, rows.length);
+        System.arraycopy(other.columns, 0, columns, 0, columns.length);
+    }
+
+    /**
+     * @return true, if none of the cells in the row given and the column bits of the mask is blocked.
+     */
+    public boolean isFreeInRow(int row, long columnMask) {
+        return (rows[row] & columnMask) == 0;
+    }
+
+    /**
+     * @return true, if none of the cells in the column given and the row bits of the mask is blocked.
+     */
+    public boolean isFreeInColumn(int column, long rowMask) {
+        return (columns[column] & rowMask) == 0;
+    }
+
+    /**
+     * @return bits of all columns, at which a row aligned ship of the length given can start in the row given,
+     * i.e. from which on length cells are free.
+     */
+    public long freeStartsInRow(int row, int length) {
+        return runStarts(~rows[row] & fieldMask, length);
+    }
+
+    /**
+     * @return bits of all rows, at which a column aligned ship of the length given can start in the column given.
+     */
+    public long freeStartsInColumn(int column, int length) {
+        return runStarts(~columns[column] & fieldMask, length);
+    }
+
+    private static long runStarts(long free, int length) {
+        long starts = free;
+        for (int i = 1; i < length; i++) {
+            starts &= free >>> i;
+        }
+        return starts;
+    }
+
+    /**
+     * @return true, if the cell given is blocked.
+     */
+    public boolean isBlocked(int row, int column) {
+        return (rows[row] & 1L << column) != 0;
+    }
+
+    /**
+     * blocks all cells of the rectangle given (all bounds inclusive and on the field).
+     */
+    public void blockRectangle(int rowFrom, int rowTo, int columnFrom, int columnTo) {
+        long columnMask = bitMask(columnFrom, columnTo);
+        long rowMask = bitMask(rowFrom, rowTo);
+        for (int row = rowFrom; row <= rowTo; row++) {
+            rows[row] |= columnMask;
+        }
+        for (int column = columnFrom; column <= columnTo; column++) {
+            columns[column] |= rowMask;
+        }
+    }
+
+    /**
+     * @return a word with the bits from to to (both inclusive) set.
+     */
+    static long bitMask(int from, int to) {
+        return ((1L << (to - from + 1)) - 1) << from;
+    }
+}
@@ -0,0 +1,8 @@
+package de.cofinpro.battleship.model;
+
+/**
+ * validation of a ship position entered, that rejected the ship (see Battlefield.checkAndPositionShip()).
+ */
+public enum PlacementRejection {
+    COORDINATES, ALIGNMENT, LENGTH, DISTANCE
+}
@@ -0,0 +1,123 @@
+package de.cofinpro.battleship.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * immutable table of all slots (row, column, alignment), in which a ship of a given length lies completely
+ * on a field of a given size. The row aligned slots come first, then the column aligned ones. Every slot
+ * stores the word mask of its cells, so that its fit against BlockedCells is a single word operation.
+ * Tables are shared between all users and obtained by of(fieldSize, length).
+ */
+public final class PlacementTable {
+
+    private static final ConcurrentMap<Integer, PlacementTable> TABLES = new ConcurrentHashMap<>();
+
+    private final int fieldSize;
+    private final int length;
+    private final int rowAlignedSlots;
+    private final byte[] rows;
+    private final byte[] columns;
+    private final long[] cellMasks;
+
+    private PlacementTable(int fieldSize, int length) {
+        this.fieldSize = fieldSize;
+        this.length = length;
+        int extent = Math.max(0, fieldSize - length + 1);
+        rowAlignedSlots = fieldSize * extent;
+        int slots = length == 1 ? rowAlignedSlots : 2 * rowAlignedSlots;
+        rows = new byte[slots];
+        columns = new byte[slots];
+        cellMasks = new long[slots];
+        int slot = 0;
+        for (int row = 0; row < fieldSize; row++) {
+            for (int column = 0; column < extent; column++, slot++) {
+                rows[slot] = (byte) row;
+                columns[slot] = (byte) column;
+                cellMasks[slot] = BlockedCells.bitMask(column, column + length - 1);
+            }
+        }
+        // a one cell ship has no separate column aligned slots
+        for (int column = 0; slot < slots && column < fieldSize; column++) {
+            for (int row = 0; row < extent; row++, slot++) {
+                rows[slot] = (byte) row;
+                columns[slot] = (byte) column;
+                cellMasks[slot] = BlockedCells.bitMask(row, row + length - 1);
+            }
+        }
+    }
+
+    /**
+     * @param fieldSize size of the battlefield in [1, 26]
+     * @param length cell length of the ship
+     * @return the shared table for field size and ship length
+     */
+    public static PlacementTable of(int fieldSize, int length) {
+        return TABLES.computeIfAbsent(fieldSize << 8 | length, key -> new PlacementTable(fieldSize, length));
+    }
+
+    public int getFieldSize() {
+        return fieldSize;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return the number of slots in the table.
+     */
+    public int size() {
+        return cellMasks.length;
+    }
+
+    public int row(int slot) {
+        return rows[slot];
+    }
+
+    public int column(int slot) {
+        return columns[slot];
+    }
+
+    public boolean isRowAligned(int slot) {
+        return slot < rowAlignedSlots;
+    }
+
+    /**
+     * @return the slot, in which the ship starts at row and column given with the alignment given.
+     */
+    public int slot(int row, int column, boolean rowAligned) {
+        int extent = fieldSize - length + 1;
+        return rowAligned || length == 1 ? row * extent + column : rowAlignedSlots + column * extent + row;
+    }
+
+    /**
+     * @return true, if no cell of the slot is blocked.
+     */
+    public boolean fits(int slot, BlockedCells blocked) {
+        return isRowAligned(slot) ? blocked.isFreeInRow(rows[slot], cellMasks[slot])
+                : blocked.isFreeInColumn(columns[slot], cellMasks[slot]);
+    }
+
+    /**
+     * blocks the cells of the slot and the border of width 1 around them, as no other ship may touch a
+     * ship positioned in the slot.
+     */
+    public void block(int slot, BlockedCells blocked) {
+        int row = rows[slot];
+        int column = columns[slot];
+        int lastRow = isRowAligned(slot) ? row : row + length - 1;
+        int lastColumn = isRowAligned(slot) ? column + length - 1 : column;
+        blocked.blockRectangle(Math.max(0, row - 1), Math.min(fieldSize - 1, lastRow + 1),
+                Math.max(0, column - 1), Math.min(fieldSize - 1, lastColumn + 1));
+    }
+
+    /**
+     * sets position and alignment of the ship to the slot.
+     */
+    public void position(int slot, Battleship ship) {
+        ship.setRowAligned(isRowAligned(slot));
+        ship.setRow(rows[slot]);
+        ship.setColumn(columns[slot]);
+    }
+}
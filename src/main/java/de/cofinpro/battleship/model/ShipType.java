@@ -0,0 +1,14 @@
+package de.cofinpro.battleship.model;
+
+import lombok.Value;
+
+/**
+ * immutable definition of a ship - its name and cells (e.g. length). The ship types of a fleet template are
+ * shared by all games, while every Battleship only holds its own placement and hits.
+ */
+@Value
+public class ShipType {
+
+    String name;
+    int cells;
+}
@@ -0,0 +1,44 @@
+package de.cofinpro.battleship.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for hashing what a shooter observes of a battlefield: every cell (index row * field size + column)
+ * has a random 64 bit key per observation MISS, HIT (of a ship not sunk yet) and SUNK. The hash of an observed
+ * board is the XOR of the keys of its observed cells, so it is updated with one XOR per change and does not
+ * depend on the order of the shots. The keys are drawn from a fixed seed and thus equal in every run.
+ */
+public final class ZobristKeys {
+
+    public static final int MISS = 0;
+    public static final int HIT = 1;
+    public static final int SUNK = 2;
+
+    private static final int MAX_CELLS = 26 * 26;
+    private static final long[] KEYS = new SplittableRandom(0x5EA_BA77L).longs(3L * MAX_CELLS).toArray();
+
+    private ZobristKeys() {
+    }
+
+    /**
+     * @param cell the cell index row * field size + column
+     * @param observation MISS, HIT or SUNK
+     * @return the key of the observation at the cell
+     */
+    public static long key(int cell, int observation) {
+        return KEYS[observation * MAX_CELLS + cell];
+    }
+
+    /**
+     * @param cells bit board of cells (bit i is the cell index i)
+     * @param observation MISS, HIT or SUNK
+     * @return the XOR of the keys of the observation at all cells of the bit board
+     */
+    public static long hash(long cells, int observation) {
+        long hash = 0;
+        for (long remaining = cells; remaining != 0; remaining &= remaining - 1) {
+            hash ^= KEYS[observation * MAX_CELLS + Long.numberOfTrailingZeros(remaining)];
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,108 @@
+package de.cofinpro.battleship.server;
+
+import de.cofinpro.battleship.config.GameConfig;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * concurrent in-memory registry of the games of the HTTP API, keyed by their game id. The registry itself is
+ * thread safe; the games are not, so requests synchronize on the game they work on.
+ */
+class GameRegistry {
+
+    private final GameConfig config;
+    private final Map<String, HostedGame> games = new ConcurrentHashMap<>();
+    private final AtomicLong lastId = new AtomicLong();
+
+    GameRegistry(GameConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * creates and registers a new game.
+     * @return the id of the new game
+     */
+    String create() {
+        String id = Long.toString(lastId.incrementAndGet(), 36);
+        games.put(id, new HostedGame(config));
+        return id;
+    }
+
+    /**
+     * @return the game of the id given, null if there is none
+     */
+    HostedGame get(String id) {
+        return games.get(id);
+    }
+
+    /**
+     * @return true, if a game of the id given was removed
+     */
+    boolean remove(String id) {
+        return games.remove(id) != null;
+    }
+
+    int size() {
+        return games.size();
+    }
+
+    /**
+     * writes the snapshots of all games (see HostedGame.snapshot()) to the file given: the number of games,
+     * then per game its id and the length and bytes of its snapshot. The file is written beside and then moved
+     * over the previous checkpoint, so a crash while writing leaves the previous one intact.
+     * @param path the checkpoint file
+     * @return the number of games written
+     * @throws IOException if the file cannot be written
+     */
+    int checkpoint(Path path) throws IOException {
+        Map<String, byte[]> snapshots = new HashMap<>();
+        games.forEach((id, game) -> {
+            synchronized (game) {
+                snapshots.put(id, game.snapshot());
+            }
+        });
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(snapshots.size());
+            for (Map.Entry<String, byte[]> snapshot : snapshots.entrySet()) {
+                out.writeUTF(snapshot.getKey());
+                out.writeShort(snapshot.getValue().length);
+                out.write(snapshot.getValue());
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return snapshots.size();
+    }
+
+    /**
+     * registers the games of a checkpoint file - new ids continue after the highest restored one.
+     * @param path the checkpoint file
+     * @return the number of games restored
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a snapshot is corrupt
+     */
+    int restore(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String id = in.readUTF();
+                byte[] snapshot = new byte[in.readUnsignedShort()];
+                in.readFully(snapshot);
+                games.put(id, HostedGame.restore(config, snapshot));
+                lastId.accumulateAndGet(Long.parseLong(id, 36), Math::max);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package de.cofinpro.battleship.server;
+
+import de.cofinpro.battleship.config.GameConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TCP game server on the loopback interface, where every connected client plays against the computer
+ * (see HostedGame). Each connection is served by its own virtual thread with blocking IO, so thousands of
+ * concurrent games only cost their game state and a parked virtual thread each.
+ * The protocol is line based - after connecting the client receives "WELCOME size lengths" and then sends:
+ * <ul>
+ *     <li>PLACE from to - positions the next ship, answered by "OK name", "READY" after the last ship</li>
+ *     <li>PLACE RANDOM - positions all ships randomly, answered by "READY"</li>
+ *     <li>SHOOT cell - answered by "RESULT WON" or "RESULT result serverShot serverResult", where the results
+ *     are MISSED, HIT, SUNK or WON</li>
+ *     <li>NEW - starts a new game, answered by a new WELCOME line</li>
+ *     <li>QUIT - answered by "BYE", then the connection is closed</li>
+ * </ul>
+ * Invalid commands are answered by "ERROR reason".
+ */
+@Slf4j
+public class GameServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 7777;
+    private static final int BACKLOG = 4096;
+
+    private final GameConfig config;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicLong finishedGames = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * binds the server socket to the port given on the loopback interface.
+     * @param config the configuration of the hosted games
+     * @param port the port, 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public GameServer(GameConfig config, int port) throws IOException {
+        this.config = config;
+        serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    public long getFinishedGames() {
+        return finishedGames.get();
+    }
+
+    /**
+     * accepts connections on a virtual thread of its own and returns.
+     */
+    public void start() {
+        Thread.ofVirtual().name("game-server-accept").start(this::run);
+    }
+
+    /**
+     * accepts connections until the server is closed.
+     */
+    public void run() {
+        log.info("Battleship server listening on port " + getPort());
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> serve(socket));
+            } catch (IOException exception) {
+                if (!closed) {
+                    log.error("accepting a connection failed: " + exception.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * plays games with the client connected until it quits or disconnects.
+     */
+    void serve(Socket socket) {
+        openConnections.incrementAndGet();
+        try (socket;
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            HostedGame game = new HostedGame(config);
+            send(writer, game.welcome());
+            String line;
+            while (!game.isQuit() && (line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                boolean wasOver = game.isOver();
+                send(writer, game.respond(line));
+                if (game.isOver() && !wasOver) {
+                    finishedGames.incrementAndGet();
+                }
+            }
+        } catch (IOException exception) {
+            log.debug("connection closed: " + exception.getMessage());
+        } finally {
+            openConnections.decrementAndGet();
+        }
+    }
+
+    private static void send(BufferedWriter writer, String response) throws IOException {
+        writer.write(response);
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /**
+     * stops accepting and closes all open connections.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+}
@@ -0,0 +1,285 @@
+package de.cofinpro.battleship.server;
+
+import de.cofinpro.battleship.ai.ProbabilityDensityShooter;
+import de.cofinpro.battleship.config.GameConfig;
+import de.cofinpro.battleship.controller.UserSession;
+import de.cofinpro.battleship.events.GameEndEvent;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.PlacementRejection;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+import de.cofinpro.battleship.snapshot.GameSnapshot;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * one game hosted by the server for a client: the client's session plays against a session of the
+ * computer, that places its fleet randomly and answers every shot of the client with a shot of the
+ * ProbabilityDensityShooter. Both sessions are silent UserSessions, so the shot logic is the one of the console
+ * game. The game is driven by the protocol lines of a TCP client (see GameServer) or by the requests of the
+ * HTTP API (see HttpGameApi). It is not thread safe - callers sharing a game synchronize on it.
+ */
+class HostedGame {
+
+    /**
+     * the result of a client's shot and - unless the client won with it - the computer's answer.
+     */
+    @Value
+    static class Turn {
+        ShotResult result;
+        Shot answer;
+        ShotResult answerResult;
+    }
+
+    private final GameConfig config;
+    private UserSession client;
+    private UserSession computer;
+    private int placedShips;
+    private int shots;
+    private GameEndEvent game;
+    private boolean over;
+    private boolean quit;
+
+    HostedGame(GameConfig config) {
+        this.config = config;
+        newGame();
+    }
+
+    private HostedGame(GameConfig config, GameSnapshot snapshot) {
+        this.config = config;
+        newSessions();
+        client.restore(snapshot.getBattlefield(0), snapshot.getFleet(0));
+        computer.restore(snapshot.getBattlefield(1), snapshot.getFleet(1));
+        computer.resumeAsComputer(new ProbabilityDensityShooter(), client);
+        placedShips = client.getBattlefield().getShips().size();
+        over = isFleetPlaced() && (client.getFleet().isEmpty() || computer.getFleet().isEmpty());
+        game = startGame();
+    }
+
+    /**
+     * restores a game from its snapshot - the computer's shooter relearns its shots from the client's battlefield.
+     * @param config the configuration of the game
+     * @param snapshot the snapshot bytes (see snapshot())
+     * @return the restored game
+     * @throws IllegalArgumentException if the bytes are no snapshot of a game of this configuration
+     */
+    static HostedGame restore(GameConfig config, byte[] snapshot) {
+        return new HostedGame(config, GameSnapshot.decode(config.getFleetTemplate(), snapshot));
+    }
+
+    /**
+     * @return the compact snapshot of the game (see GameSnapshot) with the client as player 0 - it is always the
+     * client's turn between two requests.
+     */
+    byte[] snapshot() {
+        return GameSnapshot.encode(config.getFleetTemplate(), 0, client.getBattlefield(), computer.getBattlefield());
+    }
+
+    /**
+     * starts a new game with new sessions for client and computer.
+     * @return the welcome line of the new game
+     */
+    String newGame() {
+        newSessions();
+        computer.playAsComputer(new ProbabilityDensityShooter(), client);
+        computer.placeFleetRandomly();
+        placedShips = 0;
+        over = false;
+        game = startGame();
+        return welcome();
+    }
+
+    /**
+     * @return the JFR event of the game - the shots are counted from here, for a restored game from its restore.
+     */
+    private GameEndEvent startGame() {
+        shots = 0;
+        return GameEndEvent.startGame("server", config.getFieldSize(), config.getFleetTemplate().size());
+    }
+
+    private void newSessions() {
+        client = new UserSession("Client", config, SilentCommandLineUI.INSTANCE);
+        computer = new UserSession("Server", config, SilentCommandLineUI.INSTANCE);
+        client.setPlayerChangePrompts(false);
+        computer.setPlayerChangePrompts(false);
+    }
+
+    /**
+     * @return "WELCOME size lengths" - the lengths of the ships to place in the order to place them.
+     */
+    String welcome() {
+        return "WELCOME " + config.getFieldSize() + " " + shipLengths().stream()
+                .map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    int getFieldSize() {
+        return config.getFieldSize();
+    }
+
+    /**
+     * @return the lengths of the client's ships in the order to place them.
+     */
+    List<Integer> shipLengths() {
+        return config.getShipLengths();
+    }
+
+    Battlefield getClientBattlefield() {
+        return client.getBattlefield();
+    }
+
+    Battlefield getComputerBattlefield() {
+        return computer.getBattlefield();
+    }
+
+    boolean isFleetPlaced() {
+        return placedShips == config.getFleetTemplate().size();
+    }
+
+    /**
+     * @return true, if one side has won the current game.
+     */
+    boolean isOver() {
+        return over;
+    }
+
+    /**
+     * @return true, if the client has won the current game.
+     */
+    boolean isClientWinner() {
+        return over && computer.getFleet().isEmpty();
+    }
+
+    /**
+     * @return true, if the client has quit.
+     */
+    boolean isQuit() {
+        return quit;
+    }
+
+    /**
+     * executes a protocol command of the client.
+     * @param line the command line
+     * @return the response line
+     */
+    String respond(String line) {
+        String[] tokens = line.trim().split("\\s+");
+        String command = tokens[0].toUpperCase(Locale.ROOT);
+        try {
+            return switch (command) {
+                case "PLACE" -> tokens.length == 2 && "RANDOM".equalsIgnoreCase(tokens[1]) ? placeRandom()
+                        : tokens.length == 3 ? place(tokens[1], tokens[2])
+                        : "ERROR usage: PLACE <from> <to> | PLACE RANDOM";
+                case "SHOOT" -> tokens.length == 2 ? shoot(tokens[1]) : "ERROR usage: SHOOT <cell>";
+                case "NEW" -> newGame();
+                case "QUIT" -> {
+                    quit = true;
+                    yield "BYE";
+                }
+                default -> "ERROR unknown command " + command;
+            };
+        } catch (IllegalArgumentException | IllegalStateException exception) {
+            return "ERROR " + exception.getMessage();
+        }
+    }
+
+    /**
+     * positions the next ship of the client's fleet.
+     * @return "OK name" for a placed ship, "READY" after the last one
+     */
+    private String place(String from, String to) {
+        Battleship ship = placeNextShip(from, to);
+        return isFleetPlaced() ? "READY" : "OK " + ship.getName();
+    }
+
+    private String placeRandom() {
+        placeFleetRandomly();
+        return "READY";
+    }
+
+    /**
+     * @return "RESULT result" if the client won, else "RESULT result computerShot computerResult"
+     */
+    private String shoot(String token) {
+        Turn turn = fire(token);
+        if (turn.getAnswer() == null) {
+            return "RESULT " + turn.getResult();
+        }
+        return "RESULT " + turn.getResult() + " "
+                + Battlefield.positionToken(turn.getAnswer().getRow(), turn.getAnswer().getColumn()) + " "
+                + turn.getAnswerResult();
+    }
+
+    /**
+     * positions the next ship of the client's fleet at the positions given.
+     * @return the ship positioned
+     * @throws IllegalStateException if the fleet is placed already
+     * @throws IllegalArgumentException if the ship does not fit there - naming the validation, that rejected it
+     */
+    Battleship placeNextShip(String from, String to) {
+        if (isFleetPlaced()) {
+            throw new IllegalStateException("fleet already placed");
+        }
+        Battleship ship = client.getFleet().get(placedShips);
+        PlacementRejection rejection = client.positionShip(ship, List.of(from, to));
+        if (rejection != null) {
+            throw new IllegalArgumentException("cannot place " + ship.getName() + " (" + ship.getCells()
+                    + " cells) at " + from + " " + to + " - rejected by " + rejection.name().toLowerCase(Locale.ROOT));
+        }
+        placedShips++;
+        return ship;
+    }
+
+    /**
+     * positions the client's whole fleet randomly - ships placed before are placed anew.
+     * @throws IllegalStateException if the fleet is placed already
+     */
+    void placeFleetRandomly() {
+        if (isFleetPlaced()) {
+            throw new IllegalStateException("fleet already placed");
+        }
+        client.placeFleetRandomly();
+        placedShips = config.getFleetTemplate().size();
+    }
+
+    /**
+     * applies the client's shot to the computer's battlefield and - unless the client won - lets the computer
+     * shoot back.
+     * @param token the cell to shoot at, e.g. "B3"
+     * @return the turn
+     * @throws IllegalStateException if the fleet is not placed yet or the game is over
+     * @throws IllegalArgumentException if the token is no cell on the field
+     */
+    Turn fire(String token) {
+        if (!isFleetPlaced()) {
+            throw new IllegalStateException("place your fleet first");
+        }
+        if (over) {
+            throw new IllegalStateException("game over - start a new game");
+        }
+        int position = computer.getBattlefield().parsePosition(token);
+        if (position == Battlefield.NO_POSITION) {
+            throw new IllegalArgumentException(config.getErrorMsgWrongCoords());
+        }
+        ShotResult result = computer.applyShot(new Shot(Battlefield.positionRow(position),
+                Battlefield.positionColumn(position)));
+        shots++;
+        if (result == ShotResult.WON) {
+            over = true;
+            game.endGame(shots, "client");
+            return new Turn(result, null, null);
+        }
+        Shot answer = computer.shoots();
+        ShotResult answerResult = client.applyShot(answer);
+        computer.shotResult(answer, answerResult);
+        shots++;
+        over = answerResult == ShotResult.WON;
+        if (over) {
+            game.endGame(shots, "server");
+        }
+        return new Turn(result, answer, answerResult);
+    }
+}
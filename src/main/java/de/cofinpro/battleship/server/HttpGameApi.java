@@ -0,0 +1,267 @@
+package de.cofinpro.battleship.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.cofinpro.battleship.config.GameConfig;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.view.BattlefieldJson;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP/JSON API for games against the computer (see HostedGame) on the JDK's built-in HttpServer, which
+ * handles every exchange on a virtual thread. The games live in a GameRegistry between the requests:
+ * <ul>
+ *     <li>POST /games - creates a game: 201 {"id":..,"size":..,"ships":[lengths]}</li>
+ *     <li>GET /games/{id} - the board: own field in clear, the computer's field obscured (see BattlefieldJson)</li>
+ *     <li>POST /games/{id}/fleet - places the fleet: randomly for an empty body or "random", else the body holds
+ *     one line "from to" per ship to place next</li>
+ *     <li>POST /games/{id}/shots?cell=B3 - fires a shot, answered by the result and the computer's shot</li>
+ *     <li>DELETE /games/{id} - removes the game: 204</li>
+ * </ul>
+ * Errors are answered by {"error":message} with status 400 (invalid input), 404 (unknown game or path),
+ * 405 (method not allowed) or 409 (not possible in the game's state).
+ * The exchanges are small, so the server should run with -Dsun.net.httpserver.nodelay=true - without TCP_NODELAY
+ * every response waits for the delayed ACK (~40 ms). The JDK reads the property once, before the first server
+ * of the process is created; Main sets it for the "api" mode.
+ */
+@Slf4j
+public class HttpGameApi implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 4096;
+    private static final String GAMES = "/games";
+
+    private final GameRegistry registry;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * binds the HTTP server to the port given on the loopback interface.
+     * @param config the configuration of the games
+     * @param port the port, 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public HttpGameApi(GameConfig config, int port) throws IOException {
+        registry = new GameRegistry(config);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.setExecutor(executor);
+        server.createContext(GAMES, this::handle);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return the number of games currently registered.
+     */
+    public int getGames() {
+        return registry.size();
+    }
+
+    /**
+     * writes a checkpoint of all games to the file given, e.g. periodically while the server runs.
+     * @return the number of games written
+     * @throws IOException if the file cannot be written
+     */
+    public int checkpoint(Path path) throws IOException {
+        return registry.checkpoint(path);
+    }
+
+    /**
+     * registers the games of a checkpoint written before, e.g. after a restart.
+     * @return the number of games restored
+     * @throws IOException if the file cannot be read
+     */
+    public int restore(Path path) throws IOException {
+        return registry.restore(path);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Battleship HTTP API listening on port " + getPort());
+    }
+
+    /**
+     * stops the server immediately, open exchanges are closed.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                route(exchange);
+            } catch (NoSuchElementException exception) {
+                respond(exchange, 404, error(exception));
+            } catch (UnsupportedOperationException exception) {
+                respond(exchange, 405, error(exception));
+            } catch (IllegalStateException exception) {
+                respond(exchange, 409, error(exception));
+            } catch (IllegalArgumentException exception) {
+                respond(exchange, 400, error(exception));
+            }
+        }
+    }
+
+    /**
+     * dispatches on the path segments after /games: none, {id} or {id}/{resource}.
+     */
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String[] segments = path.length() <= GAMES.length() + 1 ? new String[0]
+                : path.substring(GAMES.length() + 1).split("/");
+        if (!path.equals(GAMES) && !path.startsWith(GAMES + "/") || segments.length > 2) {
+            throw new NoSuchElementException("unknown path " + path);
+        }
+        if (segments.length == 0) {
+            requireMethod(method, "POST");
+            createGame(exchange);
+            return;
+        }
+        String id = segments[0];
+        if (segments.length == 1) {
+            switch (method) {
+                case "GET" -> respond(exchange, 200, board(id, game(id)));
+                case "DELETE" -> {
+                    if (!registry.remove(id)) {
+                        throw new NoSuchElementException("unknown game " + id);
+                    }
+                    respond(exchange, 204, null);
+                }
+                default -> throw new UnsupportedOperationException("method " + method + " not allowed");
+            }
+            return;
+        }
+        requireMethod(method, "POST");
+        switch (segments[1]) {
+            case "fleet" -> placeFleet(exchange, game(id));
+            case "shots" -> fire(exchange, game(id));
+            default -> throw new NoSuchElementException("unknown path " + path);
+        }
+    }
+
+    private void createGame(HttpExchange exchange) throws IOException {
+        String id = registry.create();
+        HostedGame game = game(id);
+        StringBuilder json = new StringBuilder("{\"id\":\"").append(id).append("\",\"size\":")
+                .append(game.getFieldSize()).append(",\"ships\":[");
+        game.shipLengths().forEach(length -> json.append(length).append(','));
+        json.setLength(json.length() - 1);
+        respond(exchange, 201, json.append("]}").toString());
+    }
+
+    private void placeFleet(HttpExchange exchange, HostedGame game) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).trim();
+        String json;
+        synchronized (game) {
+            int placed = 0;
+            if (body.isEmpty() || "random".equalsIgnoreCase(body)) {
+                game.placeFleetRandomly();
+                placed = game.shipLengths().size();
+            } else {
+                for (String line : body.split("\\R")) {
+                    String[] tokens = line.trim().split("\\s+");
+                    if (tokens.length != 2) {
+                        throw new IllegalArgumentException("expected \"from to\" but got: " + line);
+                    }
+                    game.placeNextShip(tokens[0], tokens[1]);
+                    placed++;
+                }
+            }
+            json = "{\"placed\":" + placed + ",\"ready\":" + game.isFleetPlaced() + "}";
+        }
+        respond(exchange, 200, json);
+    }
+
+    private void fire(HttpExchange exchange, HostedGame game) throws IOException {
+        String query = exchange.getRequestURI().getQuery();
+        if (query == null || !query.startsWith("cell=")) {
+            throw new IllegalArgumentException("query parameter cell missing");
+        }
+        StringBuilder json = new StringBuilder(96);
+        synchronized (game) {
+            HostedGame.Turn turn = game.fire(query.substring("cell=".length()));
+            json.append("{\"result\":\"").append(turn.getResult()).append('"');
+            if (turn.getAnswer() != null) {
+                json.append(",\"answer\":\"")
+                        .append(Battlefield.positionToken(turn.getAnswer().getRow(), turn.getAnswer().getColumn()))
+                        .append("\",\"answerResult\":\"").append(turn.getAnswerResult()).append('"');
+            }
+            json.append(",\"over\":").append(game.isOver()).append('}');
+        }
+        respond(exchange, 200, json.toString());
+    }
+
+    /**
+     * renders the board of the game in compact JSON.
+     */
+    static String board(String id, HostedGame game) {
+        synchronized (game) {
+            StringBuilder json = new StringBuilder(64 + 4 * game.getFieldSize() * (game.getFieldSize() + 3));
+            json.append("{\"id\":\"").append(id).append("\",\"size\":").append(game.getFieldSize())
+                    .append(",\"ready\":").append(game.isFleetPlaced())
+                    .append(",\"over\":").append(game.isOver())
+                    .append(",\"winner\":").append(!game.isOver() ? "null"
+                            : game.isClientWinner() ? "\"client\"" : "\"server\"")
+                    .append(",\"own\":");
+            BattlefieldJson.appendRows(json, game.getClientBattlefield(), false).append(",\"target\":");
+            return BattlefieldJson.appendRows(json, game.getComputerBattlefield(), true).append('}').toString();
+        }
+    }
+
+    private HostedGame game(String id) {
+        HostedGame game = registry.get(id);
+        if (game == null) {
+            throw new NoSuchElementException("unknown game " + id);
+        }
+        return game;
+    }
+
+    private static void requireMethod(String method, String allowed) {
+        if (!allowed.equals(method)) {
+            throw new UnsupportedOperationException("method " + method + " not allowed");
+        }
+    }
+
+    private static String error(RuntimeException exception) {
+        StringBuilder json = new StringBuilder("{\"error\":\"");
+        for (char character : String.valueOf(exception.getMessage()).toCharArray()) {
+            if (character == '"' || character == '\\') {
+                json.append('\\').append(character);
+            } else if (character < ' ') {
+                json.append(String.format("\\u%04x", (int) character));
+            } else {
+                json.append(character);
+            }
+        }
+        return json.append("\"}").toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
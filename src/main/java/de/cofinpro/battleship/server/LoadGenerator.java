@@ -0,0 +1,133 @@
+package de.cofinpro.battleship.server;
+
+import de.cofinpro.battleship.ai.RandomShooter;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * local load generator for the GameServer: every client runs on a virtual thread with its own connection and
+ * plays its games one after the other - placing randomly and shooting with a RandomShooter. The round trip time
+ * of every SHOOT command is recorded as turn latency.
+ */
+public class LoadGenerator {
+
+    private final int port;
+    private final int clients;
+    private final int gamesPerClient;
+
+    /**
+     * @param port the port of the server on the loopback interface
+     * @param clients the number of concurrent clients
+     * @param gamesPerClient the number of games every client plays
+     */
+    public LoadGenerator(int port, int clients, int gamesPerClient) {
+        this.port = port;
+        this.clients = clients;
+        this.gamesPerClient = gamesPerClient;
+    }
+
+    /**
+     * runs all clients and waits for them to finish.
+     * @return the report of the run
+     * @throws IllegalStateException if a client failed
+     */
+    public LoadReport run() throws InterruptedException {
+        long start = System.nanoTime();
+        List<Future<long[]>> results = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                results.add(executor.submit(this::playGames));
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long[] turnNanos = new long[0];
+        for (Future<long[]> result : results) {
+            try {
+                long[] clientTurns = result.get();
+                int offset = turnNanos.length;
+                turnNanos = Arrays.copyOf(turnNanos, offset + clientTurns.length);
+                System.arraycopy(clientTurns, 0, turnNanos, offset, clientTurns.length);
+            } catch (ExecutionException exception) {
+                throw new IllegalStateException("load client failed", exception.getCause());
+            }
+        }
+        return new LoadReport((long) clients * gamesPerClient, elapsedNanos, turnNanos);
+    }
+
+    /**
+     * plays the games of one client.
+     * @return the turn latencies in nanoseconds
+     */
+    private long[] playGames() {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            RandomShooter shooter = new RandomShooter();
+            long[] turnNanos = new long[64];
+            int turns = 0;
+            String welcome = expect(reader, "WELCOME");
+            for (int game = 0; game < gamesPerClient; game++) {
+                if (game > 0) {
+                    welcome = request(writer, reader, "NEW", "WELCOME");
+                }
+                request(writer, reader, "PLACE RANDOM", "READY");
+                shooter.newGame(Integer.parseInt(welcome.split(" ")[1]), List.of());
+                boolean over = false;
+                while (!over) {
+                    Shot shot = shooter.nextShot();
+                    long sent = System.nanoTime();
+                    String[] result = request(writer, reader,
+                            "SHOOT " + Battlefield.positionToken(shot.getRow(), shot.getColumn()), "RESULT")
+                            .split(" ");
+                    if (turns == turnNanos.length) {
+                        turnNanos = Arrays.copyOf(turnNanos, 2 * turns);
+                    }
+                    turnNanos[turns++] = System.nanoTime() - sent;
+                    over = ShotResult.WON.name().equals(result[1])
+                            || ShotResult.WON.name().equals(result[result.length - 1]);
+                }
+            }
+            request(writer, reader, "QUIT", "BYE");
+            return Arrays.copyOf(turnNanos, turns);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static String request(BufferedWriter writer, BufferedReader reader, String command,
+                                  String expectedResponse) throws IOException {
+        writer.write(command);
+        writer.write('\n');
+        writer.flush();
+        return expect(reader, expectedResponse);
+    }
+
+    private static String expect(BufferedReader reader, String expectedResponse) throws IOException {
+        String response = reader.readLine();
+        if (response == null || !response.startsWith(expectedResponse)) {
+            throw new IOException("expected " + expectedResponse + " from server, but got: " + response);
+        }
+        return response;
+    }
+}
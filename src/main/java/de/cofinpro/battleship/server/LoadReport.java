@@ -0,0 +1,61 @@
+package de.cofinpro.battleship.server;
+
+import java.util.Arrays;
+
+/**
+ * result of a load generator run: the games played, the throughput in games per second and the distribution
+ * of the turn latencies, i.e. the round trip times of the SHOOT commands.
+ */
+public class LoadReport {
+
+    private final long games;
+    private final long elapsedNanos;
+    // sorted ascending
+    private final long[] turnNanos;
+
+    LoadReport(long games, long elapsedNanos, long[] turnNanos) {
+        this.games = games;
+        this.elapsedNanos = elapsedNanos;
+        this.turnNanos = turnNanos.clone();
+        Arrays.sort(this.turnNanos);
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getTurns() {
+        return turnNanos.length;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @param percentile the percentile in (0, 100]
+     * @return the smallest turn latency in nanoseconds, that at least the percentile of all turns did not exceed
+     */
+    public long turnLatencyPercentile(double percentile) {
+        if (turnNanos.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(turnNanos.length * percentile / 100);
+        return turnNanos[Math.max(0, Math.min(turnNanos.length, rank) - 1)];
+    }
+
+    /**
+     * @return printable multi line summary of the report.
+     */
+    public String summary() {
+        return String.format("%d games in %.3f s (%.0f games/s), %d turns%n"
+                        + "turn latency: p50 %.1f µs, p90 %.1f µs, p99 %.1f µs, max %.1f µs",
+                games, elapsedNanos / 1e9, gamesPerSecond(), turnNanos.length,
+                turnLatencyPercentile(50) / 1e3, turnLatencyPercentile(90) / 1e3,
+                turnLatencyPercentile(99) / 1e3, turnLatencyPercentile(100) / 1e3);
+    }
+}
@@ -0,0 +1,139 @@
+package de.cofinpro.battleship.server;
+
+import de.cofinpro.battleship.metrics.LatencyHistogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * lock-free matchmaking, that pairs players arriving concurrently and hands every pair to a game worker.
+ * Players are only paired within their bucket (e.g. a field size or fleet config). As any two players of a bucket
+ * match, at most one player per bucket is ever waiting - so a bucket's queue is a single slot, which arriving
+ * players either take the waiting player from or install themselves into with one compare-and-set. No thread
+ * blocks; contended players just retry. The pairs are then executed on the executor of the game workers.
+ * Metrics are kept in adders and the wait times in a LatencyHistogram, see getMetrics().
+ * @param <P> the type of the players
+ * @param <B> the type of the bucket keys
+ */
+public class Matchmaker<P, B> {
+
+    /**
+     * the game worker's task for a matched pair.
+     */
+    @FunctionalInterface
+    public interface MatchHandler<P> {
+        void play(P first, P second);
+    }
+
+    /**
+     * a player's place in the matchmaking, that can be cancelled as long as the player is waiting.
+     */
+    public static final class Ticket<P> {
+        private final P player;
+        private final long enqueuedNanos = System.nanoTime();
+        private volatile boolean matched;
+
+        private Ticket(P player) {
+            this.player = player;
+        }
+
+        public P getPlayer() {
+            return player;
+        }
+
+        public boolean isMatched() {
+            return matched;
+        }
+    }
+
+    private final Executor gameWorkers;
+    private final MatchHandler<P> handler;
+    private final Map<B, AtomicReference<Ticket<P>>> buckets = new ConcurrentHashMap<>();
+    private final LongAdder waitingPlayers = new LongAdder();
+    private final LongAdder pendingPairs = new LongAdder();
+    private final LongAdder pairings = new LongAdder();
+    // the wait of both players of every pair - the arriving player waits 0 nanoseconds
+    private final LatencyHistogram waits = new LatencyHistogram("matchmaking wait");
+
+    /**
+     * @param gameWorkers the executor, that runs the games of the pairs
+     * @param handler the game to run for every pair
+     */
+    public Matchmaker(Executor gameWorkers, MatchHandler<P> handler) {
+        this.gameWorkers = gameWorkers;
+        this.handler = handler;
+    }
+
+    /**
+     * lets the player wait for an opponent of the same bucket - or pairs it with the one waiting already.
+     * @param player the player
+     * @param bucket the bucket to match in
+     * @return the player's ticket, already matched if an opponent was waiting
+     */
+    public Ticket<P> enqueue(P player, B bucket) {
+        AtomicReference<Ticket<P>> slot = buckets.get(bucket);
+        if (slot == null) {
+            slot = buckets.computeIfAbsent(bucket, key -> new AtomicReference<>());
+        }
+        Ticket<P> ticket = new Ticket<>(player);
+        while (true) {
+            Ticket<P> waiting = slot.get();
+            if (waiting == null) {
+                if (slot.compareAndSet(null, ticket)) {
+                    waitingPlayers.increment();
+                    return ticket;
+                }
+            } else if (slot.compareAndSet(waiting, null)) {
+                waitingPlayers.decrement();
+                match(waiting, ticket);
+                return ticket;
+            }
+        }
+    }
+
+    /**
+     * takes a waiting player out of the matchmaking.
+     * @param ticket the player's ticket
+     * @param bucket the bucket the player waits in
+     * @return true, if the player was still waiting and is cancelled now - false, if it is matched already
+     */
+    public boolean cancel(Ticket<P> ticket, B bucket) {
+        AtomicReference<Ticket<P>> slot = buckets.get(bucket);
+        if (slot != null && slot.compareAndSet(ticket, null)) {
+            waitingPlayers.decrement();
+            return true;
+        }
+        return false;
+    }
+
+    private void match(Ticket<P> waiting, Ticket<P> arriving) {
+        waits.record(System.nanoTime() - waiting.enqueuedNanos);
+        waits.record(0);
+        waiting.matched = true;
+        arriving.matched = true;
+        pairings.increment();
+        pendingPairs.increment();
+        gameWorkers.execute(() -> {
+            pendingPairs.decrement();
+            handler.play(waiting.player, arriving.player);
+        });
+    }
+
+    /**
+     * @return the live histogram of the players' wait times, e.g. for other percentiles than in the metrics.
+     */
+    public LatencyHistogram getWaits() {
+        return waits;
+    }
+
+    /**
+     * @return a snapshot of the metrics - not atomic over all values, as players keep arriving.
+     */
+    public MatchmakingMetrics getMetrics() {
+        return new MatchmakingMetrics(waitingPlayers.sum(), pendingPairs.sum(), pairings.sum(),
+                waits.getMeanNanos(), waits.getP99Nanos(), waits.getMaxNanos());
+    }
+}
@@ -0,0 +1,30 @@
+package de.cofinpro.battleship.server;
+
+import lombok.Value;
+
+import java.util.Locale;
+
+/**
+ * snapshot of the metrics of a Matchmaker: the players waiting for an opponent, the matched pairs waiting for a
+ * game worker (the queue depth of the workers), the pairings so far and the players' wait times - taken from the
+ * matchmaker's LatencyHistogram.
+ */
+@Value
+public class MatchmakingMetrics {
+
+    long waitingPlayers;
+    long pendingPairs;
+    long pairings;
+    double meanWaitNanos;
+    long p99WaitNanos;
+    long maxWaitNanos;
+
+    /**
+     * @return printable one line summary of the metrics.
+     */
+    public String summary() {
+        return String.format(Locale.ROOT, "%d pairings, %d players waiting, %d pairs pending, "
+                        + "wait: mean %.1f µs, p99 %.1f µs, max %.1f µs", pairings, waitingPlayers, pendingPairs,
+                meanWaitNanos / 1e3, p99WaitNanos / 1e3, maxWaitNanos / 1e3);
+    }
+}
@@ -0,0 +1,37 @@
+package de.cofinpro.battleship.server;
+
+import de.cofinpro.battleship.view.CommandLineUI;
+
+/**
+ * command line UI of server hosted sessions, which neither print nor prompt - the client gets its answers
+ * through the line protocol only. Stateless, so one instance serves all games.
+ */
+class SilentCommandLineUI extends CommandLineUI {
+
+    static final SilentCommandLineUI INSTANCE = new SilentCommandLineUI();
+
+    @Override
+    public void info(String message) {
+        // silent
+    }
+
+    @Override
+    public void warn(String message) {
+        // silent
+    }
+
+    @Override
+    public void trace(String message) {
+        // silent
+    }
+
+    @Override
+    public void error(String message) {
+        // silent
+    }
+
+    @Override
+    public void promptForPlayerChange() {
+        // nobody to hand over to
+    }
+}
@@ -0,0 +1,15 @@
+package de.cofinpro.battleship.simulation;
+
+import lombok.Value;
+
+/**
+ * immutable result of a headless game: the winning player (0 starts the game, 1 is the opponent)
+ * and the shots fired by the winner and by both players together.
+ */
+@Value
+public class GameResult {
+
+    int winner;
+    int winnerShots;
+    int totalShots;
+}
@@ -0,0 +1,107 @@
+package de.cofinpro.battleship.simulation;
+
+import de.cofinpro.battleship.ai.Placer;
+import de.cofinpro.battleship.ai.Shooter;
+import de.cofinpro.battleship.events.GameEndEvent;
+import de.cofinpro.battleship.events.ShipPlacementEvent;
+import de.cofinpro.battleship.events.ShotEvent;
+import de.cofinpro.battleship.journal.GameJournal;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * a game between two computer players without any UI. It drives Battlefield and Battleship directly:
+ * both players position a new fleet with their placer and then shoot in turns with their shooter until
+ * one of them has sunk all ships of the opponent. An instance can play many games, but only in one thread.
+ * If a journal writer is set, the games are journaled with their fleets and shots.
+ */
+public class HeadlessGame {
+
+    private static final String[] PLAYERS = {"Player 1", "Player 2"};
+
+    private final int fieldSize;
+    private final List<Integer> shipLengths;
+    private final Placer[] placers;
+    private final Shooter[] shooters;
+    private final int maxShots;
+    private GameJournal.Writer journal;
+
+    public HeadlessGame(int fieldSize, List<Integer> shipLengths, Placer firstPlacer, Shooter firstShooter,
+                        Placer secondPlacer, Shooter secondShooter) {
+        this.fieldSize = fieldSize;
+        this.shipLengths = List.copyOf(shipLengths);
+        this.placers = new Placer[] {firstPlacer, secondPlacer};
+        this.shooters = new Shooter[] {firstShooter, secondShooter};
+        // a shooter, that needs more shots than there are cells twice, is caught in a loop
+        this.maxShots = 2 * fieldSize * fieldSize;
+    }
+
+    /**
+     * @param journal the writer to journal the games to (of the thread playing), null for none
+     */
+    public void setJournal(GameJournal.Writer journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * plays one game - the first player has the first shot.
+     * @return the result of the game
+     */
+    public GameResult play() {
+        GameEndEvent game = GameEndEvent.startGame("headless", fieldSize, shipLengths.size());
+        Battlefield[] battlefields = new Battlefield[2];
+        List<List<Battleship>> liveFleets = new ArrayList<>(2);
+        int gameId = journal == null ? 0 : journal.gameCreated(fieldSize, shipLengths.size());
+        for (int player = 0; player < 2; player++) {
+            List<Battleship> fleet = newFleet();
+            battlefields[player] = placers[player].placeFleet(fieldSize, fleet);
+            ShipPlacementEvent.fleetPositioned(fleet);
+            liveFleets.add(new ArrayList<>(fleet));
+            if (journal != null) {
+                for (Battleship ship : fleet) {
+                    journal.shipPlaced(gameId, player, ship);
+                }
+            }
+        }
+        shooters[0].newGame(fieldSize, liveFleets.get(1));
+        shooters[1].newGame(fieldSize, liveFleets.get(0));
+
+        int[] shots = new int[2];
+        for (int player = 0; ; player = 1 - player) {
+            int opponent = 1 - player;
+            Shot shot = shooters[player].nextShot();
+            ShotEvent event = new ShotEvent();
+            event.begin();
+            ShotResult result = battlefields[opponent].applyShot(shot);
+            event.shotApplied(shot, result);
+            if (result == ShotResult.SUNK || result == ShotResult.WON) {
+                liveFleets.get(opponent).remove(battlefields[opponent].shipAt(shot.getRow(), shot.getColumn()));
+            }
+            shooters[player].shotResult(shot, result);
+            shots[player]++;
+            if (journal != null) {
+                journal.shotFired(gameId, player, shots[0] + shots[1], shot, result);
+            }
+            if (result == ShotResult.WON) {
+                game.endGame(shots[0] + shots[1], PLAYERS[player]);
+                return new GameResult(player, shots[player], shots[0] + shots[1]);
+            }
+            if (shots[player] > maxShots) {
+                throw new IllegalStateException("no winner after " + maxShots + " shots of player " + player);
+            }
+        }
+    }
+
+    private List<Battleship> newFleet() {
+        List<Battleship> fleet = new ArrayList<>(shipLengths.size());
+        for (int i = 0; i < shipLengths.size(); i++) {
+            fleet.add(new Battleship("Ship " + (i + 1), shipLengths.get(i)));
+        }
+        return fleet;
+    }
+}
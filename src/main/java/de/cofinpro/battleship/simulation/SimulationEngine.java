@@ -0,0 +1,99 @@
+package de.cofinpro.battleship.simulation;
+
+import de.cofinpro.battleship.journal.GameJournal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * engine running many headless games of two computer strategies in parallel. The games are split evenly
+ * on a fixed pool of worker threads, each with its own placers, shooters and report, so the workers share
+ * no mutable state until their reports are merged. If a journal is set, every worker journals its games
+ * through a writer of its own.
+ */
+public class SimulationEngine {
+
+    private final int fieldSize;
+    private final List<Integer> shipLengths;
+    private final Strategy first;
+    private final Strategy second;
+    private GameJournal journal;
+
+    public SimulationEngine(int fieldSize, List<Integer> shipLengths, Strategy first, Strategy second) {
+        this.fieldSize = fieldSize;
+        this.shipLengths = List.copyOf(shipLengths);
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * @param journal the journal to record all games in, null for none
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * runs the games on all available cores.
+     * @param games number of games to play
+     * @return the merged report
+     */
+    public SimulationReport run(long games) {
+        return run(games, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * runs the games on the number of worker threads given.
+     * @param games number of games to play
+     * @param threads number of worker threads
+     * @return the merged report
+     */
+    public SimulationReport run(long games, int threads) {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<SimulationReport>> results = new ArrayList<>(threads);
+            for (int worker = 0; worker < threads; worker++) {
+                long workerGames = games / threads + (worker < games % threads ? 1 : 0);
+                results.add(workers.submit(() -> playGames(workerGames)));
+            }
+            SimulationReport report = new SimulationReport(fieldSize);
+            for (Future<SimulationReport> result : results) {
+                report.merge(result.get());
+            }
+            report.setElapsedNanos(System.nanoTime() - start);
+            return report;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("simulation interrupted", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("simulation failed", exception.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private SimulationReport playGames(long games) {
+        HeadlessGame game = new HeadlessGame(fieldSize, shipLengths,
+                first.getPlacerFactory().get(), first.getShooterFactory().get(),
+                second.getPlacerFactory().get(), second.getShooterFactory().get());
+        SimulationReport report = new SimulationReport(fieldSize);
+        if (journal == null) {
+            for (long i = 0; i < games; i++) {
+                report.record(game.play());
+            }
+            return report;
+        }
+        try (GameJournal.Writer writer = journal.writer()) {
+            game.setJournal(writer);
+            for (long i = 0; i < games; i++) {
+                report.record(game.play());
+            }
+        }
+        return report;
+    }
+}
@@ -0,0 +1,102 @@
+package de.cofinpro.battleship.simulation;
+
+import java.util.Arrays;
+
+/**
+ * aggregated statistics of a simulation run: wins per player, the distribution of the shots the winner needed
+ * (histogram indexed by shot count) and the throughput in games per second.
+ * Every worker fills its own report, which are merged at the end.
+ */
+public class SimulationReport {
+
+    private final long[] shotsToWin;
+    private final long[] wins = new long[2];
+    private long games;
+    private long elapsedNanos;
+
+    SimulationReport(int fieldSize) {
+        // a shooter never shooting twice at a cell wins with at most fieldSize^2 shots, more are clamped
+        shotsToWin = new long[fieldSize * fieldSize + 1];
+    }
+
+    void record(GameResult result) {
+        games++;
+        wins[result.getWinner()]++;
+        shotsToWin[Math.min(result.getWinnerShots(), shotsToWin.length - 1)]++;
+    }
+
+    void merge(SimulationReport other) {
+        games += other.games;
+        wins[0] += other.wins[0];
+        wins[1] += other.wins[1];
+        for (int i = 0; i < shotsToWin.length; i++) {
+            shotsToWin[i] += other.shotsToWin[i];
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @param player 0 for the first, 1 for the second player
+     * @return the number of games won by the player
+     */
+    public long getWins(int player) {
+        return wins[player];
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return copy of the histogram - element n is the number of games won with n shots.
+     */
+    public long[] getShotsToWinHistogram() {
+        return Arrays.copyOf(shotsToWin, shotsToWin.length);
+    }
+
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    public double meanShotsToWin() {
+        long sum = 0;
+        for (int shots = 0; shots < shotsToWin.length; shots++) {
+            sum += shots * shotsToWin[shots];
+        }
+        return games == 0 ? 0 : (double) sum / games;
+    }
+
+    /**
+     * @param percentile the percentile in (0, 100]
+     * @return the smallest number of shots, with which at least the percentile of all games were won
+     */
+    public int shotsToWinPercentile(double percentile) {
+        long threshold = (long) Math.ceil(games * percentile / 100);
+        long count = 0;
+        for (int shots = 0; shots < shotsToWin.length; shots++) {
+            count += shotsToWin[shots];
+            if (count >= threshold && count > 0) {
+                return shots;
+            }
+        }
+        return shotsToWin.length - 1;
+    }
+
+    /**
+     * @return printable multi line summary of the report.
+     */
+    public String summary() {
+        return String.format("%d games in %.3f s (%.0f games/s), wins %d : %d%n"
+                        + "shots to win: mean %.2f, min %d, p50 %d, p90 %d, p99 %d, max %d",
+                games, elapsedNanos / 1e9, gamesPerSecond(), wins[0], wins[1], meanShotsToWin(),
+                shotsToWinPercentile(Double.MIN_VALUE), shotsToWinPercentile(50), shotsToWinPercentile(90),
+                shotsToWinPercentile(99), shotsToWinPercentile(100));
+    }
+}
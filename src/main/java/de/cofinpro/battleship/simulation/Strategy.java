@@ -0,0 +1,19 @@
+package de.cofinpro.battleship.simulation;
+
+import de.cofinpro.battleship.ai.Placer;
+import de.cofinpro.battleship.ai.Shooter;
+import lombok.Value;
+
+import java.util.function.Supplier;
+
+/**
+ * a named pairing of placer and shooter for a computer player. As placers and shooters are not thread safe,
+ * the strategy holds factories and every simulation worker creates its own instances.
+ */
+@Value
+public class Strategy {
+
+    String name;
+    Supplier<Placer> placerFactory;
+    Supplier<Shooter> shooterFactory;
+}
@@ -0,0 +1,33 @@
+package de.cofinpro.battleship.snapshot;
+
+/**
+ * reads the values written by a BitWriter back in the same order and bit widths.
+ */
+class BitReader {
+
+    private final byte[] bytes;
+    private int bits;
+
+    BitReader(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * @return the next width bits as value
+     * @throws IllegalArgumentException if the bytes end before
+     */
+    int read(int width) {
+        if (bits + width > bytes.length * 8) {
+            throw new IllegalArgumentException("snapshot truncated after " + bytes.length + " bytes");
+        }
+        int value = 0;
+        for (int i = 0; i < width; i++, bits++) {
+            value |= (bytes[bits >>> 3] >>> (bits & 7) & 1) << i;
+        }
+        return value;
+    }
+
+    boolean readBoolean() {
+        return read(1) != 0;
+    }
+}
@@ -0,0 +1,48 @@
+package de.cofinpro.battleship.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * appends values of a given bit width to a growing byte array - least significant bits first.
+ */
+class BitWriter {
+
+    private byte[] bytes;
+    private int bits;
+
+    BitWriter(int expectedBytes) {
+        bytes = new byte[Math.max(1, expectedBytes)];
+    }
+
+    /**
+     * appends the lowest width bits of the value.
+     */
+    void write(int value, int width) {
+        for (int i = 0; i < width; i++, bits++) {
+            if (bits >>> 3 == bytes.length) {
+                bytes = Arrays.copyOf(bytes, 2 * bytes.length);
+            }
+            if ((value >>> i & 1) != 0) {
+                bytes[bits >>> 3] |= (byte) (1 << (bits & 7));
+            }
+        }
+    }
+
+    void write(boolean value) {
+        write(value ? 1 : 0, 1);
+    }
+
+    /**
+     * @return the bits written, padded with zeros to whole bytes.
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, (bits + 7) >>> 3);
+    }
+
+    /**
+     * @return the number of bits needed to write all values from 0 to maxValue.
+     */
+    static int width(int maxValue) {
+        return 32 - Integer.numberOfLeadingZeros(maxValue);
+    }
+}
@@ -0,0 +1,190 @@
+package de.cofinpro.battleship.snapshot;
+
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.ShipType;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.view.BattlefieldCell;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * compact snapshot of a game in progress - both battlefields with the ships, their hits and the misses, and the
+ * player whose turn it is - for checkpointing games and resuming them after a restart.
+ * The state is bit-packed (least significant bits first), with w = bits for the largest row index:
+ * <pre>
+ * version       8 bits  FORMAT_VERSION
+ * field size    5 bits
+ * turn          1 bit   the player to shoot next (0 or 1)
+ * per battlefield:
+ *   ships       bits for the fleet size  the number of ships positioned
+ *   per ship:   w bits row, w bits column, 1 bit row aligned, 1 bit per cell hit
+ *   misses      1 bit per cell without ship, row by row
+ * </pre>
+ * Names and lengths of the ships are not stored: the ships positioned on a battlefield are the first ships of
+ * the fleet template, in its order - as every session positions them. A 10x10 game with the classic fleet of
+ * 5 ships takes 39 bytes.
+ */
+public class GameSnapshot {
+
+    public static final int FORMAT_VERSION = 1;
+    private static final int MAX_FIELD_SIZE = 26;
+    private static final int FIELD_SIZE_BITS = BitWriter.width(MAX_FIELD_SIZE);
+
+    private final int turn;
+    private final List<Battlefield> battlefields;
+    private final List<List<Battleship>> fleets;
+
+    private GameSnapshot(int turn, List<Battlefield> battlefields, List<List<Battleship>> fleets) {
+        this.turn = turn;
+        this.battlefields = battlefields;
+        this.fleets = fleets;
+    }
+
+    /**
+     * @return the player to shoot next (0 or 1).
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * @param player the player (0 or 1)
+     * @return the restored battlefield of the player
+     */
+    public Battlefield getBattlefield(int player) {
+        return battlefields.get(player);
+    }
+
+    /**
+     * @param player the player (0 or 1)
+     * @return the live fleet of the player in template order: the positioned ships not sunk yet, followed by the
+     * ships still to position
+     */
+    public List<Battleship> getFleet(int player) {
+        return fleets.get(player);
+    }
+
+    /**
+     * packs the state of a game.
+     * @param fleetTemplate the fleet template of the game
+     * @param turn the player to shoot next (0 or 1)
+     * @param first the battlefield of player 0
+     * @param second the battlefield of player 1
+     * @return the snapshot bytes
+     * @throws IllegalArgumentException if the ships of a battlefield are not the first ships of the template
+     */
+    public static byte[] encode(List<ShipType> fleetTemplate, int turn, Battlefield first, Battlefield second) {
+        if (turn != 0 && turn != 1 || first.getSize() != second.getSize()) {
+            throw new IllegalArgumentException("no snapshot of turn " + turn + " on battlefields of size "
+                    + first.getSize() + " and " + second.getSize());
+        }
+        BitWriter writer = new BitWriter(16 + first.getSize() * first.getSize() / 4);
+        writer.write(FORMAT_VERSION, 8);
+        writer.write(first.getSize(), FIELD_SIZE_BITS);
+        writer.write(turn, 1);
+        encode(writer, fleetTemplate, first);
+        encode(writer, fleetTemplate, second);
+        return writer.toByteArray();
+    }
+
+    private static void encode(BitWriter writer, List<ShipType> fleetTemplate, Battlefield battlefield) {
+        List<Battleship> ships = battlefield.getShips();
+        if (ships.size() > fleetTemplate.size()) {
+            throw new IllegalArgumentException("more ships positioned than in the fleet template");
+        }
+        int positionWidth = BitWriter.width(battlefield.getSize() - 1);
+        writer.write(ships.size(), BitWriter.width(fleetTemplate.size()));
+        for (int i = 0; i < ships.size(); i++) {
+            Battleship ship = ships.get(i);
+            if (!ship.getType().equals(fleetTemplate.get(i))) {
+                throw new IllegalArgumentException("ship " + ship.getName() + " positioned out of template order");
+            }
+            writer.write(ship.getRow(), positionWidth);
+            writer.write(ship.getColumn(), positionWidth);
+            writer.write(ship.isRowAligned());
+            writer.write(ship.getHitMask(), ship.getCells());
+        }
+        for (int row = 0; row < battlefield.getSize(); row++) {
+            for (int column = 0; column < battlefield.getSize(); column++) {
+                if (!battlefield.hasShipAt(row, column)) {
+                    writer.write(battlefield.getCell(row, column) == BattlefieldCell.MISS);
+                }
+            }
+        }
+    }
+
+    /**
+     * restores the state of a game on new battlefields and ships.
+     * @param fleetTemplate the fleet template of the game, as given to encode
+     * @param snapshot the snapshot bytes
+     * @return the restored game state
+     * @throws IllegalArgumentException if the bytes are no snapshot of a game with this template
+     */
+    public static GameSnapshot decode(List<ShipType> fleetTemplate, byte[] snapshot) {
+        BitReader reader = new BitReader(snapshot);
+        int version = reader.read(8);
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("unsupported snapshot version " + version);
+        }
+        int fieldSize = reader.read(FIELD_SIZE_BITS);
+        if (fieldSize < 2 || fieldSize > MAX_FIELD_SIZE) {
+            throw new IllegalArgumentException("corrupt snapshot: field size " + fieldSize);
+        }
+        int turn = reader.read(1);
+        List<Battleship> firstFleet = new ArrayList<>(fleetTemplate.size());
+        Battlefield first = decode(reader, fleetTemplate, fieldSize, firstFleet);
+        List<Battleship> secondFleet = new ArrayList<>(fleetTemplate.size());
+        Battlefield second = decode(reader, fleetTemplate, fieldSize, secondFleet);
+        return new GameSnapshot(turn, List.of(first, second), List.of(firstFleet, secondFleet));
+    }
+
+    /**
+     * positions the ships first, as misses next to them would block the placement check, then applies the hits
+     * and misses as shots.
+     */
+    private static Battlefield decode(BitReader reader, List<ShipType> fleetTemplate, int fieldSize,
+                                      List<Battleship> fleet) {
+        Battlefield battlefield = new Battlefield(fieldSize);
+        int positionWidth = BitWriter.width(fieldSize - 1);
+        int positioned = reader.read(BitWriter.width(fleetTemplate.size()));
+        if (positioned > fleetTemplate.size()) {
+            throw new IllegalArgumentException("corrupt snapshot: " + positioned + " ships positioned");
+        }
+        int[] hitMasks = new int[positioned];
+        for (int i = 0; i < positioned; i++) {
+            Battleship ship = new Battleship(fleetTemplate.get(i));
+            ship.setRow(reader.read(positionWidth));
+            ship.setColumn(reader.read(positionWidth));
+            ship.setRowAligned(reader.readBoolean());
+            hitMasks[i] = reader.read(ship.getCells());
+            if (!battlefield.tryPositionShip(ship)) {
+                throw new IllegalArgumentException("corrupt snapshot: ship " + ship.getName() + " does not fit");
+            }
+        }
+        for (int i = 0; i < positioned; i++) {
+            Battleship ship = battlefield.getShips().get(i);
+            for (int cell = 0; cell < ship.getCells(); cell++) {
+                if ((hitMasks[i] & 1 << cell) != 0) {
+                    battlefield.applyShot(ship.isRowAligned() ? new Shot(ship.getRow(), ship.getColumn() + cell)
+                            : new Shot(ship.getRow() + cell, ship.getColumn()));
+                }
+            }
+            if (!ship.isSunk()) {
+                fleet.add(ship);
+            }
+        }
+        for (int i = positioned; i < fleetTemplate.size(); i++) {
+            fleet.add(new Battleship(fleetTemplate.get(i)));
+        }
+        for (int row = 0; row < fieldSize; row++) {
+            for (int column = 0; column < fieldSize; column++) {
+                if (!battlefield.hasShipAt(row, column) && reader.readBoolean()) {
+                    battlefield.applyShot(new Shot(row, column));
+                }
+            }
+        }
+        return battlefield;
+    }
+}
@@ -0,0 +1,194 @@
+package de.cofinpro.battleship.solver;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * the eight symmetries of a square field - identity, rotations by 90, 180 and 270 degrees, the mirrors at the
+ * vertical and horizontal middle axis and at the two diagonals - applied to bit boards of FleetLayouts. As ship
+ * positions and the distance rule of Battlefield are symmetric under all of them, symmetric boards have the same
+ * layouts and shot values.
+ * Every symmetry is a permutation of the cells, precomputed per byte of the bit board: a table holds for each byte
+ * position and each of its 256 values the permuted bits, so a board is transformed with one lookup per byte.
+ * The canonical form of a board (or of a triple of boards, as a KnowledgeState) is its image under the symmetry,
+ * that gives the (unsigned, lexicographically) smallest boards. Instances are shared and obtained by of(fieldSize).
+ */
+public final class BoardSymmetry {
+
+    public static final int SYMMETRIES = 8;
+    // all symmetries in a stabilizer mask
+    public static final int ALL = (1 << SYMMETRIES) - 1;
+
+    private static final ConcurrentMap<Integer, BoardSymmetry> SYMMETRIES_BY_SIZE = new ConcurrentHashMap<>();
+
+    private final int fieldSize;
+    private final int bytes;
+    // permuted bits per symmetry, byte position and byte value
+    private final long[] byteImages;
+    // permuted cell index per symmetry and cell
+    private final byte[] cellImages;
+
+    private BoardSymmetry(int fieldSize) {
+        this.fieldSize = fieldSize;
+        int cells = fieldSize * fieldSize;
+        bytes = (cells + 7) / 8;
+        cellImages = new byte[SYMMETRIES * cells];
+        for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+            for (int row = 0; row < fieldSize; row++) {
+                for (int column = 0; column < fieldSize; column++) {
+                    cellImages[symmetry * cells + row * fieldSize + column] = (byte) image(symmetry, row, column);
+                }
+            }
+        }
+        byteImages = new long[SYMMETRIES * bytes * 256];
+        for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+            for (int position = 0; position < bytes; position++) {
+                for (int value = 0; value < 256; value++) {
+                    long image = 0;
+                    for (int bit = 0; bit < 8 && 8 * position + bit < cells; bit++) {
+                        if ((value & 1 << bit) != 0) {
+                            image |= 1L << transformCell(8 * position + bit, symmetry);
+                        }
+                    }
+                    byteImages[(symmetry * bytes + position) * 256 + value] = image;
+                }
+            }
+        }
+    }
+
+    private int image(int symmetry, int row, int column) {
+        int last = fieldSize - 1;
+        return switch (symmetry) {
+            case 0 -> row * fieldSize + column;
+            case 1 -> column * fieldSize + last - row;
+            case 2 -> (last - row) * fieldSize + last - column;
+            case 3 -> (last - column) * fieldSize + row;
+            case 4 -> row * fieldSize + last - column;
+            case 5 -> (last - row) * fieldSize + column;
+            case 6 -> column * fieldSize + row;
+            default -> (last - column) * fieldSize + last - row;
+        };
+    }
+
+    /**
+     * @param fieldSize size of the battlefield in [2, 8]
+     * @return the shared symmetries of the field size
+     */
+    public static BoardSymmetry of(int fieldSize) {
+        if (fieldSize < 2 || fieldSize > FleetLayouts.MAX_FIELD_SIZE) {
+            throw new IllegalArgumentException("field size " + fieldSize + " not in [2, "
+                    + FleetLayouts.MAX_FIELD_SIZE + "]");
+        }
+        return SYMMETRIES_BY_SIZE.computeIfAbsent(fieldSize, BoardSymmetry::new);
+    }
+
+    public int getFieldSize() {
+        return fieldSize;
+    }
+
+    /**
+     * @param cell the cell index row * field size + column
+     * @param symmetry the symmetry in [0, 8), 0 is the identity
+     * @return the index of the cell, that the symmetry maps the cell to
+     */
+    public int transformCell(int cell, int symmetry) {
+        return cellImages[symmetry * fieldSize * fieldSize + cell];
+    }
+
+    /**
+     * @return the bit board with all cells mapped by the symmetry.
+     */
+    public long transform(long cells, int symmetry) {
+        long image = 0;
+        int table = symmetry * bytes * 256;
+        for (int position = 0; position < bytes; position++, table += 256) {
+            image |= byteImages[table + (int) (cells >>> 8 * position & 0xff)];
+        }
+        return image;
+    }
+
+    /**
+     * @return the symmetry, that maps the image of the symmetry given back.
+     */
+    public static int inverse(int symmetry) {
+        return symmetry == 1 ? 3 : symmetry == 3 ? 1 : symmetry;
+    }
+
+    /**
+     * @return the smallest image of the bit board under all symmetries - e.g. for the cells of a layout.
+     */
+    public long canonical(long cells) {
+        long canonical = cells;
+        for (int symmetry = 1; symmetry < SYMMETRIES; symmetry++) {
+            long image = transform(cells, symmetry);
+            if (Long.compareUnsigned(image, canonical) < 0) {
+                canonical = image;
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * finds the canonical symmetry of a triple of bit boards together with its stabilizer, i.e. the symmetries
+     * mapping the triple onto itself.
+     * @return the canonical form: the lowest 3 bits hold the symmetry mapping the triple to its smallest image
+     * (compared board by board), bits 8 to 15 the stabilizer mask with bit s set, if symmetry s maps the triple
+     * onto itself - see symmetryOf and stabilizerOf
+     */
+    public int canonicalForm(long first, long second, long third) {
+        int best = 0;
+        long bestFirst = first;
+        long bestSecond = second;
+        long bestThird = third;
+        int stabilizer = 1;
+        for (int symmetry = 1; symmetry < SYMMETRIES; symmetry++) {
+            long imageFirst = transform(first, symmetry);
+            int order = Long.compareUnsigned(imageFirst, bestFirst);
+            if (order > 0 && imageFirst != first) {
+                continue;
+            }
+            long imageSecond = transform(second, symmetry);
+            long imageThird = transform(third, symmetry);
+            if (imageFirst == first && imageSecond == second && imageThird == third) {
+                stabilizer |= 1 << symmetry;
+            }
+            if (order == 0) {
+                order = Long.compareUnsigned(imageSecond, bestSecond);
+                if (order == 0) {
+                    order = Long.compareUnsigned(imageThird, bestThird);
+                }
+            }
+            if (order < 0) {
+                best = symmetry;
+                bestFirst = imageFirst;
+                bestSecond = imageSecond;
+                bestThird = imageThird;
+            }
+        }
+        return stabilizer << 8 | best;
+    }
+
+    /**
+     * @return the canonical symmetry of a canonical form.
+     */
+    public static int symmetryOf(int canonicalForm) {
+        return canonicalForm & 0x7;
+    }
+
+    /**
+     * @return the stabilizer mask of a canonical form.
+     */
+    public static int stabilizerOf(int canonicalForm) {
+        return canonicalForm >>> 8;
+    }
+
+    /**
+     * @return the canonical representative of the state - the image of its misses, hits and sunk cells under its
+     * canonical symmetry.
+     */
+    public KnowledgeState canonical(KnowledgeState state) {
+        int symmetry = symmetryOf(canonicalForm(state.getMisses(), state.getHits(), state.getSunk()));
+        return symmetry == 0 ? state : new KnowledgeState(transform(state.getMisses(), symmetry),
+                transform(state.getHits(), symmetry), transform(state.getSunk(), symmetry));
+    }
+}
@@ -0,0 +1,385 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.ai.Shooter;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.DoubleAccumulator;
+
+/**
+ * exact solver of the shooting game on small battlefields: it computes the minimum expected number of shots to
+ * sink a fleet, whose layout is drawn uniformly from all its legal layouts (see FleetLayouts), and the shots of an
+ * optimal policy. This is the ground truth for evaluating heuristic shooters.
+ * The expected shots of a KnowledgeState are the minimum over the cells not shot yet of 1 plus the expected shots
+ * of the states after the shot, weighted by the number of layouts consistent with each result - a miss, a hit
+ * or the sinking of one of the ships through the cell. The search keeps the consistent layouts as an index array
+ * and memoises the value of every state solved in a TranspositionTable shared by all threads. The key of a state
+ * is the Zobrist hash of its canonical form under the symmetries of the field (see BoardSymmetry), with all cells
+ * without a ship in any consistent layout taken as misses - which merges symmetric states and the states of
+ * different shot histories with the same consistent layouts. Of the cells, that a symmetry of the state maps onto
+ * each other, only one is searched. The table has a fixed size, evicted states are solved again.
+ * The search orders the cells by the number of layouts with a ship on them and cuts off a cell as soon as its
+ * lower bound (every layout needs at least a shot per unhit ship cell) reaches the best cell so far. The cells of
+ * the first PARALLEL_DEPTH levels are searched as fork join tasks, sharing the best value found as bound.
+ * An instance is thread safe and keeps its table, so repeated queries are answered from it.
+ */
+public class ExactSolver {
+
+    static final int PARALLEL_DEPTH = 2;
+    public static final int DEFAULT_TABLE_CAPACITY = 1 << 20;
+
+    private final FleetLayouts layouts;
+    private final BoardSymmetry symmetry;
+    private final TranspositionTable table;
+    private final ForkJoinPool pool;
+    private final int parallelDepth;
+
+    /**
+     * @param fieldSize size of the battlefield in [2, 8]
+     * @param shipLengths the cell lengths of the ships
+     * @throws IllegalArgumentException if FleetLayouts cannot enumerate the fleet on the field
+     */
+    public ExactSolver(int fieldSize, List<Integer> shipLengths) {
+        this(fieldSize, shipLengths, new TranspositionTable(DEFAULT_TABLE_CAPACITY));
+    }
+
+    /**
+     * @param table the transposition table - only to be shared with solvers of the same field size and fleet
+     */
+    public ExactSolver(int fieldSize, List<Integer> shipLengths, TranspositionTable table) {
+        this(FleetLayouts.of(fieldSize, shipLengths), table, ForkJoinPool.commonPool(), PARALLEL_DEPTH);
+    }
+
+    ExactSolver(FleetLayouts layouts, TranspositionTable table, ForkJoinPool pool, int parallelDepth) {
+        this.layouts = layouts;
+        symmetry = BoardSymmetry.of(layouts.getFieldSize());
+        this.table = table;
+        this.pool = pool;
+        this.parallelDepth = parallelDepth;
+    }
+
+    public FleetLayouts getLayouts() {
+        return layouts;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return the number of states solved - states evicted from the table and solved again count twice.
+     */
+    public long getStates() {
+        return table.getStores();
+    }
+
+    /**
+     * @return the minimum expected number of shots to sink the fleet on an empty battlefield.
+     */
+    public double solve() {
+        return expectedShots(KnowledgeState.INITIAL);
+    }
+
+    /**
+     * @return the minimum expected number of shots still needed to sink the fleet in the state given.
+     * @throws IllegalArgumentException if no layout is consistent with the state
+     */
+    public double expectedShots(KnowledgeState state) {
+        int[] consistent = consistentLayouts(state);
+        return pool.invoke(ForkJoinTask.adapt(() -> expected(state.getHits(), state.getSunk(), consistent, 0)));
+    }
+
+    /**
+     * @return a shot of an optimal policy in the state given - the first of the best cells in row-major order.
+     * @throws IllegalArgumentException if no layout is consistent with the state
+     * @throws IllegalStateException if all ships are sunk in the state
+     */
+    public Shot bestShot(KnowledgeState state) {
+        int[] consistent = consistentLayouts(state);
+        int[] cells = candidateCells(state.shotCells(), consistent);
+        if (cells.length == 0) {
+            throw new IllegalStateException("all ships are sunk already");
+        }
+        Arrays.sort(cells);
+        int best = pool.invoke(ForkJoinTask.adapt(() -> {
+            int bestCell = cells[0];
+            double bestValue = Double.POSITIVE_INFINITY;
+            for (int cell : cells) {
+                double value = shotValue(state.getHits(), state.getSunk(), consistent, cell, bestValue, 0);
+                if (value < bestValue) {
+                    bestCell = cell;
+                    bestValue = value;
+                }
+            }
+            return bestCell;
+        }));
+        return new Shot(best / layouts.getFieldSize(), best % layouts.getFieldSize());
+    }
+
+    /**
+     * plays the shooter once against every layout and returns its average number of shots - for a deterministic
+     * shooter this is its exact expectation, to be compared with solve().
+     * @throws IllegalStateException if the shooter needs more than twice the cells of the field in a game
+     */
+    public double averageShots(Shooter shooter) {
+        int fieldSize = layouts.getFieldSize();
+        long shots = 0;
+        for (int layout = 0; layout < layouts.size(); layout++) {
+            Battlefield battlefield = new Battlefield(fieldSize);
+            List<Battleship> fleet = layouts.positionedShips(layout);
+            for (Battleship ship : fleet) {
+                if (!battlefield.tryPositionShip(ship)) {
+                    throw new IllegalStateException("layout " + layout + " is no legal layout");
+                }
+            }
+            List<Battleship> liveFleet = new ArrayList<>(fleet);
+            shooter.newGame(fieldSize, liveFleet);
+            ShotResult result;
+            int gameShots = 0;
+            do {
+                if (++gameShots > 2 * fieldSize * fieldSize) {
+                    throw new IllegalStateException("no win after " + (gameShots - 1) + " shots in layout " + layout);
+                }
+                Shot shot = shooter.nextShot();
+                result = battlefield.applyShot(shot);
+                if (result == ShotResult.SUNK || result == ShotResult.WON) {
+                    liveFleet.remove(battlefield.shipAt(shot.getRow(), shot.getColumn()));
+                }
+                shooter.shotResult(shot, result);
+            } while (result != ShotResult.WON);
+            shots += gameShots;
+        }
+        return (double) shots / layouts.size();
+    }
+
+    private int[] consistentLayouts(KnowledgeState state) {
+        long shot = state.shotCells();
+        int[] consistent = new int[layouts.size()];
+        int count = 0;
+        for (int layout = 0; layout < layouts.size(); layout++) {
+            if ((layouts.occupied(layout) & shot) == state.getHits()
+                    && sunkShips(layout, state.getHits()) == state.getSunk()) {
+                consistent[count++] = layout;
+            }
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("no layout of the fleet is consistent with " + state);
+        }
+        return Arrays.copyOf(consistent, count);
+    }
+
+    private long sunkShips(int layout, long hits) {
+        long sunk = 0;
+        for (int i = 0; i < layouts.getShips(); i++) {
+            long ship = layouts.ship(layout, i);
+            if ((ship & ~hits) == 0) {
+                sunk |= ship;
+            }
+        }
+        return sunk;
+    }
+
+    /**
+     * @return the cells not shot yet, on which at least one of the layouts has a ship - a cell sure to be a miss
+     * brings no information and is never worth a shot. The cells are ordered by descending number of layouts with
+     * a ship on them.
+     */
+    private int[] candidateCells(long shot, int[] consistent) {
+        int[] counts = new int[Long.SIZE];
+        for (int layout : consistent) {
+            for (long open = layouts.occupied(layout) & ~shot; open != 0; open &= open - 1) {
+                counts[Long.numberOfTrailingZeros(open)]++;
+            }
+        }
+        long[] ranked = new long[Long.SIZE];
+        int cells = 0;
+        for (int cell = 0; cell < Long.SIZE; cell++) {
+            if (counts[cell] > 0) {
+                ranked[cells++] = (long) -counts[cell] << 8 | cell;
+            }
+        }
+        Arrays.sort(ranked, 0, cells);
+        int[] ordered = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            ordered[i] = (int) (ranked[i] & 0xff);
+        }
+        return ordered;
+    }
+
+    /**
+     * @param cells the candidate cells in search order
+     * @param stabilizer the mask of the symmetries mapping the state onto itself
+     * @return the cells, that no symmetry of the stabilizer maps onto a cell before them - the shots at cells
+     * mapped onto each other lead to symmetric states of equal value
+     */
+    private int[] orbitRepresentatives(int[] cells, int stabilizer) {
+        if (stabilizer == 1) {
+            return cells;
+        }
+        int[] representatives = new int[cells.length];
+        int count = 0;
+        long taken = 0;
+        for (int cell : cells) {
+            boolean mapped = false;
+            for (int image = 1; image < BoardSymmetry.SYMMETRIES && !mapped; image++) {
+                mapped = (stabilizer & 1 << image) != 0 && (taken & 1L << symmetry.transformCell(cell, image)) != 0;
+            }
+            if (!mapped) {
+                representatives[count++] = cell;
+                taken |= 1L << cell;
+            }
+        }
+        return Arrays.copyOf(representatives, count);
+    }
+
+    /**
+     * @return the cells, on which no consistent layout has a ship and which are no hits - the misses of the state
+     * key.
+     */
+    private long deadCells(long hits, int[] consistent) {
+        long possible = 0;
+        for (int layout : consistent) {
+            possible |= layouts.occupied(layout);
+        }
+        return layouts.fieldMask() & ~(possible | hits);
+    }
+
+    /**
+     * @param consistent the layouts consistent with the hits and sunk ships - and the misses, that are not passed
+     * as they are a subset of the dead cells
+     */
+    private double expected(long hits, long sunk, int[] consistent, int depth) {
+        long dead = deadCells(hits, consistent);
+        int form = symmetry.canonicalForm(dead, hits, sunk);
+        int canonical = BoardSymmetry.symmetryOf(form);
+        long key = KnowledgeState.zobristHash(symmetry.transform(dead, canonical),
+                symmetry.transform(hits, canonical), symmetry.transform(sunk, canonical));
+        double known = table.probe(key);
+        if (!Double.isNaN(known)) {
+            return known;
+        }
+        int[] cells = orbitRepresentatives(candidateCells(dead | hits, consistent),
+                BoardSymmetry.stabilizerOf(form));
+        double best;
+        if (cells.length == 0) {
+            best = 0;
+        } else if (depth < parallelDepth && cells.length > 1) {
+            DoubleAccumulator bound = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(cells.length);
+            for (int cell : cells) {
+                tasks.add(ForkJoinTask.adapt(() -> bound.accumulate(
+                        shotValue(hits, sunk, consistent, cell, bound.get(), depth))));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            best = bound.get();
+        } else {
+            best = Double.POSITIVE_INFINITY;
+            for (int cell : cells) {
+                best = Math.min(best, shotValue(hits, sunk, consistent, cell, best, depth));
+            }
+        }
+        table.store(key, best, consistent.length);
+        return best;
+    }
+
+    /**
+     * @return the expected shots, if the cell is shot next, or positive infinity, if they are not below the bound.
+     */
+    private double shotValue(long hits, long sunk, int[] consistent, int cell, double bound, int depth) {
+        long bit = 1L << cell;
+        long hitsAfter = hits | bit;
+        // outcome per layout: 0 miss, 1 hit, 2 won, 3 + i sinking of the i-th distinct ship through the cell
+        byte[] outcomes = new byte[consistent.length];
+        long[] sunkShips = new long[4];
+        int groups = 3;
+        for (int i = 0; i < consistent.length; i++) {
+            int layout = consistent[i];
+            long occupied = layouts.occupied(layout);
+            if ((occupied & bit) == 0) {
+                continue;
+            }
+            if ((occupied & ~hitsAfter) == 0) {
+                outcomes[i] = 2;
+                continue;
+            }
+            long ship = shipThrough(layout, bit);
+            if ((ship & ~hitsAfter) != 0) {
+                outcomes[i] = 1;
+                continue;
+            }
+            int group = 3;
+            while (group < groups && sunkShips[group - 3] != ship) {
+                group++;
+            }
+            if (group == groups) {
+                if (groups - 3 == sunkShips.length) {
+                    sunkShips = Arrays.copyOf(sunkShips, 2 * sunkShips.length);
+                }
+                sunkShips[groups++ - 3] = ship;
+            }
+            outcomes[i] = (byte) group;
+        }
+
+        int[] sizes = new int[groups];
+        int[] lowerBounds = new int[groups];
+        Arrays.fill(lowerBounds, Integer.MAX_VALUE);
+        for (int i = 0; i < consistent.length; i++) {
+            int group = outcomes[i];
+            sizes[group]++;
+            long open = layouts.occupied(consistent[i]) & ~hitsAfter;
+            lowerBounds[group] = Math.min(lowerBounds[group], Long.bitCount(open));
+        }
+        double limit = bound * consistent.length;
+        double total = consistent.length;
+        for (int group = 0; group < groups; group++) {
+            if (sizes[group] > 0) {
+                total += (double) sizes[group] * lowerBounds[group];
+            }
+        }
+        if (total >= limit) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        int[] starts = new int[groups + 1];
+        for (int group = 0; group < groups; group++) {
+            starts[group + 1] = starts[group] + sizes[group];
+        }
+        int[] grouped = new int[consistent.length];
+        int[] next = Arrays.copyOf(starts, groups);
+        for (int i = 0; i < consistent.length; i++) {
+            grouped[next[outcomes[i]]++] = consistent[i];
+        }
+        for (int group = 0; group < groups; group++) {
+            if (sizes[group] == 0 || group == 2) {
+                continue;
+            }
+            int[] layoutsAfter = Arrays.copyOfRange(grouped, starts[group], starts[group + 1]);
+            double value = switch (group) {
+                case 0 -> expected(hits, sunk, layoutsAfter, depth + 1);
+                case 1 -> expected(hitsAfter, sunk, layoutsAfter, depth + 1);
+                default -> expected(hitsAfter, sunk | sunkShips[group - 3], layoutsAfter, depth + 1);
+            };
+            total += sizes[group] * (value - lowerBounds[group]);
+            if (total >= limit) {
+                return Double.POSITIVE_INFINITY;
+            }
+        }
+        return total / consistent.length;
+    }
+
+    private long shipThrough(int layout, long bit) {
+        for (int i = 0; ; i++) {
+            long ship = layouts.ship(layout, i);
+            if ((ship & bit) != 0) {
+                return ship;
+            }
+        }
+    }
+}
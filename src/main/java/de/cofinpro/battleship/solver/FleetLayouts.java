@@ -0,0 +1,210 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.PlacementTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * all legal layouts of a fleet on a small battlefield as bit boards: bit row * fieldSize + column of a long word
+ * is the cell (row, column), which supports field sizes up to 8. A layout positions every ship inside the field
+ * and - as Battlefield demands - without touching another ship, not even diagonally. Ships of equal length are
+ * interchangeable, so every set of ship positions is enumerated only once.
+ */
+public final class FleetLayouts {
+
+    public static final int MAX_FIELD_SIZE = 8;
+    static final int MAX_LAYOUTS = 1 << 22;
+
+    private final int fieldSize;
+    // ship lengths in descending order
+    private final int[] lengths;
+    private int layouts;
+    private long[] occupied = new long[64];
+    // cells of ship i of a layout at index layout * lengths.length + i
+    private long[] ships;
+
+    private FleetLayouts(int fieldSize, int[] lengths) {
+        this.fieldSize = fieldSize;
+        this.lengths = lengths;
+        ships = new long[occupied.length * lengths.length];
+    }
+
+    /**
+     * enumerates all layouts of the fleet.
+     * @param fieldSize size of the battlefield in [2, 8]
+     * @param shipLengths the cell lengths of the ships in any order
+     * @return the layouts
+     * @throws IllegalArgumentException if the field size is not supported, the fleet does not fit into the field
+     * or has more than MAX_LAYOUTS layouts
+     */
+    public static FleetLayouts of(int fieldSize, List<Integer> shipLengths) {
+        if (fieldSize < 2 || fieldSize > MAX_FIELD_SIZE) {
+            throw new IllegalArgumentException("field size " + fieldSize + " not in [2, " + MAX_FIELD_SIZE + "]");
+        }
+        int[] lengths = shipLengths.stream().mapToInt(Integer::intValue).map(length -> -length).sorted()
+                .map(length -> -length).toArray();
+        if (lengths.length == 0 || lengths[lengths.length - 1] < 1 || lengths[0] > fieldSize) {
+            throw new IllegalArgumentException("no fleet of ship lengths " + shipLengths + " for field size "
+                    + fieldSize);
+        }
+        FleetLayouts fleetLayouts = new FleetLayouts(fieldSize, lengths);
+        fleetLayouts.enumerate();
+        if (fleetLayouts.layouts == 0) {
+            throw new IllegalArgumentException("fleet " + shipLengths + " does not fit into field size " + fieldSize);
+        }
+        return fleetLayouts;
+    }
+
+    private void enumerate() {
+        long[][] slots = new long[lengths.length][];
+        long[][] surroundings = new long[lengths.length][];
+        for (int i = 0; i < lengths.length; i++) {
+            PlacementTable table = PlacementTable.of(fieldSize, lengths[i]);
+            slots[i] = new long[table.size()];
+            surroundings[i] = new long[table.size()];
+            for (int slot = 0; slot < table.size(); slot++) {
+                long cells = 0;
+                for (int cell = 0; cell < lengths[i]; cell++) {
+                    cells |= table.isRowAligned(slot) ? bit(table.row(slot), table.column(slot) + cell)
+                            : bit(table.row(slot) + cell, table.column(slot));
+                }
+                slots[i][slot] = cells;
+                surroundings[i][slot] = surrounding(cells);
+            }
+        }
+        place(0, 0, 0, new long[lengths.length], slots, surroundings);
+    }
+
+    /**
+     * positions ship i and the following ones in all free slots. A ship of the same length as its predecessor
+     * only takes slots after the predecessor's one.
+     */
+    private void place(int i, int firstSlot, long blocked, long[] current, long[][] slots, long[][] surroundings) {
+        if (i == lengths.length) {
+            add(current);
+            return;
+        }
+        for (int slot = i > 0 && lengths[i] == lengths[i - 1] ? firstSlot : 0; slot < slots[i].length; slot++) {
+            if ((slots[i][slot] & blocked) == 0) {
+                current[i] = slots[i][slot];
+                place(i + 1, slot + 1, blocked | surroundings[i][slot], current, slots, surroundings);
+            }
+        }
+    }
+
+    private void add(long[] current) {
+        if (layouts == MAX_LAYOUTS) {
+            throw new IllegalArgumentException("more than " + MAX_LAYOUTS + " layouts of the fleet "
+                    + Arrays.toString(lengths) + " on field size " + fieldSize);
+        }
+        if (layouts == occupied.length) {
+            occupied = Arrays.copyOf(occupied, 2 * layouts);
+            ships = Arrays.copyOf(ships, 2 * layouts * lengths.length);
+        }
+        long cells = 0;
+        for (int i = 0; i < current.length; i++) {
+            ships[layouts * lengths.length + i] = current[i];
+            cells |= current[i];
+        }
+        occupied[layouts++] = cells;
+    }
+
+    /**
+     * @return the cells given and all cells next to them, diagonals included.
+     */
+    long surrounding(long cells) {
+        long notFirstColumn = 0;
+        long notLastColumn = 0;
+        for (int row = 0; row < fieldSize; row++) {
+            notFirstColumn |= bit(row, 0);
+            notLastColumn |= bit(row, fieldSize - 1);
+        }
+        notFirstColumn = ~notFirstColumn;
+        notLastColumn = ~notLastColumn;
+        long rows = (cells | cells << 1 & notFirstColumn | cells >>> 1 & notLastColumn) & fieldMask();
+        return (rows | rows << fieldSize | rows >>> fieldSize) & fieldMask();
+    }
+
+    /**
+     * @return the bit board with all cells of the field set.
+     */
+    long fieldMask() {
+        return fieldSize == MAX_FIELD_SIZE ? -1L : (1L << fieldSize * fieldSize) - 1;
+    }
+
+    long bit(int row, int column) {
+        return 1L << row * fieldSize + column;
+    }
+
+    public int getFieldSize() {
+        return fieldSize;
+    }
+
+    /**
+     * @return the number of ships of the fleet.
+     */
+    public int getShips() {
+        return lengths.length;
+    }
+
+    /**
+     * @return the ship lengths in descending order.
+     */
+    public List<Integer> getLengths() {
+        return Arrays.stream(lengths).boxed().toList();
+    }
+
+    /**
+     * @return the number of layouts.
+     */
+    public int size() {
+        return layouts;
+    }
+
+    /**
+     * @return the number of layouts up to the symmetries of the field (see BoardSymmetry) - as ships never touch,
+     * the ship cells of a layout determine it, so the classes are counted by the canonical forms of these cells.
+     */
+    public int symmetryClasses() {
+        BoardSymmetry symmetry = BoardSymmetry.of(fieldSize);
+        long[] canonical = new long[layouts];
+        for (int layout = 0; layout < layouts; layout++) {
+            canonical[layout] = symmetry.canonical(occupied[layout]);
+        }
+        return (int) Arrays.stream(canonical).distinct().count();
+    }
+
+    /**
+     * @return the bit board of all ship cells of the layout.
+     */
+    public long occupied(int layout) {
+        return occupied[layout];
+    }
+
+    /**
+     * @return the bit board of the cells of the i-th ship (in descending length order) of the layout.
+     */
+    public long ship(int layout, int i) {
+        return ships[layout * lengths.length + i];
+    }
+
+    /**
+     * @return new ships positioned as in the layout, in descending length order.
+     */
+    public List<Battleship> positionedShips(int layout) {
+        List<Battleship> fleet = new ArrayList<>(lengths.length);
+        for (int i = 0; i < lengths.length; i++) {
+            long cells = ship(layout, i);
+            int first = Long.numberOfTrailingZeros(cells);
+            Battleship ship = new Battleship("Ship " + (i + 1), lengths[i]);
+            ship.setRow(first / fieldSize);
+            ship.setColumn(first % fieldSize);
+            ship.setRowAligned(lengths[i] == 1 || (cells & 1L << first + 1) != 0);
+            fleet.add(ship);
+        }
+        return fleet;
+    }
+}
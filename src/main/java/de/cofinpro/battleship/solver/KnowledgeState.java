@@ -0,0 +1,99 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+import de.cofinpro.battleship.model.ZobristKeys;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+/**
+ * what a shooter knows about the opponent's battlefield, as bit boards of FleetLayouts: the missed cells, the hit
+ * cells and - among the hits - the cells of the ships sunk. As ships never touch, the sunk ships are determined
+ * by the cells, so the state does not depend on the order of the shots.
+ * The state carries its Zobrist hash (see ZobristKeys), which afterShot updates incrementally - it equals the
+ * observed hash of a Battlefield with the same misses, hits and sunk ships.
+ */
+@Value
+public class KnowledgeState {
+
+    public static final KnowledgeState INITIAL = new KnowledgeState(0, 0, 0);
+
+    long misses;
+    long hits;
+    long sunk;
+    @EqualsAndHashCode.Exclude
+    long zobristHash;
+
+    public KnowledgeState(long misses, long hits, long sunk) {
+        this(misses, hits, sunk, zobristHash(misses, hits, sunk));
+    }
+
+    private KnowledgeState(long misses, long hits, long sunk, long zobristHash) {
+        this.misses = misses;
+        this.hits = hits;
+        this.sunk = sunk;
+        this.zobristHash = zobristHash;
+    }
+
+    /**
+     * @return the Zobrist hash of the bit boards of misses, hits (sunk ones included) and sunk ship cells.
+     */
+    public static long zobristHash(long misses, long hits, long sunk) {
+        return ZobristKeys.hash(misses, ZobristKeys.MISS) ^ ZobristKeys.hash(hits & ~sunk, ZobristKeys.HIT)
+                ^ ZobristKeys.hash(sunk, ZobristKeys.SUNK);
+    }
+
+    /**
+     * @return the bit board of all cells shot at.
+     */
+    public long shotCells() {
+        return misses | hits;
+    }
+
+    /**
+     * @param fieldSize the size of the battlefield
+     * @param shot the shot fired
+     * @param result the result of the shot
+     * @return the state after the shot. A sunk ship consists of the straight line of hit cells through the shot.
+     */
+    public KnowledgeState afterShot(int fieldSize, Shot shot, ShotResult result) {
+        int cell = shot.getRow() * fieldSize + shot.getColumn();
+        long bit = 1L << cell;
+        if ((shotCells() & bit) != 0) {
+            return this;
+        }
+        return switch (result) {
+            case MISSED -> new KnowledgeState(misses | bit, hits, sunk,
+                    zobristHash ^ ZobristKeys.key(cell, ZobristKeys.MISS));
+            case HIT -> new KnowledgeState(misses, hits | bit, sunk,
+                    zobristHash ^ ZobristKeys.key(cell, ZobristKeys.HIT));
+            case SUNK, WON -> {
+                long hitsAfter = hits | bit;
+                long ship = hitLine(hitsAfter, fieldSize, shot);
+                yield new KnowledgeState(misses, hitsAfter, sunk | ship, zobristHash
+                        ^ ZobristKeys.hash(ship & ~bit, ZobristKeys.HIT) ^ ZobristKeys.hash(ship, ZobristKeys.SUNK));
+            }
+            default -> throw new IllegalArgumentException("unexpected shot result " + result);
+        };
+    }
+
+    private static long hitLine(long hits, int fieldSize, Shot shot) {
+        long line = hitRun(hits, fieldSize, shot, true);
+        return Long.bitCount(line) > 1 ? line : hitRun(hits, fieldSize, shot, false);
+    }
+
+    private static long hitRun(long hits, int fieldSize, Shot shot, boolean rowAligned) {
+        int position = rowAligned ? shot.getColumn() : shot.getRow();
+        long run = 0;
+        for (int step = -1; step <= 1; step += 2) {
+            for (int i = position; i >= 0 && i < fieldSize; i += step) {
+                long bit = 1L << (rowAligned ? shot.getRow() * fieldSize + i : i * fieldSize + shot.getColumn());
+                if ((hits & bit) == 0) {
+                    break;
+                }
+                run |= bit;
+            }
+        }
+        return run;
+    }
+}
@@ -0,0 +1,452 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.config.GameConfig;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.BlockedCells;
+import de.cofinpro.battleship.model.PlacementTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * counting and enumeration of all legal layouts of a fleet on battlefields of any size - ships inside the field
+ * and not touching each other, not even diagonally, as Battlefield demands. Ships of equal length are
+ * interchangeable, so every set of ship positions is one layout (as in FleetLayouts).
+ * count() runs a dynamic programming over the cells in row-major order with a broken profile: the state holds a
+ * label per column of its last cell decided - water, a closed ship cell, a single ship cell or a vertical or
+ * horizontal ship run open to continue with its length so far - plus the cell above left and the ships of the
+ * fleet not completed yet. A ship is completed, when the cell after its run is water or the field ends, and
+ * takes a ship of the run's length from the fleet. Runs longer than the longest ship left and new runs beyond the
+ * number of ships left are cut off, so the default fleet on a 10x10 field is counted in about two seconds.
+ * stream() enumerates the layouts lazily as slots of the PlacementTables, one per ship in descending length
+ * order. Its Spliterator splits the slots of the first ship, so the stream enumerates in parallel.
+ */
+public final class LayoutEnumerator {
+
+    private static final int WATER = 0;
+    private static final int CLOSED = 1;
+    private static final int SINGLE = 2;
+
+    private final int fieldSize;
+    // ship lengths in descending order
+    private final int[] lengths;
+    private final PlacementTable[] tables;
+
+    private LayoutEnumerator(int fieldSize, int[] lengths) {
+        this.fieldSize = fieldSize;
+        this.lengths = lengths;
+        tables = Arrays.stream(lengths).mapToObj(length -> PlacementTable.of(fieldSize, length))
+                .toArray(PlacementTable[]::new);
+    }
+
+    /**
+     * @param fieldSize size of the battlefield in [1, 26]
+     * @param shipLengths the cell lengths of the ships in any order
+     * @throws IllegalArgumentException if the field size or a ship length is not supported
+     */
+    public static LayoutEnumerator of(int fieldSize, List<Integer> shipLengths) {
+        if (fieldSize < 1 || fieldSize > 26) {
+            throw new IllegalArgumentException("field size " + fieldSize + " not in [1, 26]");
+        }
+        int[] lengths = shipLengths.stream().mapToInt(Integer::intValue).map(length -> -length).sorted()
+                .map(length -> -length).toArray();
+        if (lengths.length == 0 || lengths[lengths.length - 1] < 1 || lengths[0] > fieldSize) {
+            throw new IllegalArgumentException("no fleet of ship lengths " + shipLengths + " for field size "
+                    + fieldSize);
+        }
+        return new LayoutEnumerator(fieldSize, lengths);
+    }
+
+    /**
+     * @return the enumerator of the field size and fleet of the configuration - see PropertyManager.
+     */
+    public static LayoutEnumerator of(GameConfig config) {
+        return of(config.getFieldSize(), config.getShipLengths());
+    }
+
+    public int getFieldSize() {
+        return fieldSize;
+    }
+
+    /**
+     * @return the ship lengths in descending order.
+     */
+    public List<Integer> getLengths() {
+        return Arrays.stream(lengths).boxed().toList();
+    }
+
+    /**
+     * counts the layouts by the profile dynamic programming.
+     * @return the number of layouts
+     * @throws IllegalArgumentException if the profile states of field width and fleet do not fit into 63 bits
+     * @throws ArithmeticException if the number exceeds a long
+     */
+    public long count() {
+        return new ProfileCounter().count();
+    }
+
+    /**
+     * @return a lazy, parallelisable stream of all layouts - each an array of the PlacementTable slots of the
+     * ships in descending length order. Ships of equal length take ascending slots.
+     */
+    public Stream<int[]> stream() {
+        return StreamSupport.stream(new LayoutSpliterator(0, tables[0].size()), false);
+    }
+
+    /**
+     * @return new ships positioned in the slots of a layout of the stream, in descending length order.
+     */
+    public List<Battleship> positionedShips(int[] layout) {
+        List<Battleship> fleet = new ArrayList<>(lengths.length);
+        for (int i = 0; i < lengths.length; i++) {
+            Battleship ship = new Battleship("Ship " + (i + 1), lengths[i]);
+            tables[i].position(layout[i], ship);
+            fleet.add(ship);
+        }
+        return fleet;
+    }
+
+    /**
+     * the dynamic programming of count(). The labels of the profile are WATER, CLOSED (a ship cell, that no ship
+     * cell may follow to the right or below), SINGLE (a ship cell open in both directions), vertical runs of
+     * length k in [2, maxLength] (k + 1) and horizontal runs (maxLength + k). The fleet not completed yet is a
+     * mixed radix number of the remaining ships per distinct length in the bits above the labels.
+     */
+    private class ProfileCounter {
+
+        private final int maxLength = lengths[0];
+        private final int labelBits = Integer.SIZE - Integer.numberOfLeadingZeros(2 * maxLength);
+        private final long labelMask = (1L << labelBits) - 1;
+        // the label above left is kept after the column labels
+        private final int fleetShift = (fieldSize + 1) * labelBits;
+        // fleet radix and number of ships per ship length, 0 for lengths not in the fleet
+        private final long[] radix = new long[maxLength + 1];
+        private final int[] ships = new int[maxLength + 1];
+        private long fullFleet;
+        // the longest ship length and the number of ships left per fleet, to cut off runs no ship is left for
+        private final int[] longestLeft;
+        private final int[] shipsLeft;
+
+        ProfileCounter() {
+            long base = 1;
+            for (int i = 0; i < lengths.length; i++) {
+                int length = lengths[i];
+                ships[length]++;
+                if (i == lengths.length - 1 || lengths[i + 1] != length) {
+                    radix[length] = base;
+                    fullFleet += ships[length] * base;
+                    base *= ships[length] + 1;
+                }
+            }
+            if (fleetShift + Long.SIZE - Long.numberOfLeadingZeros(base - 1) > 63) {
+                throw new IllegalArgumentException("profile of field size " + fieldSize + " and fleet "
+                        + Arrays.toString(lengths) + " exceeds 63 bits");
+            }
+            longestLeft = new int[(int) base];
+            shipsLeft = new int[(int) base];
+            for (int fleet = 0; fleet < base; fleet++) {
+                for (int length = 1; length <= maxLength; length++) {
+                    long left = radix[length] == 0 ? 0 : fleet / radix[length] % (ships[length] + 1);
+                    if (left > 0) {
+                        longestLeft[fleet] = length;
+                        shipsLeft[fleet] += (int) left;
+                    }
+                }
+            }
+        }
+
+        long count() {
+            StateCounts current = new StateCounts();
+            StateCounts next = new StateCounts();
+            current.add(fullFleet << fleetShift, 1);
+            for (int cell = 0; cell < fieldSize * fieldSize; cell++) {
+                next.clear();
+                for (int i = 0; i < current.capacity(); i++) {
+                    if (current.keys[i] != StateCounts.EMPTY) {
+                        step(current.keys[i], current.counts[i], cell % fieldSize, next);
+                    }
+                }
+                StateCounts decided = next;
+                next = current;
+                current = decided;
+            }
+            long total = 0;
+            for (int i = 0; i < current.capacity(); i++) {
+                if (current.keys[i] != StateCounts.EMPTY && completeAll(current.keys[i]) == 0) {
+                    total = Math.addExact(total, current.counts[i]);
+                }
+            }
+            return total;
+        }
+
+        /**
+         * decides the cell at the column - water or ship - and at the end of a row completes its horizontal run.
+         */
+        private void step(long state, long count, int column, StateCounts next) {
+            int up = label(state, column);
+            int left = column > 0 ? label(state, column - 1) : WATER;
+            int upLeft = column > 0 ? label(state, fieldSize) : WATER;
+            int upRight = column < fieldSize - 1 ? label(state, column + 1) : WATER;
+
+            long water = complete(state, up, false);
+            if (water >= 0 && isHorizontal(left)) {
+                water = complete(withLabel(water, column - 1, CLOSED), left, true);
+            }
+            if (water >= 0) {
+                addAfterCell(next, withLabel(withLabel(water, fieldSize, shipOrWater(up)), column, WATER), column,
+                        count);
+            }
+
+            if (upLeft != WATER || upRight != WATER || up == CLOSED || isHorizontal(up)
+                    || left == CLOSED || isVertical(left)) {
+                return;
+            }
+            boolean fromAbove = up != WATER;
+            boolean fromLeft = left != WATER;
+            long ship = withLabel(state, fieldSize, shipOrWater(up));
+            if (fromAbove && fromLeft) {
+                return;
+            } else if (fromAbove) {
+                int length = runLength(up) + 1;
+                if (length > longestLeft[(int) (state >>> fleetShift)]) {
+                    return;
+                }
+                ship = withLabel(ship, column, length + 1);
+            } else if (fromLeft) {
+                int length = runLength(left) + 1;
+                if (length > longestLeft[(int) (state >>> fleetShift)]) {
+                    return;
+                }
+                ship = withLabel(withLabel(ship, column - 1, CLOSED), column, maxLength + length);
+            } else if (openRuns(state) < shipsLeft[(int) (state >>> fleetShift)]) {
+                ship = withLabel(ship, column, SINGLE);
+            } else {
+                return;
+            }
+            addAfterCell(next, ship, column, count);
+        }
+
+        /**
+         * adds the state after the cell decided - at the end of a row with the horizontal run of the last cell
+         * completed and the cell above left cleared.
+         */
+        private void addAfterCell(StateCounts next, long state, int column, long count) {
+            if (column == fieldSize - 1) {
+                int last = label(state, column);
+                if (isHorizontal(last)) {
+                    state = complete(withLabel(state, column, CLOSED), last, true);
+                    if (state < 0) {
+                        return;
+                    }
+                }
+                state = withLabel(state, fieldSize, WATER);
+            }
+            next.add(state, count);
+        }
+
+        /**
+         * @return the fleet left after completing the vertical runs and single cells of the last row - negative,
+         * if the fleet has no ships left for them.
+         */
+        private long completeAll(long state) {
+            for (int column = 0; column < fieldSize && state >= 0; column++) {
+                state = complete(state, label(state, column), false);
+            }
+            return state < 0 ? state : state >>> fleetShift;
+        }
+
+        /**
+         * @param horizontal true to complete a horizontal run, false for a vertical run or single cell
+         * @return the state with the ship of the run completed (or unchanged, if the label is no such run), or -1,
+         * if the fleet has no ship of the run's length left
+         */
+        private long complete(long state, int label, boolean horizontal) {
+            if (horizontal ? !isHorizontal(label) : !isVertical(label) && label != SINGLE) {
+                return state;
+            }
+            int length = runLength(label);
+            if (radix[length] == 0 || (state >>> fleetShift) / radix[length] % (ships[length] + 1) == 0) {
+                return -1;
+            }
+            return state - (radix[length] << fleetShift);
+        }
+
+        /**
+         * @return the number of ship runs of the profile not completed yet - each takes a ship of the fleet left.
+         */
+        private int openRuns(long state) {
+            int runs = 0;
+            for (int column = 0; column < fieldSize; column++) {
+                runs += label(state, column) > CLOSED ? 1 : 0;
+            }
+            return runs;
+        }
+
+        /**
+         * @return WATER or CLOSED - of the cell above left only its occupation matters.
+         */
+        private int shipOrWater(int label) {
+            return label == WATER ? WATER : CLOSED;
+        }
+
+        private boolean isVertical(int label) {
+            return label > SINGLE && label <= maxLength + 1;
+        }
+
+        private boolean isHorizontal(int label) {
+            return label > maxLength + 1;
+        }
+
+        private int runLength(int label) {
+            return label == SINGLE ? 1 : isVertical(label) ? label - 1 : label - maxLength;
+        }
+
+        private int label(long state, int position) {
+            return (int) (state >>> position * labelBits & labelMask);
+        }
+
+        private long withLabel(long state, int position, int label) {
+            int shift = position * labelBits;
+            return state & ~(labelMask << shift) | (long) label << shift;
+        }
+    }
+
+    /**
+     * open addressing hash map of the profile states to their number of partial layouts.
+     */
+    private static class StateCounts {
+
+        static final long EMPTY = -1;
+
+        long[] keys = newKeys(1 << 10);
+        long[] counts = new long[keys.length];
+        private int size;
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        /**
+         * removes all states - keeping the capacity.
+         */
+        void clear() {
+            if (size > 0) {
+                Arrays.fill(keys, EMPTY);
+                Arrays.fill(counts, 0);
+                size = 0;
+            }
+        }
+
+        void add(long key, long count) {
+            if (2 * size >= keys.length) {
+                long[] oldKeys = keys;
+                long[] oldCounts = counts;
+                keys = newKeys(2 * oldKeys.length);
+                counts = new long[keys.length];
+                size = 0;
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != EMPTY) {
+                        add(oldKeys[i], oldCounts[i]);
+                    }
+                }
+            }
+            int mask = keys.length - 1;
+            int index = (int) (key * 0x9E3779B97F4A7C15L >>> Long.numberOfLeadingZeros(mask)) & mask;
+            while (keys[index] != EMPTY && keys[index] != key) {
+                index = index + 1 & mask;
+            }
+            if (keys[index] == EMPTY) {
+                keys[index] = key;
+                size++;
+            }
+            counts[index] = Math.addExact(counts[index], count);
+        }
+    }
+
+    /**
+     * depth-first enumeration of the layouts, whose first ship is in the slot range [from, to) - split in halves
+     * of the untouched first slots.
+     */
+    private class LayoutSpliterator implements Spliterator<int[]> {
+
+        private final int[] slots = new int[lengths.length];
+        private final BlockedCells[] blocked = new BlockedCells[lengths.length];
+        private int to;
+        private int level;
+
+        LayoutSpliterator(int from, int to) {
+            this.to = to;
+            for (int i = 0; i < lengths.length; i++) {
+                blocked[i] = new BlockedCells(fieldSize);
+            }
+            slots[0] = from - 1;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super int[]> action) {
+            if (!advance()) {
+                return false;
+            }
+            action.accept(slots.clone());
+            return true;
+        }
+
+        /**
+         * moves to the next layout - the slot of the ship at level is the one to advance.
+         * @return false, if there is none
+         */
+        private boolean advance() {
+            while (level >= 0) {
+                int slot = ++slots[level];
+                if (slot >= (level == 0 ? to : tables[level].size())) {
+                    level--;
+                } else if (tables[level].fits(slot, blocked[level])) {
+                    if (level == lengths.length - 1) {
+                        return true;
+                    }
+                    blocked[level + 1].copyFrom(blocked[level]);
+                    tables[level].block(slot, blocked[level + 1]);
+                    level++;
+                    slots[level] = lengths[level] == lengths[level - 1] ? slot : -1;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<int[]> trySplit() {
+            int from = level < 0 ? to : slots[0] + 1;
+            if (to - from < 2) {
+                return null;
+            }
+            int middle = (from + to) >>> 1;
+            LayoutSpliterator suffix = new LayoutSpliterator(middle, to);
+            to = middle;
+            return suffix;
+        }
+
+        /**
+         * @return Long.MAX_VALUE - the number of layouts is unknown.
+         */
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | NONNULL | IMMUTABLE;
+        }
+    }
+}
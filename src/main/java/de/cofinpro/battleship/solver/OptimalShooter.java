@@ -0,0 +1,43 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.ai.Shooter;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * shooter following the optimal policy of an ExactSolver. It only plays the field size and fleet of its solver,
+ * whose transposition table fills up with the states of the games played.
+ */
+public class OptimalShooter implements Shooter {
+
+    private final ExactSolver solver;
+    private KnowledgeState state = KnowledgeState.INITIAL;
+
+    public OptimalShooter(ExactSolver solver) {
+        this.solver = solver;
+    }
+
+    @Override
+    public void newGame(int fieldSize, List<Battleship> opponentFleet) {
+        List<Integer> lengths = opponentFleet.stream().map(Battleship::getCells).sorted(Comparator.reverseOrder())
+                .toList();
+        if (fieldSize != solver.getLayouts().getFieldSize() || !lengths.equals(solver.getLayouts().getLengths())) {
+            throw new IllegalArgumentException("solver is not for fleet " + lengths + " on field size " + fieldSize);
+        }
+        state = KnowledgeState.INITIAL;
+    }
+
+    @Override
+    public Shot nextShot() {
+        return solver.bestShot(state);
+    }
+
+    @Override
+    public void shotResult(Shot shot, ShotResult result) {
+        state = state.afterShot(solver.getLayouts().getFieldSize(), shot, result);
+    }
+}
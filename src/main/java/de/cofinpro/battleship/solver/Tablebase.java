@@ -0,0 +1,243 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * precomputed optimal policy of an ExactSolver in a file: for every knowledge state, that the policy reaches
+ * against any layout of the fleet, the best next shot and the expected shots still needed. Symmetric states
+ * (see BoardSymmetry) share one entry, keyed by the Zobrist hash of the canonical state, with the shot given in
+ * the canonical state's cells. The file (big endian) consists of a header and the entries sorted by key:
+ * <pre>
+ *  0  magic          int    MAGIC
+ *  4  version        byte   VERSION
+ *  5  field size     byte
+ *  6  ships          byte
+ *  7  ship lengths   byte   per ship, in descending order
+ *  7 + ships  entries  int
+ * 11 + ships  entries of RECORD_SIZE bytes: key long, expected shots float, cell byte
+ * </pre>
+ * The tablebase is generated offline, with the games against all layouts played in parallel, and looked up in
+ * the memory-mapped file by binary search - without objects on the heap per entry. An instance is thread safe.
+ */
+public final class Tablebase {
+
+    public static final int MAGIC = 0x42535442;
+    static final byte VERSION = 1;
+    static final int RECORD_SIZE = 13;
+
+    private final int fieldSize;
+    private final List<Integer> lengths;
+    private final BoardSymmetry symmetry;
+    private final MappedByteBuffer buffer;
+    private final int recordsOffset;
+    private final int entries;
+
+    private Tablebase(int fieldSize, List<Integer> lengths, MappedByteBuffer buffer, int recordsOffset,
+                      int entries) {
+        this.fieldSize = fieldSize;
+        this.lengths = lengths;
+        symmetry = BoardSymmetry.of(fieldSize);
+        this.buffer = buffer;
+        this.recordsOffset = recordsOffset;
+        this.entries = entries;
+    }
+
+    private record Entry(byte cell, float expectedShots) {
+    }
+
+    /**
+     * plays the optimal policy of the solver against every layout of its fleet and writes the states reached to
+     * the tablebase file, which is overwritten if it exists.
+     * @return the number of entries written
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if two canonical states have the same key
+     */
+    public static int generate(ExactSolver solver, Path path) throws IOException {
+        FleetLayouts layouts = solver.getLayouts();
+        BoardSymmetry symmetry = BoardSymmetry.of(layouts.getFieldSize());
+        Map<KnowledgeState, Entry> policy = new ConcurrentHashMap<>();
+        IntStream.range(0, layouts.size()).parallel().forEach(layout -> play(solver, symmetry, policy, layout));
+
+        KnowledgeState[] states = policy.keySet().toArray(KnowledgeState[]::new);
+        Arrays.sort(states, (first, second) -> Long.compare(first.getZobristHash(), second.getZobristHash()));
+        int ships = layouts.getShips();
+        ByteBuffer content = ByteBuffer.allocate(11 + ships + states.length * RECORD_SIZE);
+        content.putInt(MAGIC).put(VERSION).put((byte) layouts.getFieldSize()).put((byte) ships);
+        layouts.getLengths().forEach(length -> content.put(length.byteValue()));
+        content.putInt(states.length);
+        for (int i = 0; i < states.length; i++) {
+            long key = states[i].getZobristHash();
+            if (i > 0 && key == states[i - 1].getZobristHash()) {
+                throw new IllegalStateException("states " + states[i - 1] + " and " + states[i] + " share a key");
+            }
+            Entry entry = policy.get(states[i]);
+            content.putLong(key).putFloat(entry.expectedShots()).put(entry.cell());
+        }
+        content.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        }
+        return states.length;
+    }
+
+    /**
+     * plays the policy against the layout - following the entries already in the policy, so the states reached
+     * are those of a lookup at runtime.
+     */
+    private static void play(ExactSolver solver, BoardSymmetry symmetry, Map<KnowledgeState, Entry> policy,
+                             int layout) {
+        FleetLayouts layouts = solver.getLayouts();
+        int fieldSize = layouts.getFieldSize();
+        long occupied = layouts.occupied(layout);
+        KnowledgeState state = KnowledgeState.INITIAL;
+        ShotResult result;
+        do {
+            int form = symmetry.canonicalForm(state.getMisses(), state.getHits(), state.getSunk());
+            int canonical = BoardSymmetry.symmetryOf(form);
+            KnowledgeState key = canonical(symmetry, state, canonical);
+            Entry entry = policy.get(key);
+            if (entry == null) {
+                Shot shot = solver.bestShot(state);
+                int cell = symmetry.transformCell(shot.getRow() * fieldSize + shot.getColumn(), canonical);
+                Entry computed = new Entry((byte) cell, (float) solver.expectedShots(state));
+                entry = policy.putIfAbsent(key, computed);
+                entry = entry == null ? computed : entry;
+            }
+            int cell = symmetry.transformCell(entry.cell(), BoardSymmetry.inverse(canonical));
+            result = resultOf(layouts, layout, state.getHits() | 1L << cell, cell);
+            state = state.afterShot(fieldSize, new Shot(cell / fieldSize, cell % fieldSize), result);
+        } while ((occupied & ~state.getHits()) != 0);
+    }
+
+    private static ShotResult resultOf(FleetLayouts layouts, int layout, long hitsAfter, int cell) {
+        long occupied = layouts.occupied(layout);
+        if ((occupied & 1L << cell) == 0) {
+            return ShotResult.MISSED;
+        }
+        if ((occupied & ~hitsAfter) == 0) {
+            return ShotResult.WON;
+        }
+        for (int i = 0; i < layouts.getShips(); i++) {
+            long ship = layouts.ship(layout, i);
+            if ((ship & 1L << cell) != 0) {
+                return (ship & ~hitsAfter) == 0 ? ShotResult.SUNK : ShotResult.HIT;
+            }
+        }
+        throw new IllegalStateException("no ship at cell " + cell + " of layout " + layout);
+    }
+
+    private static KnowledgeState canonical(BoardSymmetry symmetry, KnowledgeState state, int canonical) {
+        return canonical == 0 ? state : new KnowledgeState(symmetry.transform(state.getMisses(), canonical),
+                symmetry.transform(state.getHits(), canonical), symmetry.transform(state.getSunk(), canonical));
+    }
+
+    /**
+     * maps the tablebase file read-only into memory.
+     * @throws IOException if the file cannot be read or is no tablebase
+     */
+    public static Tablebase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("tablebase " + path + " exceeds 2 GB");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < 11 || buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+                throw new IOException(path + " is no tablebase of version " + VERSION);
+            }
+            int ships = buffer.get(6);
+            List<Integer> lengths = new ArrayList<>(ships);
+            for (int i = 0; i < ships; i++) {
+                lengths.add((int) buffer.get(7 + i));
+            }
+            int entries = buffer.getInt(7 + ships);
+            int recordsOffset = 11 + ships;
+            if ((long) recordsOffset + (long) entries * RECORD_SIZE != buffer.limit()) {
+                throw new IOException("tablebase " + path + " is truncated");
+            }
+            return new Tablebase(buffer.get(5), List.copyOf(lengths), buffer, recordsOffset, entries);
+        }
+    }
+
+    public int getFieldSize() {
+        return fieldSize;
+    }
+
+    /**
+     * @return the ship lengths of the fleet in descending order.
+     */
+    public List<Integer> getLengths() {
+        return lengths;
+    }
+
+    /**
+     * @return the number of entries.
+     */
+    public int size() {
+        return entries;
+    }
+
+    /**
+     * @return the best shot in the state or null, if the state is not in the tablebase.
+     */
+    public Shot bestShot(KnowledgeState state) {
+        int form = symmetry.canonicalForm(state.getMisses(), state.getHits(), state.getSunk());
+        int canonical = BoardSymmetry.symmetryOf(form);
+        int offset = find(canonicalKey(state, canonical));
+        if (offset < 0) {
+            return null;
+        }
+        int cell = symmetry.transformCell(buffer.get(offset + 12), BoardSymmetry.inverse(canonical));
+        return new Shot(cell / fieldSize, cell % fieldSize);
+    }
+
+    /**
+     * @return the expected shots still needed in the state or NaN, if the state is not in the tablebase.
+     */
+    public double expectedShots(KnowledgeState state) {
+        int form = symmetry.canonicalForm(state.getMisses(), state.getHits(), state.getSunk());
+        int offset = find(canonicalKey(state, BoardSymmetry.symmetryOf(form)));
+        return offset < 0 ? Double.NaN : buffer.getFloat(offset + 8);
+    }
+
+    private long canonicalKey(KnowledgeState state, int canonical) {
+        return KnowledgeState.zobristHash(symmetry.transform(state.getMisses(), canonical),
+                symmetry.transform(state.getHits(), canonical), symmetry.transform(state.getSunk(), canonical));
+    }
+
+    /**
+     * @return the byte offset of the record of the key or -1.
+     */
+    private int find(long key) {
+        int low = 0;
+        int high = entries - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleKey = buffer.getLong(recordsOffset + middle * RECORD_SIZE);
+            if (middleKey < key) {
+                low = middle + 1;
+            } else if (middleKey > key) {
+                high = middle - 1;
+            } else {
+                return recordsOffset + middle * RECORD_SIZE;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,51 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.ai.Shooter;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * shooter playing the optimal policy stored in a Tablebase - a lookup per shot, no search. It only plays the field
+ * size and fleet of its tablebase.
+ */
+public class TablebaseShooter implements Shooter {
+
+    private final Tablebase tablebase;
+    private KnowledgeState state = KnowledgeState.INITIAL;
+
+    public TablebaseShooter(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    @Override
+    public void newGame(int fieldSize, List<Battleship> opponentFleet) {
+        List<Integer> lengths = opponentFleet.stream().map(Battleship::getCells).sorted(Comparator.reverseOrder())
+                .toList();
+        if (fieldSize != tablebase.getFieldSize() || !lengths.equals(tablebase.getLengths())) {
+            throw new IllegalArgumentException("tablebase is not for fleet " + lengths + " on field size "
+                    + fieldSize);
+        }
+        state = KnowledgeState.INITIAL;
+    }
+
+    /**
+     * @throws IllegalStateException if the state is not in the tablebase - the policy never reaches it
+     */
+    @Override
+    public Shot nextShot() {
+        Shot shot = tablebase.bestShot(state);
+        if (shot == null) {
+            throw new IllegalStateException("no entry for " + state + " in the tablebase");
+        }
+        return shot;
+    }
+
+    @Override
+    public void shotResult(Shot shot, ShotResult result) {
+        state = state.afterShot(tablebase.getFieldSize(), shot, result);
+    }
+}
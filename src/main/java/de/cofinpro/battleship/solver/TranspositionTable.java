@@ -0,0 +1,161 @@
+package de.cofinpro.battleship.solver;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * fixed-size, lock-free cache of search results per 64 bit state key (e.g. a Zobrist hash), shared by all worker
+ * threads. The entries are grouped in buckets of two, indexed by the low bits of the key: the first entry keeps
+ * the result of most work and is only replaced by results of at least as much work - it is then moved to the
+ * second entry, which always takes the newest result otherwise.
+ * An entry consists of three words - check, value and work - written without locks. The check word is the XOR of
+ * the key and the two others, so a lookup recognises an entry torn by concurrent writes (or of another key) as
+ * not matching and treats it as missing. Two states with the same key cannot be told apart, which for 64 bit
+ * Zobrist keys is vanishingly unlikely.
+ * Probes, hits, collisions (probes finding the bucket taken by other keys) and replacements (stores overwriting
+ * the entry of another key) are counted.
+ */
+public class TranspositionTable {
+
+    private static final int WORDS = 3;
+    private static final int BUCKET = 2;
+
+    private final AtomicLongArray entries;
+    private final int bucketMask;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder replacements = new LongAdder();
+
+    /**
+     * @param capacity the number of entries - rounded up to a power of two, at least 2
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 1 || capacity > 1 << 26) {
+            throw new IllegalArgumentException("transposition table capacity " + capacity + " not in [1, 2^26]");
+        }
+        int buckets = Math.max(BUCKET, Integer.highestOneBit(capacity - 1) << 1) / BUCKET;
+        entries = new AtomicLongArray(buckets * BUCKET * WORDS);
+        bucketMask = buckets - 1;
+    }
+
+    /**
+     * @return the number of entries.
+     */
+    public int getCapacity() {
+        return entries.length() / WORDS;
+    }
+
+    /**
+     * @param key the key of the state
+     * @return the value stored for the key or NaN, if there is none
+     */
+    public double probe(long key) {
+        probes.increment();
+        int entry = bucket(key);
+        boolean occupied = false;
+        for (int i = 0; i < BUCKET; i++, entry += WORDS) {
+            long check = entries.get(entry);
+            long value = entries.get(entry + 1);
+            long work = entries.get(entry + 2);
+            if (work != 0 && (check ^ value ^ work) == key) {
+                hits.increment();
+                return Double.longBitsToDouble(value);
+            }
+            occupied |= work != 0;
+        }
+        if (occupied) {
+            collisions.increment();
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * stores the value of a state.
+     * @param key the key of the state
+     * @param value the value
+     * @param work the effort of computing the value (e.g. the size of the searched tree), at least 1
+     */
+    public void store(long key, double value, long work) {
+        if (work < 1) {
+            throw new IllegalArgumentException("work " + work + " is below 1");
+        }
+        stores.increment();
+        long bits = Double.doubleToRawLongBits(value);
+        int first = bucket(key);
+        int second = first + WORDS;
+        long firstWork = entries.get(first + 2);
+        long firstKey = entries.get(first) ^ entries.get(first + 1) ^ firstWork;
+        if (firstWork != 0 && firstKey == key) {
+            write(first, key, bits, Math.max(work, firstWork));
+        } else if (work >= firstWork) {
+            long secondWork = entries.get(second + 2);
+            long secondKey = entries.get(second) ^ entries.get(second + 1) ^ secondWork;
+            if (firstWork != 0) {
+                // the previous result of most work moves to the always replaced entry
+                countReplacement(secondWork, secondKey, key);
+                write(second, firstKey, entries.get(first + 1), firstWork);
+            } else if (secondWork != 0 && secondKey == key) {
+                write(second, 0, 0, 0);
+            }
+            write(first, key, bits, work);
+        } else {
+            long secondWork = entries.get(second + 2);
+            countReplacement(secondWork, entries.get(second) ^ entries.get(second + 1) ^ secondWork, key);
+            write(second, key, bits, work);
+        }
+    }
+
+    private void countReplacement(long work, long storedKey, long key) {
+        if (work != 0 && storedKey != key) {
+            replacements.increment();
+        }
+    }
+
+    private void write(int entry, long key, long bits, long work) {
+        entries.set(entry + 2, work);
+        entries.set(entry + 1, bits);
+        entries.set(entry, work == 0 ? 0 : key ^ bits ^ work);
+    }
+
+    private int bucket(long key) {
+        return (int) (key & bucketMask) * BUCKET * WORDS;
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    public long getReplacements() {
+        return replacements.sum();
+    }
+
+    /**
+     * @return the share of probes, that found a value - 0 without probes.
+     */
+    public double getHitRate() {
+        long probed = getProbes();
+        return probed == 0 ? 0 : (double) getHits() / probed;
+    }
+
+    /**
+     * @return one line with capacity, hit rate and the counters.
+     */
+    public String summary() {
+        return String.format("capacity %d, probes %d, hit rate %.1f%%, collisions %d, stores %d, replacements %d",
+                getCapacity(), getProbes(), 100 * getHitRate(), getCollisions(), getStores(), getReplacements());
+    }
+}
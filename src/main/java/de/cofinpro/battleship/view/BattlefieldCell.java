@@ -11,7 +11,7 @@ public enum BattlefieldCell {
     SHIP(PropertyManager.getProperty("own-ship-symbol")),
     HIT(PropertyManager.getProperty("hit-symbol")),
     MISS(PropertyManager.getProperty("miss-symbol"));
-    private String cellSymbol;
+    private final String cellSymbol;
 
     BattlefieldCell(String symbol) {
         this.cellSymbol = symbol;
@@ -20,8 +20,4 @@ public enum BattlefieldCell {
     public String getCellSymbol() {
         return cellSymbol;
     }
-
-    void setCellSymbol(String newCellSymbol) {
-        this.cellSymbol = newCellSymbol;
-    }
 }
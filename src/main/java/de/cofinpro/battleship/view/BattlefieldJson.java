@@ -0,0 +1,49 @@
+package de.cofinpro.battleship.view;
+
+import de.cofinpro.battleship.model.Battlefield;
+
+/**
+ * compact JSON rendering of the battlefield model for the HTTP API: a JSON array of the rows, each row a string
+ * with one character per cell - '.' water, 'O' ship, 'X' hit and 'M' miss. Like in BattlefieldUI, the clear and
+ * the obscured view just differ in their symbol tables indexed by the cell's ordinal, the obscured one showing
+ * ships as water.
+ */
+public class BattlefieldJson {
+
+    private static final char[] CLEAR_SYMBOLS = new char[BattlefieldCell.values().length];
+    private static final char[] OBSCURED_SYMBOLS = new char[BattlefieldCell.values().length];
+
+    static {
+        CLEAR_SYMBOLS[BattlefieldCell.WATER.ordinal()] = '.';
+        CLEAR_SYMBOLS[BattlefieldCell.SHIP.ordinal()] = 'O';
+        CLEAR_SYMBOLS[BattlefieldCell.HIT.ordinal()] = 'X';
+        CLEAR_SYMBOLS[BattlefieldCell.MISS.ordinal()] = 'M';
+        System.arraycopy(CLEAR_SYMBOLS, 0, OBSCURED_SYMBOLS, 0, CLEAR_SYMBOLS.length);
+        OBSCURED_SYMBOLS[BattlefieldCell.SHIP.ordinal()] = '.';
+    }
+
+    private BattlefieldJson() {
+        // no instantiation
+    }
+
+    /**
+     * appends the rows of the battlefield as JSON array, e.g. ["..O","..O","MX."].
+     * @param json the builder to append to
+     * @param battlefield the battlefield to render
+     * @param obscured true to render ships as water
+     * @return the builder given
+     */
+    public static StringBuilder appendRows(StringBuilder json, Battlefield battlefield, boolean obscured) {
+        char[] symbols = obscured ? OBSCURED_SYMBOLS : CLEAR_SYMBOLS;
+        int size = battlefield.getSize();
+        json.append('[');
+        for (int row = 0; row < size; row++) {
+            json.append(row == 0 ? "\"" : ",\"");
+            for (int column = 0; column < size; column++) {
+                json.append(symbols[battlefield.getCell(row, column).ordinal()]);
+            }
+            json.append('"');
+        }
+        return json.append(']');
+    }
+}
@@ -1,40 +1,82 @@
 package de.cofinpro.battleship.view;
 
-import de.cofinpro.battleship.config.PropertyManager;
+import de.cofinpro.battleship.config.GameConfig;
+import de.cofinpro.battleship.events.BoardRenderEvent;
+import de.cofinpro.battleship.metrics.GameMetrics;
 import de.cofinpro.battleship.model.Battlefield;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.stream.IntStream;
+import java.util.Arrays;
 
 /**
  * UI-class for displaying the view representation of the model class Battlefield.
+ * The clear and the obscured view each cache their rendered rows together with the battlefield's row versions,
+ * so only rows changed since the last display are rendered again - which after a shot is just one row.
+ * Each view renders with its own symbol table indexed by the cell's ordinal, so no global state is touched and
+ * battlefields of different games can be rendered concurrently. The rendering of one view is synchronized.
+ * Titles are shared per field size and a view with its caches is only created, when it is rendered for the first
+ * time, which keeps the UI of games never displayed (e.g. between computer players) small.
  */
 @Slf4j
 public class BattlefieldUI {
 
+    private static final String ESC = "\u001b[";
+    // titles per field size - shared by all UIs
+    private static final String[][] COLUMN_TITLES = new String[27][];
+    private static final String[] HEADERS = new String[27];
+
+    static {
+        for (int size = 2; size <= 26; size++) {
+            String[] rowTitles = new String[size];
+            COLUMN_TITLES[size] = new String[size];
+            for (int n = 0; n < size; n++) {
+                rowTitles[n] = String.format("%-2d", n + 1);
+                COLUMN_TITLES[size][n] = String.format("%-2c", 'A' + n);
+            }
+            HEADERS[size] = "\n  " + String.join("", rowTitles);
+        }
+    }
+
     private final Battlefield battlefield;
-    private final String[] rowTitles;
     private final String[] columnTitles;
+    private final String header;
+    private final String waterSymbol;
+    private final String shipSymbol;
+    private final String hitSymbol;
+    private final String missSymbol;
+    private RenderedView clearView;
+    private RenderedView obscuredView;
 
     public BattlefieldUI(Battlefield battlefield) {
+        this(battlefield, BattlefieldCell.WATER.getCellSymbol(), BattlefieldCell.SHIP.getCellSymbol(),
+                BattlefieldCell.HIT.getCellSymbol(), BattlefieldCell.MISS.getCellSymbol());
+    }
+
+    /**
+     * UI rendering with the cell symbols of the game configuration given.
+     */
+    public BattlefieldUI(Battlefield battlefield, GameConfig config) {
+        this(battlefield, config.getWaterSymbol(), config.getOwnShipSymbol(), config.getHitSymbol(),
+                config.getMissSymbol());
+    }
+
+    private BattlefieldUI(Battlefield battlefield, String water, String ship, String hit, String miss) {
         this.battlefield = battlefield;
-        int size = battlefield.getSize();
-        rowTitles = new String[size];
-        columnTitles = new String[size];
-        IntStream.range(0, size).forEach(n -> rowTitles[n] = String.format("%-2d", n + 1));
-        IntStream.range(0, size).forEach(n -> columnTitles[n] = String.format("%-2c", 'A' + n));
+        columnTitles = COLUMN_TITLES[battlefield.getSize()];
+        header = HEADERS[battlefield.getSize()];
+        waterSymbol = water;
+        shipSymbol = ship;
+        hitSymbol = hit;
+        missSymbol = miss;
     }
 
     /**
      * display the battlefield without showing the ships. The ship's position are displayed as water,
-     * which is achieved by setting the ship's cellSymbol to water, calling the usual display method
-     * and resetting afterwards.
+     * which the obscured view's symbol table takes care of.
      * @return the printed string - mainly for testing purpose
      */
     public String displayBattlefieldObscured() {
-        BattlefieldCell.SHIP.setCellSymbol(PropertyManager.getProperty("water-symbol"));
-        String obscuredDisplay = displayBattlefield();
-        BattlefieldCell.SHIP.setCellSymbol(PropertyManager.getProperty("own-ship-symbol"));
+        String obscuredDisplay = view(true).display();
         log.info("-".repeat(2 * battlefield.getSize() + 1));
         return obscuredDisplay;
     }
@@ -44,16 +86,141 @@ public class BattlefieldUI {
      * @return the printed string - mainly for testing purpose
      */
     public String displayBattlefield() {
-        BattlefieldCell[][] field = battlefield.getField();
-        StringBuilder builder = new StringBuilder("\n  ");
-        builder.append(String.join("", rowTitles));
-        for (int i = 0; i < battlefield.getSize(); i++) {
-            builder.append("\n").append(columnTitles[i]);
-            for (int j = 0; j < battlefield.getSize(); j++) {
-                builder.append(field[i][j].getCellSymbol());
+        return view(false).display();
+    }
+
+    /**
+     * renders the cells changed since the last rendering of the view as ANSI cursor-positioning updates, that
+     * overwrite just these cells on a terminal showing the view. Afterwards, the view counts as rendered.
+     * @param obscured true for the obscured view, false for the clear view
+     * @param originLine terminal line (1-based) of the header line of the displayed battlefield
+     * @param originColumn terminal column (1-based) where the displayed battlefield's lines start
+     * @return the escape sequences with the cell symbols, empty if no cell changed
+     */
+    public String renderChangedCells(boolean obscured, int originLine, int originColumn) {
+        return view(obscured).changedCells(originLine, originColumn);
+    }
+
+    /**
+     * gets the view - created on first use with its symbol table indexed by cell ordinal.
+     */
+    private synchronized RenderedView view(boolean obscured) {
+        if (obscured ? obscuredView == null : clearView == null) {
+            String[] symbols = new String[BattlefieldCell.values().length];
+            symbols[BattlefieldCell.WATER.ordinal()] = waterSymbol;
+            symbols[BattlefieldCell.SHIP.ordinal()] = obscured ? waterSymbol : shipSymbol;
+            symbols[BattlefieldCell.HIT.ordinal()] = hitSymbol;
+            symbols[BattlefieldCell.MISS.ordinal()] = missSymbol;
+            if (obscured) {
+                obscuredView = new RenderedView(symbols);
+            } else {
+                clearView = new RenderedView(symbols);
+            }
+        }
+        return obscured ? obscuredView : clearView;
+    }
+
+    @FunctionalInterface
+    private interface CellChangeListener {
+        void cellChanged(int row, int column, String symbol);
+    }
+
+    /**
+     * the rendered rows of one view with the row versions they were rendered from, as well as each cell's
+     * symbol and its offset in the row string, which allow to find the single cells changed.
+     */
+    private class RenderedView {
+        private final String[] symbols;
+        private String[] rows;
+        private int[] versions;
+        private String[] cellSymbols;
+        private int[] cellOffsets;
+        private String board;
+
+        RenderedView(String[] symbols) {
+            this.symbols = symbols;
+        }
+
+        synchronized String display() {
+            long start = GameMetrics.start();
+            BoardRenderEvent event = new BoardRenderEvent();
+            event.begin();
+            refresh(null);
+            if (board == null) {
+                StringBuilder builder = new StringBuilder(header.length() + rows.length * (rows[0].length() + 1));
+                builder.append(header);
+                for (String row : rows) {
+                    builder.append("\n").append(row);
+                }
+                board = builder.toString();
+            }
+            GameMetrics.INSTANCE.getRenderings().recordSince(start);
+            commit(event, false, board);
+            log.info(board);
+            return board;
+        }
+
+        synchronized String changedCells(int originLine, int originColumn) {
+            long start = GameMetrics.start();
+            BoardRenderEvent event = new BoardRenderEvent();
+            event.begin();
+            StringBuilder updates = new StringBuilder();
+            refresh((row, column, symbol) -> updates.append(ESC).append(originLine + 1 + row).append(';')
+                    .append(originColumn + cellOffsets[row * rows.length + column]).append('H').append(symbol));
+            String changedCells = updates.toString();
+            GameMetrics.INSTANCE.getRenderings().recordSince(start);
+            commit(event, true, changedCells);
+            return changedCells;
+        }
+
+        private void commit(BoardRenderEvent event, boolean changedCellsOnly, String rendered) {
+            if (event.shouldCommit()) {
+                event.fieldSize = battlefield.getSize();
+                event.obscured = this == obscuredView;
+                event.changedCellsOnly = changedCellsOnly;
+                event.characters = rendered.length();
+                event.commit();
+            }
+        }
+
+        /**
+         * renders the rows, whose battlefield version changed since they were rendered, and drops the cached
+         * board string then.
+         * @param listener if not null, informed about every cell with a changed symbol
+         */
+        private void refresh(CellChangeListener listener) {
+            int size = battlefield.getSize();
+            if (rows == null) {
+                rows = new String[size];
+                versions = new int[size];
+                cellSymbols = new String[size * size];
+                cellOffsets = new int[size * size];
+                Arrays.fill(versions, -1);
+            }
+            boolean changed = false;
+            for (int row = 0; row < size; row++) {
+                int version = battlefield.getRowVersion(row);
+                if (version == versions[row]) {
+                    continue;
+                }
+                StringBuilder builder = new StringBuilder(columnTitles[row]);
+                for (int column = 0; column < size; column++) {
+                    String symbol = symbols[battlefield.getCell(row, column).ordinal()];
+                    int cell = row * size + column;
+                    cellOffsets[cell] = builder.length();
+                    if (listener != null && !symbol.equals(cellSymbols[cell])) {
+                        listener.cellChanged(row, column, symbol);
+                    }
+                    cellSymbols[cell] = symbol;
+                    builder.append(symbol);
+                }
+                rows[row] = builder.toString();
+                versions[row] = version;
+                changed = true;
+            }
+            if (changed) {
+                board = null;
             }
         }
-        log.info(builder.toString());
-        return builder.toString();
     }
 }
@@ -14,10 +14,22 @@ import java.util.Scanner;
 @Slf4j
 public class CommandLineUI {
 
-    private Scanner scanner = new Scanner(System.in);
+    // one scanner for all UIs - a scanner per UI would take its own buffer and read ahead on System.in
+    private static final Scanner SYSTEM_IN = new Scanner(System.in);
+
+    // null for the shared System.in scanner, so UIs never prompting (e.g. of server games) do not reference it
+    private Scanner scanner;
+    private String changePlayerMessage = PropertyManager.getProperty("msg-change-player");
 
     private static final String ENTER_SHIP_FORMAT = "%nEnter the coordinates of the %s (%d cells):";
 
+    /**
+     * @param changePlayerMessage the "press enter" message displayed on player changes
+     */
+    public void setChangePlayerMessage(String changePlayerMessage) {
+        this.changePlayerMessage = changePlayerMessage;
+    }
+
     /**
      * prompts for user input position strings (e.g. B3 B6) for a given ship with given (cell) length.
      * The method loops until the user gave two non-empty string tokens.
@@ -29,7 +41,7 @@ public class CommandLineUI {
         List<String> tokens;
         do {
             log.info(String.format(ENTER_SHIP_FORMAT, shipName, length));
-            tokens = Arrays.stream(scanner.nextLine().split("\\s+")).toList();
+            tokens = Arrays.stream(scanner().nextLine().split("\\s+")).toList();
         } while (tokens.size() != 2);
         return tokens;
     }
@@ -41,7 +53,7 @@ public class CommandLineUI {
     public String promptForShotPosition() {
         String token;
         do {
-            token = scanner.nextLine();
+            token = scanner().nextLine();
         } while (token.isEmpty());
         return token;
     }
@@ -66,11 +78,15 @@ public class CommandLineUI {
         log.error(message);
     }
 
+    private Scanner scanner() {
+        return scanner == null ? SYSTEM_IN : scanner;
+    }
+
     /**
      * display a "press enter" message and wait for it.
      */
     public void promptForPlayerChange() {
-        info(PropertyManager.getProperty("msg-change-player"));
-        scanner.nextLine();
+        info(changePlayerMessage);
+        scanner().nextLine();
     }
 }
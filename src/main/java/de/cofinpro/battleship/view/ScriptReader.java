@@ -0,0 +1,131 @@
+package de.cofinpro.battleship.view;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * reader of a game script - the ship positions and shots of a game as whitespace separated ASCII tokens, any
+ * number of them per line. The channel is read in large blocks into one buffer and tokenized byte by byte, without
+ * the regular expressions of a Scanner. One reader is shared by the UIs of both players, which take their tokens
+ * in turn.
+ */
+public class ScriptReader implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private byte[] token = new byte[16];
+    private long tokens;
+    private boolean endOfInput;
+
+    public ScriptReader(ReadableByteChannel channel) {
+        this(channel, BUFFER_SIZE);
+    }
+
+    ScriptReader(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        buffer = ByteBuffer.allocate(bufferSize).flip();
+    }
+
+    /**
+     * @param path path of the script file
+     * @return the reader of the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static ScriptReader open(Path path) throws IOException {
+        return new ScriptReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * @return the reader of a script piped to System.in.
+     */
+    public static ScriptReader systemIn() {
+        return new ScriptReader(Channels.newChannel(System.in));
+    }
+
+    /**
+     * @return the number of tokens read so far.
+     */
+    public long getTokens() {
+        return tokens;
+    }
+
+    /**
+     * @return true, if there is another token before the end of the script.
+     */
+    public boolean hasNextToken() {
+        while (true) {
+            while (buffer.hasRemaining()) {
+                if (buffer.get(buffer.position()) > ' ') {
+                    return true;
+                }
+                buffer.position(buffer.position() + 1);
+            }
+            if (!fill()) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return the next token of the script
+     * @throws NoSuchElementException if the script has ended - like a Scanner at the end of its input
+     */
+    public String nextToken() {
+        if (!hasNextToken()) {
+            throw new NoSuchElementException("end of script after " + tokens + " tokens");
+        }
+        int length = 0;
+        while (buffer.hasRemaining() || fill()) {
+            byte character = buffer.get(buffer.position());
+            if (character <= ' ') {
+                break;
+            }
+            if (length == token.length) {
+                token = Arrays.copyOf(token, 2 * length);
+            }
+            token[length++] = character;
+            buffer.position(buffer.position() + 1);
+        }
+        tokens++;
+        return new String(token, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * reads the next block of the script into the buffer.
+     * @return false at the end of the script
+     */
+    private boolean fill() {
+        if (endOfInput) {
+            return false;
+        }
+        buffer.clear();
+        try {
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            endOfInput = read < 0;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("reading the script failed", exception);
+        } finally {
+            buffer.flip();
+        }
+        return buffer.hasRemaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
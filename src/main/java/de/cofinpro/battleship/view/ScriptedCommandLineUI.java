@@ -0,0 +1,50 @@
+package de.cofinpro.battleship.view;
+
+import java.util.List;
+
+/**
+ * command line UI of non-interactive games, which takes the positions of ships and shots from a ScriptReader
+ * instead of prompting the user. The messages of the turns and the "press enter" hand-over are skipped, only
+ * warnings and errors (e.g. invalid positions in the script) are printed. Stateless besides the shared reader,
+ * so one instance serves both players.
+ */
+public class ScriptedCommandLineUI extends CommandLineUI {
+
+    private final ScriptReader script;
+
+    public ScriptedCommandLineUI(ScriptReader script) {
+        this.script = script;
+    }
+
+    /**
+     * @return the next two tokens of the script.
+     */
+    @Override
+    public List<String> promptForShipPosition(String shipName, int length) {
+        String from = script.nextToken();
+        return List.of(from, script.nextToken());
+    }
+
+    /**
+     * @return the next token of the script.
+     */
+    @Override
+    public String promptForShotPosition() {
+        return script.nextToken();
+    }
+
+    @Override
+    public void info(String message) {
+        // no turn messages in batch mode
+    }
+
+    @Override
+    public void trace(String message) {
+        // no turn messages in batch mode
+    }
+
+    @Override
+    public void promptForPlayerChange() {
+        // nobody to hand over to
+    }
+}
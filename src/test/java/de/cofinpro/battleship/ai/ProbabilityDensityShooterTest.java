@@ -0,0 +1,96 @@
+package de.cofinpro.battleship.ai;
+
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProbabilityDensityShooterTest {
+
+    static final List<Integer> LENGTHS = List.of(5, 4, 3, 3, 2);
+
+    @Test
+    void whenGamePlayed_noCellIsShotTwiceAndAllShipsSink() {
+        ProbabilityDensityShooter shooter = new ProbabilityDensityShooter(new SplittableRandom(7));
+        for (int game = 0; game < 20; game++) {
+            assertTrue(shotsToSinkFleet(shooter, game) <= 100);
+        }
+    }
+
+    @Test
+    void whenShipHit_nextShotIsNeighbour() {
+        ProbabilityDensityShooter shooter = new ProbabilityDensityShooter(new SplittableRandom(1));
+        shooter.newGame(10, newFleet());
+        shooter.shotResult(new Shot(4, 4), ShotResult.HIT);
+        Shot next = shooter.nextShot();
+        assertEquals(1, Math.abs(next.getRow() - 4) + Math.abs(next.getColumn() - 4));
+    }
+
+    @Test
+    void whenTwoHitsInRow_nextShotExtendsTheRow() {
+        ProbabilityDensityShooter shooter = new ProbabilityDensityShooter(new SplittableRandom(1));
+        shooter.newGame(10, newFleet());
+        shooter.shotResult(new Shot(4, 4), ShotResult.HIT);
+        shooter.shotResult(new Shot(4, 5), ShotResult.HIT);
+        Shot next = shooter.nextShot();
+        assertEquals(4, next.getRow());
+        assertTrue(next.getColumn() == 3 || next.getColumn() == 6);
+    }
+
+    @Test
+    void whenPlayedAgainstRandom_densityNeedsFarLessShots() {
+        double densityMean = meanShotsToWin(new ProbabilityDensityShooter(new SplittableRandom(3)));
+        double randomMean = meanShotsToWin(new RandomShooter(new SplittableRandom(3)));
+        assertTrue(densityMean < 60, "density shooter mean " + densityMean);
+        assertTrue(densityMean < randomMean - 25, densityMean + " vs. " + randomMean);
+    }
+
+    private static double meanShotsToWin(Shooter shooter) {
+        int games = 200;
+        long shots = 0;
+        for (int game = 0; game < games; game++) {
+            shots += shotsToSinkFleet(shooter, game);
+        }
+        return (double) shots / games;
+    }
+
+    /**
+     * plays a one-sided game on a randomly placed fleet, asserting no cell is shot twice.
+     */
+    private static int shotsToSinkFleet(Shooter shooter, long seed) {
+        List<Battleship> fleet = newFleet();
+        Battlefield battlefield = new RandomFleetPlacer(new SplittableRandom(seed)).placeFleet(10, fleet);
+        List<Battleship> liveFleet = new ArrayList<>(fleet);
+        shooter.newGame(10, liveFleet);
+        Set<Shot> shots = new HashSet<>();
+        ShotResult result = ShotResult.MISSED;
+        while (result != ShotResult.WON) {
+            Shot shot = shooter.nextShot();
+            assertTrue(shots.add(shot), "repeated shot " + shot);
+            result = battlefield.applyShot(shot);
+            if (result == ShotResult.SUNK || result == ShotResult.WON) {
+                liveFleet.remove(battlefield.shipAt(shot.getRow(), shot.getColumn()));
+            }
+            shooter.shotResult(shot, result);
+        }
+        assertTrue(liveFleet.isEmpty());
+        return shots.size();
+    }
+
+    private static List<Battleship> newFleet() {
+        List<Battleship> fleet = new ArrayList<>();
+        for (int i = 0; i < LENGTHS.size(); i++) {
+            fleet.add(new Battleship("ship" + i, LENGTHS.get(i)));
+        }
+        return fleet;
+    }
+}
@@ -0,0 +1,80 @@
+package de.cofinpro.battleship.ai;
+
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.PlacementTable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomFleetPlacerTest {
+
+    private final RandomFleetPlacer placer = new RandomFleetPlacer(new SplittableRandom(7));
+
+    @CsvSource({
+            "2, 2, 4",
+            "10, 5, 120",
+            "10, 1, 100",
+            "26, 4, 1196",
+            "3, 4, 0"
+    })
+    @ParameterizedTest
+    void placementTableHasAllSlotsOnField(int fieldSize, int length, int slots) {
+        PlacementTable table = PlacementTable.of(fieldSize, length);
+        assertEquals(slots, table.size());
+        assertSame(table, PlacementTable.of(fieldSize, length));
+        for (int slot = 0; slot < table.size(); slot++) {
+            int lastRow = table.row(slot) + (table.isRowAligned(slot) ? 0 : length - 1);
+            int lastColumn = table.column(slot) + (table.isRowAligned(slot) ? length - 1 : 0);
+            assertTrue(lastRow < fieldSize && lastColumn < fieldSize);
+        }
+    }
+
+    @CsvSource({
+            "10, 5-4-3-3-2",
+            "10, 5-4-4-3-3-3-2-2-2-2",
+            "4, 2-2",
+            "26, 5-5-5-5-4-4-4-3-3-2"
+    })
+    @ParameterizedTest
+    void whenFleetSampled_layoutFollowsBattlefieldRules(int fieldSize, String fleetConfig) {
+        for (int i = 0; i < 200; i++) {
+            List<Battleship> fleet = newFleet(fleetConfig);
+            assertTrue(placer.sampleFleet(fieldSize, fleet));
+            Battlefield battlefield = new Battlefield(fieldSize);
+            fleet.forEach(ship -> assertTrue(battlefield.tryPositionShip(ship)));
+        }
+    }
+
+    @Test
+    void whenFleetPlaced_layoutsAreRandom() {
+        Set<String> layouts = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            List<Battleship> fleet = newFleet("3-2");
+            Battlefield battlefield = placer.placeFleet(6, fleet);
+            fleet.forEach(ship -> assertSame(ship, battlefield.shipAt(ship.getRow(), ship.getColumn())));
+            layouts.add(fleet.toString());
+        }
+        assertTrue(layouts.size() > 40);
+    }
+
+    @Test
+    void whenFleetCannotFit_placeFleetThrows() {
+        assertThrows(IllegalStateException.class, () -> placer.placeFleet(2, newFleet("2-2")));
+        assertThrows(IllegalStateException.class, () -> placer.placeFleet(4, newFleet("5")));
+    }
+
+    private static List<Battleship> newFleet(String fleetConfig) {
+        String[] lengths = fleetConfig.split("-");
+        return IntStream.range(0, lengths.length)
+                .mapToObj(i -> new Battleship("ship" + i, Integer.parseInt(lengths[i]))).toList();
+    }
+}
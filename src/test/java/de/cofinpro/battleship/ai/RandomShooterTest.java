@@ -0,0 +1,44 @@
+package de.cofinpro.battleship.ai;
+
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomShooterTest {
+
+    @Test
+    void whenNewGame_nextShotHitsEveryCellOnce() {
+        RandomShooter shooter = new RandomShooter();
+        for (int game = 0; game < 2; game++) {
+            shooter.newGame(4, List.of());
+            Set<Shot> shots = new HashSet<>();
+            for (int i = 0; i < 16; i++) {
+                shots.add(shooter.nextShot());
+            }
+            assertEquals(16, shots.size());
+            assertThrows(IllegalStateException.class, shooter::nextShot);
+        }
+    }
+
+    @Test
+    void whenFleetPlaced_allShipsArePositioned() {
+        List<Battleship> fleet = List.of(new Battleship("a", 5), new Battleship("b", 4),
+                new Battleship("c", 3), new Battleship("d", 3), new Battleship("e", 2));
+        Battlefield battlefield = new RandomPlacer().placeFleet(10, fleet);
+        fleet.forEach(ship -> assertSame(ship, battlefield.shipAt(ship.getRow(), ship.getColumn())));
+    }
+
+    @Test
+    void whenFleetCannotFit_placeFleetThrows() {
+        RandomPlacer placer = new RandomPlacer();
+        List<Battleship> fleet = List.of(new Battleship("a", 2), new Battleship("b", 2));
+        assertThrows(IllegalStateException.class, () -> placer.placeFleet(2, fleet));
+    }
+}
@@ -0,0 +1,107 @@
+package de.cofinpro.battleship.config;
+
+import de.cofinpro.battleship.controller.ApplicationPropertiesException;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.ShipType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameConfigTest {
+
+    Properties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new Properties();
+        properties.putAll(PropertyManager.getProperties());
+        properties.setProperty("five-cell-ships", "1");
+        properties.setProperty("four-cell-ships", "0");
+        properties.setProperty("three-cell-ships", "1");
+        properties.setProperty("two-cell-ships", "0");
+        properties.setProperty("ship-names", "5cell ship,3cell ship");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1", "27", "-3", "ten", ""})
+    void whenFieldSizeInvalid_fromThrows(String fieldSize) {
+        properties.setProperty("field-size", fieldSize);
+        assertThrows(ApplicationPropertiesException.class, () -> GameConfig.from(properties));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 10, 26})
+    void whenFieldSizeValid_fromParsesIt(int fieldSize) {
+        properties.setProperty("field-size", String.valueOf(fieldSize));
+        assertEquals(fieldSize, GameConfig.from(properties).getFieldSize());
+    }
+
+    @Test
+    void whenShipTooLongForField_fromThrows() {
+        properties.setProperty("field-size", "4");
+        assertThrows(ApplicationPropertiesException.class, () -> GameConfig.from(properties));
+    }
+
+    @Test
+    void whenPropertiesMatch_newFleetReturnsAllShips() {
+        List<Battleship> fleet = GameConfig.from(properties).newFleet();
+        assertEquals(2, fleet.size());
+        assertEquals("5cell ship", fleet.get(0).getName());
+        assertEquals(5, fleet.get(0).getCells());
+        assertEquals("3cell ship", fleet.get(1).getName());
+        assertEquals(3, fleet.get(1).getCells());
+    }
+
+    @Test
+    void whenPropertiesDontMatch_fromIgnoresOrThrows() {
+        properties.setProperty("four-cell-ships", "1");
+        assertThrows(ApplicationPropertiesException.class, () -> GameConfig.from(properties));
+        properties.setProperty("four-cell-ships", "0");
+        properties.setProperty("three-cell-ships", "0");
+        GameConfig config = GameConfig.from(properties);
+        assertEquals(List.of(new ShipType("5cell ship", 5)), config.getFleetTemplate());
+        assertEquals(List.of(5), config.getShipLengths());
+    }
+
+    @Test
+    void whenPropertyMissing_fromThrows() {
+        properties.remove("msg-hit");
+        assertThrows(ApplicationPropertiesException.class, () -> GameConfig.from(properties));
+    }
+
+    @Test
+    void whenNewFleetCalledTwice_fleetsShareOnlyShipTypes() {
+        GameConfig config = GameConfig.from(properties);
+        Battleship first = config.newFleet().get(0);
+        Battleship second = config.newFleet().get(0);
+        assertNotSame(first, second);
+        assertSame(first.getType(), second.getType());
+        assertThrows(UnsupportedOperationException.class, () -> config.getFleetTemplate().add(first.getType()));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "%s, place your ships | Player 1, place your ships",
+            "\\n%s, it's your turn: | \\nPlayer 1, it's your turn:",
+            "no placeholder | no placeholder",
+            "%s and %s | Player 1 and Player 1",
+            "100%% %s | 100% Player 1"
+    })
+    void whenTemplateCompiled_formatEqualsStringFormat(String template, String message) {
+        assertEquals(message, MessageTemplate.compile("key", template).format("Player 1"));
+        assertEquals(String.format(template, "Player 1", "Player 1"), message);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"%d cells", "%n%s", "trailing %"})
+    void whenTemplateHasOtherSpecifiers_compileThrows(String template) {
+        assertThrows(ApplicationPropertiesException.class, () -> MessageTemplate.compile("key", template));
+    }
+}
@@ -0,0 +1,30 @@
+package de.cofinpro.battleship.controller;
+
+import de.cofinpro.battleship.config.GameConfig;
+import de.cofinpro.battleship.view.ScriptReader;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleshipControllerTest {
+
+    // both players place two destroyers, player 1 sinks both with its 4th shot
+    static final String GAME = "A1 A2 C1 C2\nA1 A2 C1 C2\nA1 J10 A2 J9 C1 J8 C2\n";
+
+    @ParameterizedTest
+    @CsvSource({"1, 0", "3, 0", "2, 5", "2, 14"})
+    void whenScripted_gamesArePlayedUntilScriptEnds(int games, int tokensOfCutGame) {
+        String cutGame = String.join(" ", Arrays.copyOf(GAME.split("\\s+"), tokensOfCutGame));
+        String script = GAME.repeat(games) + (tokensOfCutGame > 0 ? cutGame : "");
+        ScriptReader reader = new ScriptReader(Channels.newChannel(
+                new ByteArrayInputStream(script.getBytes(StandardCharsets.US_ASCII))));
+        assertEquals(games, new BattleshipController(GameConfig.fromProperties(), reader).runScript());
+        assertEquals(15L * games + tokensOfCutGame, reader.getTokens());
+    }
+}
@@ -0,0 +1,52 @@
+package de.cofinpro.battleship.controller;
+
+import de.cofinpro.battleship.ai.RandomShooter;
+import de.cofinpro.battleship.config.GameConfig;
+import de.cofinpro.battleship.config.PropertyManager;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * measures with JOL the heap retained per game of two computer players with the classic fleet on a 10x10 field.
+ * Objects shared by all games (config, fleet template, titles) are excluded by measuring the
+ * marginal size of additional games. Before the fleet templates were shared and the UI caches made lazy,
+ * a game took about 32 KB.
+ */
+class GameFootprintTest {
+
+    static final int GAMES = 20;
+    static final long BYTES_PER_GAME_BUDGET = 3_000;
+
+    @Test
+    void whenGamesSetUp_perGameFootprintStaysInBudget() {
+        Properties properties = new Properties();
+        properties.putAll(PropertyManager.getProperties());
+        properties.setProperty("field-size", "10");
+        properties.setProperty("five-cell-ships", "1");
+        properties.setProperty("four-cell-ships", "1");
+        properties.setProperty("three-cell-ships", "2");
+        properties.setProperty("two-cell-ships", "1");
+        GameConfig config = GameConfig.from(properties);
+        Object[] games = new Object[GAMES];
+        for (int i = 0; i < GAMES; i++) {
+            games[i] = newGame(config);
+        }
+        long oneGame = GraphLayout.parseInstance(config, games[0]).totalSize();
+        long bytesPerGame = (GraphLayout.parseInstance(config, games).totalSize() - oneGame) / (GAMES - 1);
+        assertTrue(bytesPerGame < BYTES_PER_GAME_BUDGET, "bytes per game: " + bytesPerGame);
+    }
+
+    private static UserSession[] newGame(GameConfig config) {
+        UserSession first = new UserSession("Player 1", config);
+        UserSession second = new UserSession("Player 2", config);
+        first.playAsComputer(new RandomShooter(), second);
+        second.playAsComputer(new RandomShooter(), first);
+        first.userAddOwnShipsToBattleField();
+        second.userAddOwnShipsToBattleField();
+        return new UserSession[] {first, second};
+    }
+}
@@ -1,5 +1,6 @@
 package de.cofinpro.battleship.controller;
 
+import de.cofinpro.battleship.config.GameConfig;
 import de.cofinpro.battleship.config.PropertyManager;
 import de.cofinpro.battleship.model.Battleship;
 import de.cofinpro.battleship.model.Shot;
@@ -14,6 +15,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Properties;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -30,68 +32,8 @@ class UserSessionTest {
     @Mock
     private CommandLineUI commandLineUI;
 
-    @Test
-    void initBattleField() {
-        PropertyManager.getProperties().setProperty("field-size", "1");
-        assertThrows(ApplicationPropertiesException.class, () -> userSession.initBattleField());
-        PropertyManager.getProperties().setProperty("field-size", "27");
-        assertThrows(ApplicationPropertiesException.class, () -> userSession.initBattleField());
-        PropertyManager.getProperties().setProperty("field-size", "2");
-        assertNotNull(userSession.initBattleField());
-        PropertyManager.getProperties().setProperty("field-size", "26");
-        assertNotNull(userSession.initBattleField());
-    }
-
-    @Test
-    void whenPropertiesMatch_initFleetReturnsAllShips() {
-        PropertyManager.getProperties().setProperty("five-cell-ships", "1");
-        PropertyManager.getProperties().setProperty("four-cell-ships", "0");
-        PropertyManager.getProperties().setProperty("three-cell-ships", "1");
-        PropertyManager.getProperties().setProperty("two-cell-ships", "0");
-        PropertyManager.getProperties().setProperty("ship-names", "5cell ship,3cell ship");
-        assertEquals(2, userSession.initFleet().size());
-        assertEquals("5cell ship", userSession.initFleet().get(0).getName());
-        assertEquals(5, userSession.initFleet().get(0).getCells());
-        assertEquals("3cell ship", userSession.initFleet().get(1).getName());
-        assertEquals(3, userSession.initFleet().get(1).getCells());
-    }
-
-    @Test
-    void whenPropertiesDontMatch_initFleetIgnoresOrThrows() {
-        PropertyManager.getProperties().setProperty("five-cell-ships", "1");
-        PropertyManager.getProperties().setProperty("four-cell-ships", "1");
-        PropertyManager.getProperties().setProperty("three-cell-ships", "1");
-        PropertyManager.getProperties().setProperty("two-cell-ships", "0");
-        PropertyManager.getProperties().setProperty("ship-names", "5cell ship,3cell ship");
-        assertThrows(ApplicationPropertiesException.class, () -> userSession.initFleet());
-        PropertyManager.getProperties().setProperty("four-cell-ships", "0");
-        PropertyManager.getProperties().setProperty("three-cell-ships", "0");
-        assertEquals(1, userSession.initFleet().size());
-        assertEquals("5cell ship", userSession.initFleet().get(0).getName());
-    }
-
-    @Test
-    void whenOne5CellShip_getNCellsShipsReturnsOneShip() {
-        PropertyManager.getProperties().setProperty("five-cell-ships", "1");
-        assertEquals(1, userSession.getNCellsShips(5, "five-cell-ships",
-                List.of("ship1", "ship2"), 0).size());
-        assertEquals("ship1", userSession.getNCellsShips(5, "five-cell-ships",
-                List.of("ship1", "ship2"), 0).get(0).getName());
-    }
-
-    @Test
-    void whenMoreShipsThanNamesLeft_getNCellsShipsThrows() {
-        PropertyManager.getProperties().setProperty("five-cell-ships", "2");
-        List<String> shipNames = List.of("ship1", "ship2");
-        assertThrows(ApplicationPropertiesException.class, () -> userSession.getNCellsShips(5, "five-cell-ships",
-                shipNames, 1));
-        assertDoesNotThrow(() -> userSession.getNCellsShips(5, "five-cell-ships",
-                List.of("ship1", "ship2", "ship3"), 1));
-    }
-
     @Test
     void getValidUserPosition() {
-        PropertyManager.getProperties().setProperty("field-size", "10");
         userSession.initBattleField();
         when(commandLineUI.promptForShipPosition(anyString(), anyInt())).thenReturn(List.of("E6", "E9"));
         Battleship battleship = new Battleship("test", 4);
@@ -100,6 +42,7 @@ class UserSessionTest {
         when(commandLineUI.promptForShipPosition(anyString(), anyInt())).thenReturn(List.of("E6", "D4"), List.of("D1", "D4"));
         userSession.userPositionShip(battleship);
         verify(commandLineUI, times(1 + 2)).promptForShipPosition(anyString(), anyInt());
+        verify(commandLineUI).error(PropertyManager.getProperty("error-msg-ship-location"));
     }
 
     @ParameterizedTest
@@ -118,12 +61,13 @@ class UserSessionTest {
 
     @Test
     void whenAllShipPositionsHit_applyShotGivesSunk() {
-        PropertyManager.getProperties().setProperty("field-size", "7");
-        PropertyManager.getProperties().setProperty("five-cell-ships", "0");
-        PropertyManager.getProperties().setProperty("four-cell-ships", "0");
-        PropertyManager.getProperties().setProperty("three-cell-ships", "0");
-        PropertyManager.getProperties().setProperty("two-cell-ships", "2");
-        userSession.initFleet();
+        Properties properties = new Properties();
+        properties.putAll(PropertyManager.getProperties());
+        properties.setProperty("five-cell-ships", "0");
+        properties.setProperty("four-cell-ships", "0");
+        properties.setProperty("three-cell-ships", "0");
+        properties.setProperty("two-cell-ships", "2");
+        userSession = new UserSession("Player 1", GameConfig.from(properties), commandLineUI);
         when(commandLineUI.promptForShipPosition(anyString(), anyInt())).thenReturn(List.of("H5", "G5"), List.of("A1", "A2"));
         doNothing().when(commandLineUI).promptForPlayerChange();
         when(commandLineUI.promptForShotPosition()).thenReturn("A1", "A2");
@@ -0,0 +1,95 @@
+package de.cofinpro.battleship.events;
+
+import de.cofinpro.battleship.ai.RandomFleetPlacer;
+import de.cofinpro.battleship.ai.RandomShooter;
+import de.cofinpro.battleship.config.GameConfig;
+import de.cofinpro.battleship.controller.UserSession;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.simulation.GameResult;
+import de.cofinpro.battleship.simulation.HeadlessGame;
+import de.cofinpro.battleship.view.BattlefieldUI;
+import de.cofinpro.battleship.view.CommandLineUI;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BattleshipEventsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void whenRecording_gameShotPlacementAndRenderEventsAreWritten() throws IOException {
+        Path file = directory.resolve("game.jfr");
+        GameResult result;
+        try (Recording recording = new Recording()) {
+            List.of(GameStartEvent.class, GameEndEvent.class, ShipPlacementEvent.class, ShotEvent.class,
+                    BoardRenderEvent.class).forEach(type -> recording.enable(type).withoutThreshold());
+            recording.start();
+            result = new HeadlessGame(10, List.of(3, 2), new RandomFleetPlacer(new SplittableRandom(1)),
+                    new RandomShooter(new SplittableRandom(2)), new RandomFleetPlacer(new SplittableRandom(3)),
+                    new RandomShooter(new SplittableRandom(4))).play();
+            UserSession session = new UserSession("Test", GameConfig.fromProperties(), mock(CommandLineUI.class));
+            session.positionShip(new Battleship("Cruiser", 3), List.of("A1", "C3"));
+            session.positionShip(new Battleship("Cruiser", 3), List.of("A1", "A4"));
+            new BattlefieldUI(session.getBattlefield()).displayBattlefieldObscured();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent end = single(events, "de.cofinpro.battleship.GameEnd");
+        assertEquals("headless", end.getString("mode"));
+        assertEquals(result.getTotalShots(), end.getInt("shots"));
+        assertEquals("Player " + (result.getWinner() + 1), end.getString("winner"));
+        assertEquals(10, single(events, "de.cofinpro.battleship.GameStart").getInt("fieldSize"));
+        assertEquals(result.getTotalShots(), count(events, "de.cofinpro.battleship.Shot"));
+        assertEquals(List.of("alignment", "length"), events.stream()
+                .filter(event -> event.getEventType().getName().equals("de.cofinpro.battleship.ShipPlacement"))
+                .filter(event -> !event.getBoolean("positioned"))
+                .map(event -> event.getString("rejectedBy")).toList());
+        assertEquals(2 * 2 + 2, count(events, "de.cofinpro.battleship.ShipPlacement"));
+        assertTrue(single(events, "de.cofinpro.battleship.BoardRender").getBoolean("obscured"));
+    }
+
+    @Test
+    void whenBattlefieldUsedOutsideGame_noShotOrPlacementEventsAreWritten() throws IOException {
+        Path file = directory.resolve("replay.jfr");
+        try (Recording recording = new Recording()) {
+            List.of(ShipPlacementEvent.class, ShotEvent.class)
+                    .forEach(type -> recording.enable(type).withoutThreshold());
+            recording.start();
+            Battlefield battlefield = new RandomFleetPlacer(new SplittableRandom(1)).placeFleet(10,
+                    List.of(new Battleship("Cruiser", 3)));
+            battlefield.couldPositionShip(List.of("J1", "J2"), new Battleship("Destroyer", 2));
+            battlefield.applyShot(new Shot(0, 0));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertEquals(List.of(), RecordingFile.readAllEvents(file));
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name)).toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).count();
+    }
+}
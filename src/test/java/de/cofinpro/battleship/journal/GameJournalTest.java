@@ -0,0 +1,186 @@
+package de.cofinpro.battleship.journal;
+
+import de.cofinpro.battleship.ai.RandomFleetPlacer;
+import de.cofinpro.battleship.ai.RandomShooter;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+import de.cofinpro.battleship.simulation.GameResult;
+import de.cofinpro.battleship.simulation.HeadlessGame;
+import de.cofinpro.battleship.simulation.SimulationEngine;
+import de.cofinpro.battleship.simulation.Strategy;
+import de.cofinpro.battleship.view.BattlefieldCell;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void whenRecordsWritten_readerStreamsThemInOrder() throws IOException {
+        Path path = directory.resolve("game.journal");
+        Battleship ship = new Battleship("Destroyer", 2);
+        ship.setRow(3);
+        ship.setColumn(4);
+        ship.setRowAligned(true);
+        try (GameJournal journal = GameJournal.open(path)) {
+            GameJournal.Writer writer = journal.writer(2);
+            int gameId = writer.gameCreated(10, 1);
+            writer.shipPlaced(gameId, 1, ship);
+            writer.shotFired(gameId, 0, 1, new Shot(3, 5), ShotResult.HIT);
+        }
+        assertEquals(3 * GameJournal.RECORD_SIZE, Files.size(path));
+
+        List<String> records = new ArrayList<>();
+        try (JournalReader reader = JournalReader.open(path)) {
+            assertEquals(3, reader.getRecords());
+            reader.forEach(new JournalVisitor() {
+                @Override
+                public void gameCreated(int gameId, int fieldSize, int ships) {
+                    records.add("created " + gameId + " " + fieldSize + " " + ships);
+                }
+
+                @Override
+                public void shipPlaced(int gameId, int player, int row, int column, int cells, boolean rowAligned) {
+                    records.add("placed " + gameId + " " + player + " " + row + " " + column + " " + cells + " "
+                            + rowAligned);
+                }
+
+                @Override
+                public void shotFired(int gameId, int player, int turn, int row, int column, ShotResult result) {
+                    records.add("shot " + gameId + " " + player + " " + turn + " " + row + " " + column + " "
+                            + result);
+                }
+            });
+        }
+        assertEquals(List.of("created 1 10 1", "placed 1 1 3 4 2 true", "shot 1 0 1 3 5 HIT"), records);
+    }
+
+    @Test
+    void whenJournalReopened_tornRecordIsCutAndIdsContinue() throws IOException {
+        Path path = directory.resolve("game.journal");
+        try (GameJournal journal = GameJournal.open(path)) {
+            journal.writer().gameCreated(10, 5);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {GameJournal.SHOT_FIRED, 0, 1}));
+        }
+        try (GameJournal journal = GameJournal.open(path)) {
+            assertEquals(2, journal.writer().gameCreated(10, 5));
+        }
+        assertEquals(2 * GameJournal.RECORD_SIZE, Files.size(path));
+    }
+
+    @Test
+    void whenShotResultCorrupt_readerThrowsWithOffset() throws IOException {
+        Path path = directory.resolve("game.journal");
+        try (GameJournal journal = GameJournal.open(path)) {
+            journal.writer().gameCreated(10, 5);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(GameJournal.RECORD_SIZE).put(GameJournal.SHOT_FIRED).put((byte) 0)
+                    .put((byte) 1).put((byte) 2).putInt(1).putInt(99).putInt(1).flip());
+        }
+        try (JournalReader reader = JournalReader.open(path)) {
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> reader.forEach(new JournalVisitor() {}));
+            assertEquals("corrupt journal record of result 99 at " + GameJournal.RECORD_SIZE, exception.getMessage());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 16, 4096})
+    void whenGamesJournaled_replayReconstructsBattlefieldAtEveryTurn(int bufferedRecords) throws IOException {
+        Path path = directory.resolve("game.journal");
+        List<Integer> lengths = List.of(5, 4, 3, 3, 2);
+        HeadlessGame game = new HeadlessGame(10, lengths, new RandomFleetPlacer(new SplittableRandom(1)),
+                new RandomShooter(new SplittableRandom(2)), new RandomFleetPlacer(new SplittableRandom(3)),
+                new RandomShooter(new SplittableRandom(4)));
+        GameResult result;
+        try (GameJournal journal = GameJournal.open(path)) {
+            game.setJournal(journal.writer(bufferedRecords));
+            game.play();
+            result = game.play();
+        }
+        try (JournalReader reader = JournalReader.open(path)) {
+            assertEquals(2 * (1 + 2 * lengths.size()), reader.getRecords() - countShots(reader));
+            int loser = 1 - result.getWinner();
+            Battlefield start = reader.battlefieldAt(2, loser, 0);
+            assertFalse(start.allShipsSunk());
+            assertEquals(17, countCells(start, BattlefieldCell.SHIP));
+            Battlefield end = reader.battlefieldAt(2, loser, result.getTotalShots());
+            assertTrue(end.allShipsSunk());
+            assertEquals(17, countCells(end, BattlefieldCell.HIT));
+            Battlefield afterFirstShots = reader.battlefieldAt(2, 1, 1);
+            assertEquals(1, countCells(afterFirstShots, BattlefieldCell.HIT)
+                    + countCells(afterFirstShots, BattlefieldCell.MISS));
+            assertThrows(IllegalArgumentException.class, () -> reader.battlefieldAt(3, 0, 0));
+        }
+    }
+
+    @Test
+    void whenSimulationJournaled_everyGameIsRecorded() throws IOException {
+        Path path = directory.resolve("simulation.journal");
+        Strategy random = new Strategy("random", RandomFleetPlacer::new, RandomShooter::new);
+        SimulationEngine engine = new SimulationEngine(8, List.of(3, 2), random, random);
+        try (GameJournal journal = GameJournal.open(path)) {
+            engine.setJournal(journal);
+            engine.run(100, 4);
+        }
+        long[] games = new long[1];
+        long[] shots = new long[1];
+        try (JournalReader reader = JournalReader.open(path)) {
+            reader.forEach(new JournalVisitor() {
+                @Override
+                public void gameCreated(int gameId, int fieldSize, int ships) {
+                    games[0]++;
+                }
+
+                @Override
+                public void shotFired(int gameId, int player, int turn, int row, int column, ShotResult result) {
+                    shots[0]++;
+                }
+            });
+            assertEquals(100, games[0]);
+            assertEquals(reader.getRecords(), 100 + 100 * 4 + shots[0]);
+        }
+    }
+
+    private static long countShots(JournalReader reader) throws IOException {
+        long[] shots = new long[1];
+        reader.forEach(new JournalVisitor() {
+            @Override
+            public void shotFired(int gameId, int player, int turn, int row, int column, ShotResult result) {
+                shots[0]++;
+            }
+        });
+        return shots[0];
+    }
+
+    private static int countCells(Battlefield battlefield, BattlefieldCell cell) {
+        int count = 0;
+        for (int row = 0; row < battlefield.getSize(); row++) {
+            for (int column = 0; column < battlefield.getSize(); column++) {
+                count += battlefield.getCell(row, column) == cell ? 1 : 0;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,69 @@
+package de.cofinpro.battleship.metrics;
+
+import de.cofinpro.battleship.config.GameConfig;
+import de.cofinpro.battleship.controller.UserSession;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.PlacementRejection;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.view.CommandLineUI;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class GameMetricsTest {
+
+    GameMetrics metrics = GameMetrics.INSTANCE;
+
+    @Test
+    void whenShotsApplied_resultsAndLatenciesAreRecorded() {
+        UserSession session = new UserSession("Test", GameConfig.fromProperties(), mock(CommandLineUI.class));
+        session.setPlayerChangePrompts(false);
+        long shots = metrics.getShots().getCount();
+        long missed = metrics.getShotsMissed();
+        long placements = metrics.getPlacements().getCount();
+        long rejected = metrics.getPlacementsRejected();
+
+        assertNull(session.positionShip(session.getFleet().get(0), List.of("A1", "A2")));
+        assertEquals(PlacementRejection.DISTANCE,
+                session.positionShip(new Battleship("Destroyer", 2), List.of("B1", "B2")));
+        session.applyShot(new Shot(5, 5));
+        session.applyShot(new Shot(0, 0));
+
+        assertEquals(placements + 2, metrics.getPlacements().getCount());
+        assertEquals(rejected + 1, metrics.getPlacementsRejected());
+        assertEquals(shots + 2, metrics.getShots().getCount());
+        assertEquals(missed + 1, metrics.getShotsMissed());
+        assertTrue(metrics.getShots().getMaxNanos() > 0);
+    }
+
+    @Test
+    void whenRegistered_metricsArePublishedAsMBeans() throws Exception {
+        metrics.register();
+        metrics.register();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(metrics.getGamesWon(),
+                server.getAttribute(new ObjectName("de.cofinpro.battleship:type=GameMetrics"), "GamesWon"));
+        metrics.getRenderings().record(42);
+        assertEquals(metrics.getRenderings().getCount(), server.getAttribute(
+                new ObjectName("de.cofinpro.battleship:type=Latency,name=rendering"), "Count"));
+    }
+
+    @Test
+    void whenDumperClosed_summaryIsAppended(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("metrics.log");
+        new MetricsDumper(new GameMetrics(), file, 3600).close();
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.get(1).startsWith("shots: 0 missed"));
+        assertEquals("turn: 0, mean 0.0 µs, p50 0.0 µs, p99 0.0 µs, max 0.0 µs", lines.get(2));
+    }
+}
@@ -0,0 +1,64 @@
+package de.cofinpro.battleship.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @ParameterizedTest
+    @CsvSource({"50, 511", "61, 511", "62, 1000", "100, 1000", "1, 0"})
+    void percentilesAreExactToAPowerOf2(double percentile, long expectedNanos) {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.record(0);
+        for (int i = 0; i < 60; i++) {
+            histogram.record(300);
+        }
+        for (int i = 0; i < 39; i++) {
+            histogram.record(1000);
+        }
+        assertEquals(expectedNanos, histogram.percentileNanos(percentile));
+    }
+
+    @Test
+    void countMeanAndMaxAreKept() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        assertEquals(0, histogram.getMeanNanos());
+        assertEquals(0, histogram.getP99Nanos());
+        histogram.record(100);
+        histogram.record(300);
+        histogram.record(-5);
+        assertEquals(3, histogram.getCount());
+        assertEquals(400 / 3.0, histogram.getMeanNanos(), 1e-9);
+        assertEquals(300, histogram.getMaxNanos());
+        histogram.recordSince(0);
+        assertEquals(3, histogram.getCount());
+    }
+
+    @Test
+    void whenRecordedConcurrently_noLatencyIsLost() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                long nanos = 1L << thread * 3;
+                executor.execute(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        histogram.record(nanos);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        assertEquals(800_000, histogram.getCount());
+        assertEquals(1L << 21, histogram.getMaxNanos());
+        assertEquals(1023, histogram.getP50Nanos());
+        assertEquals(1L << 21, histogram.getP999Nanos());
+    }
+}
@@ -5,8 +5,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -258,6 +262,40 @@ class BattlefieldTest {
         assertTrue(battlefield.parsePositionToken(token).isPresent());
     }
 
+    @ParameterizedTest
+    @MethodSource("provideInvalidPositionTokens")
+    void whenInvalidToken_parsePositionGivesNoPosition(String token) {
+        assertEquals(Battlefield.NO_POSITION, battlefield.parsePosition(token));
+        byte[] bytes = token.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(Battlefield.NO_POSITION, battlefield.parsePosition(bytes, 0, bytes.length));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"A1, 0, 0", "a1, 0, 0", "A10, 0, 9", "j10, 9, 9", "I7, 8, 6", "C007, 2, 6"})
+    void whenValidToken_parsePositionPacksIndices(String token, int row, int column) {
+        int position = battlefield.parsePosition(token);
+        assertEquals(row, Battlefield.positionRow(position));
+        assertEquals(column, Battlefield.positionColumn(position));
+        byte[] bytes = token.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(position, battlefield.parsePosition(bytes, 0, bytes.length));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "A", "A99999999999", "A1\u00e9"})
+    void whenOddToken_parsePositionGivesNoPosition(String token) {
+        assertEquals(Battlefield.NO_POSITION, battlefield.parsePosition(token));
+    }
+
+    @Test
+    void whenTokenInsideLine_parsePositionReadsRangeOnly() {
+        String line = "B3 J10";
+        byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(1 << 16 | 2, battlefield.parsePosition(line, 0, 2));
+        assertEquals(9 << 16 | 9, battlefield.parsePosition(line, 3, 6));
+        assertEquals(9 << 16 | 9, battlefield.parsePosition(bytes, 3, 6));
+        assertEquals(Battlefield.NO_POSITION, battlefield.parsePosition(line, 0, 3));
+    }
+
     @Test
     void whenTokenA1_parsePositionTokenWorks() {
         assertTrue(battlefield.parsePositionToken("A1").isPresent());
@@ -271,4 +309,120 @@ class BattlefieldTest {
         assertEquals(9, battlefield.parsePositionToken("J10").get().row);
         assertEquals(9, battlefield.parsePositionToken("J10").get().column);
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @EnumSource(BattlefieldCell.class)
+    void whenCellSet_getCellAndFieldViewReturnIt(BattlefieldCell type) {
+        battlefield.setCell(3, 9, type);
+        assertEquals(type, battlefield.getCell(3, 9));
+        assertEquals(type, battlefield.getField()[3][9]);
+        assertEquals(BattlefieldCell.WATER, battlefield.getCell(3, 8));
+        assertEquals(BattlefieldCell.WATER, battlefield.getCell(2, 9));
+    }
+
+    @Test
+    void whenShipCellsHit_allShipsSunkOnlyAfterLastCell() {
+        assertTrue(battlefield.allShipsSunk());
+        assertTrue(battlefield.couldPositionShip(List.of("B2", "B3"), new Battleship("a", 2)));
+        assertTrue(battlefield.couldPositionShip(List.of("J10", "I10"), new Battleship("b", 2)));
+        assertTrue(battlefield.hasShipAt(8, 9));
+        assertFalse(battlefield.hasShipAt(7, 9));
+        battlefield.setCell(1, 1, BattlefieldCell.HIT);
+        battlefield.setCell(1, 2, BattlefieldCell.HIT);
+        battlefield.setCell(9, 9, BattlefieldCell.HIT);
+        battlefield.setCell(0, 0, BattlefieldCell.MISS);
+        assertFalse(battlefield.allShipsSunk());
+        battlefield.setCell(8, 9, BattlefieldCell.HIT);
+        assertTrue(battlefield.allShipsSunk());
+        assertTrue(battlefield.hasShipAt(8, 9));
+    }
+
+    @Test
+    void whenMissNextToPosition_couldPositionShipFails() {
+        battlefield.setCell(4, 4, BattlefieldCell.MISS);
+        assertFalse(battlefield.couldPositionShip(List.of("D1", "D4"), new Battleship("a", 4)));
+        assertTrue(battlefield.couldPositionShip(List.of("C1", "C4"), new Battleship("a", 4)));
+    }
+
+    @Test
+    void whenShipPositioned_shipAtResolvesItsCellsOnly() {
+        Battleship ship = new Battleship("a", 3);
+        assertTrue(battlefield.couldPositionShip(List.of("C5", "E5"), ship));
+        assertSame(ship, battlefield.shipAt(2, 4));
+        assertSame(ship, battlefield.shipAt(4, 4));
+        assertNull(battlefield.shipAt(5, 4));
+        assertNull(battlefield.shipAt(2, 5));
+    }
+
+    @Test
+    void whenShipsShot_applyShotGivesMissHitSunkAndWon() {
+        assertTrue(battlefield.couldPositionShip(List.of("A1", "A2"), new Battleship("a", 2)));
+        assertTrue(battlefield.couldPositionShip(List.of("C1", "D1"), new Battleship("b", 2)));
+        assertEquals(ShotResult.MISSED, battlefield.applyShot(new Shot(1, 1)));
+        assertEquals(BattlefieldCell.MISS, battlefield.getCell(1, 1));
+        assertEquals(ShotResult.HIT, battlefield.applyShot(new Shot(0, 0)));
+        assertEquals(ShotResult.HIT, battlefield.applyShot(new Shot(0, 0)));
+        assertEquals(ShotResult.SUNK, battlefield.applyShot(new Shot(0, 1)));
+        assertEquals(ShotResult.HIT, battlefield.applyShot(new Shot(0, 1)));
+        assertEquals(ShotResult.HIT, battlefield.applyShot(new Shot(3, 0)));
+        assertEquals(ShotResult.WON, battlefield.applyShot(new Shot(2, 0)));
+        assertEquals(BattlefieldCell.HIT, battlefield.getCell(2, 0));
+    }
+
+    @Test
+    void whenShipPositionGiven_tryPositionShipChecksBoundsAndOtherShips() {
+        Battleship ship = new Battleship("a", 4);
+        ship.setRowAligned(true);
+        ship.setRow(9);
+        ship.setColumn(6);
+        assertTrue(battlefield.tryPositionShip(ship));
+        Battleship other = new Battleship("b", 3);
+        other.setRowAligned(false);
+        other.setRow(7);
+        other.setColumn(9);
+        assertFalse(battlefield.tryPositionShip(other));
+        other.setRow(6);
+        other.setColumn(0);
+        assertTrue(battlefield.tryPositionShip(other));
+        Battleship outside = new Battleship("c", 2);
+        outside.setRowAligned(true);
+        outside.setRow(0);
+        outside.setColumn(9);
+        assertFalse(battlefield.tryPositionShip(outside));
+        assertNull(battlefield.shipAt(0, 9));
+    }
+
+    @Test
+    void whenShotsApplied_observedHashIsIndependentOfOrderAndTracksSunkShips() {
+        assertEquals(0, battlefield.getObservedHash());
+        Battlefield other = new Battlefield(10);
+        for (Battlefield field : List.of(battlefield, other)) {
+            assertTrue(field.couldPositionShip(List.of("A1", "A2"), new Battleship("a", 2)));
+        }
+        battlefield.applyShot(new Shot(0, 0));
+        long hit = battlefield.getObservedHash();
+        assertEquals(ZobristKeys.key(0, ZobristKeys.HIT), hit);
+        battlefield.applyShot(new Shot(5, 5));
+        battlefield.applyShot(new Shot(5, 5));
+        assertEquals(ShotResult.WON, battlefield.applyShot(new Shot(0, 1)));
+        other.applyShot(new Shot(0, 1));
+        other.applyShot(new Shot(5, 5));
+        other.applyShot(new Shot(0, 0));
+        assertEquals(ZobristKeys.hash(0b11, ZobristKeys.SUNK) ^ ZobristKeys.key(55, ZobristKeys.MISS),
+                battlefield.getObservedHash());
+        assertEquals(battlefield.getObservedHash(), other.getObservedHash());
+    }
+
+    @Test
+    void whenCellsSet_observedHashFollowsAndReturnsWhenReverted() {
+        battlefield.setCell(2, 3, BattlefieldCell.MISS);
+        assertEquals(ZobristKeys.key(23, ZobristKeys.MISS), battlefield.getObservedHash());
+        battlefield.setCell(2, 3, BattlefieldCell.HIT);
+        assertEquals(ZobristKeys.key(23, ZobristKeys.HIT), battlefield.getObservedHash());
+        battlefield.setCell(2, 3, BattlefieldCell.SHIP);
+        assertEquals(0, battlefield.getObservedHash());
+        battlefield.setCell(4, 4, BattlefieldCell.MISS);
+        battlefield.setCell(4, 4, BattlefieldCell.WATER);
+        assertEquals(0, battlefield.getObservedHash());
+    }
+}
@@ -127,4 +127,16 @@ class BattleshipTest {
         assertTrue(battleship.hitsShip(0,1));
         assertEquals(0, battleship.remainingCells());
     }
+
+    @Test
+    void whenHitsApplied_isSunkAndHitCellsFollowHitMask() {
+        assertFalse(battleship.isSunk());
+        assertTrue(battleship.hitsShip(0,1));
+        assertArrayEquals(new Boolean[] {false, true, false}, battleship.getHitCells());
+        assertEquals(0b010, battleship.getHitMask());
+        assertTrue(battleship.hitsShip(0,0));
+        assertTrue(battleship.hitsShip(0,2));
+        assertTrue(battleship.isSunk());
+        assertEquals(0b111, battleship.getHitMask());
+    }
 }
\ No newline at end of file
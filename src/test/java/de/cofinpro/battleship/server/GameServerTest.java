@@ -0,0 +1,59 @@
+package de.cofinpro.battleship.server;
+
+import de.cofinpro.battleship.config.GameConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+
+    GameServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new GameServer(GameConfig.fromProperties(), 0);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void whenClientConnects_serverSpeaksLineProtocol() throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter writer = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            assertEquals("WELCOME 10 2,2", reader.readLine());
+            writer.println("PLACE RANDOM");
+            assertEquals("READY", reader.readLine());
+            writer.println("SHOOT B2");
+            assertTrue(reader.readLine().startsWith("RESULT "));
+            writer.println("QUIT");
+            assertEquals("BYE", reader.readLine());
+            assertNull(reader.readLine());
+        }
+    }
+
+    @Test
+    void loadGeneratorPlaysAllGamesConcurrently() throws InterruptedException {
+        LoadReport report = new LoadGenerator(server.getPort(), 200, 3).run();
+        assertEquals(600, report.getGames());
+        assertEquals(600, server.getFinishedGames());
+        assertTrue(report.getTurns() >= 600);
+        assertTrue(report.turnLatencyPercentile(99) >= report.turnLatencyPercentile(50));
+        assertTrue(report.gamesPerSecond() > 0);
+    }
+}
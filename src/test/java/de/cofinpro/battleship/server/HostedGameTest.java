@@ -0,0 +1,118 @@
+package de.cofinpro.battleship.server;
+
+import de.cofinpro.battleship.config.GameConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostedGameTest {
+
+    HostedGame game;
+
+    @BeforeEach
+    void setUp() {
+        game = new HostedGame(GameConfig.fromProperties());
+    }
+
+    @Test
+    void welcomeGivesFieldSizeAndShipLengths() {
+        assertEquals("WELCOME 10 2,2", game.welcome());
+    }
+
+    @Test
+    void whenShipsPlaced_placeGivesOkThenReady() {
+        assertTrue(game.respond("PLACE A1 A2").startsWith("OK "));
+        String rejected = game.respond("PLACE B1 B2");
+        assertTrue(rejected.startsWith("ERROR") && rejected.endsWith("rejected by distance"), rejected);
+        assertEquals("READY", game.respond("PLACE C1 D1"));
+        assertTrue(game.respond("PLACE RANDOM").startsWith("ERROR"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"PLACE A1 A3", "PLACE A1", "PLACE Z1 Z2", "SHOOT A1", "JUMP", "SHOOT"})
+    void whenCommandInvalid_respondGivesError(String line) {
+        assertTrue(game.respond(line).startsWith("ERROR"));
+    }
+
+    @Test
+    void whenShotAnswered_resultContainsServerShot() {
+        assertEquals("READY", game.respond("PLACE RANDOM"));
+        String[] result = game.respond("SHOOT J10").split(" ");
+        assertEquals("RESULT", result[0]);
+        assertTrue(result[1].matches("MISSED|HIT|SUNK"));
+        assertEquals(4, result.length);
+        assertTrue(result[2].matches("[A-J]([1-9]|10)"));
+        assertTrue(game.respond("SHOOT K1").startsWith("ERROR"));
+    }
+
+    @Test
+    void whenShootingAllCells_gameIsOverAndNewStartsAgain() {
+        game.respond("PLACE RANDOM");
+        String result = "";
+        for (int cell = 0; cell < 100 && !game.isOver(); cell++) {
+            result = game.respond("SHOOT " + (char) ('A' + cell / 10) + (cell % 10 + 1));
+        }
+        assertTrue(game.isOver());
+        assertWinnerAnswered(game, result);
+        assertTrue(game.respond("SHOOT A1").startsWith("ERROR"));
+        assertEquals("WELCOME 10 2,2", game.respond("NEW"));
+        assertFalse(game.isOver());
+    }
+
+    @Test
+    void whenRestoredFromSnapshot_gameContinuesWithSameBoards() {
+        game.respond("PLACE A1 A2");
+        HostedGame placing = HostedGame.restore(GameConfig.fromProperties(), game.snapshot());
+        assertFalse(placing.isFleetPlaced());
+        assertEquals("READY", placing.respond("PLACE C1 D1"));
+        // sinking two ships of 2 cells takes at least 4 hits, so the game is still running after 3 shots each
+        for (int cell = 0; cell < 3; cell++) {
+            assertTrue(placing.respond("SHOOT " + (char) ('A' + cell / 10) + (cell % 10 + 1)).startsWith("RESULT"));
+        }
+        assertFalse(placing.isOver());
+
+        HostedGame restored = HostedGame.restore(GameConfig.fromProperties(), placing.snapshot());
+        assertTrue(restored.isFleetPlaced());
+        assertFalse(restored.isOver());
+        assertEquals(HttpGameApi.board("1", placing), HttpGameApi.board("1", restored));
+        String result = "";
+        for (int cell = 3; cell < 100 && !restored.isOver(); cell++) {
+            result = restored.respond("SHOOT " + (char) ('A' + cell / 10) + (cell % 10 + 1));
+        }
+        assertTrue(restored.isOver());
+        assertWinnerAnswered(restored, result);
+    }
+
+    /**
+     * asserts the last response names the winner: "RESULT WON" for the client, the server's winning shot else.
+     */
+    private static void assertWinnerAnswered(HostedGame game, String result) {
+        if (game.isClientWinner()) {
+            assertEquals("RESULT WON", result);
+        } else {
+            assertTrue(result.matches("RESULT (MISSED|HIT|SUNK) [A-J]([1-9]|10) WON"), result);
+        }
+    }
+
+    @Test
+    void whenQuit_respondGivesBye() {
+        assertEquals("BYE", game.respond("QUIT"));
+        assertTrue(game.isQuit());
+    }
+
+    @Test
+    void whenDefaultLocaleTurkish_lowerCaseCommandIsKnown() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertEquals("BYE", game.respond("quit"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package de.cofinpro.battleship.server;
+
+import de.cofinpro.battleship.config.GameConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpGameApiTest {
+
+    HttpGameApi api;
+    HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        api = new HttpGameApi(GameConfig.fromProperties(), 0);
+        api.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        api.close();
+    }
+
+    @Test
+    void whenGameCreated_idAndFleetReturned() throws IOException, InterruptedException {
+        HttpResponse<String> response = send("POST", "/games", "");
+        assertEquals(201, response.statusCode());
+        assertTrue(response.body().matches("\\{\"id\":\"\\w+\",\"size\":10,\"ships\":\\[2,2]}"));
+        assertEquals(1, api.getGames());
+    }
+
+    @Test
+    void whenFleetPlacedAndShot_boardShowsResults() throws IOException, InterruptedException {
+        String id = createGame();
+        HttpResponse<String> placed = send("POST", "/games/" + id + "/fleet", "A1 A2\nC1 D1");
+        assertEquals("{\"placed\":2,\"ready\":true}", placed.body());
+
+        HttpResponse<String> shot = send("POST", "/games/" + id + "/shots?cell=J10", "");
+        assertEquals(200, shot.statusCode());
+        assertTrue(shot.body().matches("\\{\"result\":\"(MISSED|HIT|SUNK)\",\"answer\":\"[A-J]\\d+\","
+                + "\"answerResult\":\"(MISSED|HIT|SUNK)\",\"over\":false}"));
+
+        String board = send("GET", "/games/" + id, "").body();
+        assertTrue(board.startsWith("{\"id\":\"" + id + "\",\"size\":10,\"ready\":true,\"over\":false,"
+                + "\"winner\":null,\"own\":[\""));
+        Matcher own = Pattern.compile("\"own\":\\[\"([.OXM]{10})\"").matcher(board);
+        assertTrue(own.find());
+        assertTrue(own.group(1).matches("[OX]{2}[.M]{8}"));
+        assertTrue(board.matches(".*\"target\":\\[(\"[.XM]{10}\",){9}\"[.XM]{9}[XM]\"]}"));
+    }
+
+    @Test
+    void whenGameDeleted_itIsGone() throws IOException, InterruptedException {
+        String id = createGame();
+        assertEquals(204, send("DELETE", "/games/" + id, "").statusCode());
+        assertEquals(404, send("GET", "/games/" + id, "").statusCode());
+        assertEquals(0, api.getGames());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "GET, /games, 405",
+            "GET, /games/unknown, 404",
+            "POST, /games/ID/shots?cell=A1, 409",
+            "POST, /games/ID/board, 404",
+            "PUT, /games/ID, 405",
+            "POST, /games/ID/fleet, 200"
+    })
+    void requestsAreAnsweredWithStatus(String method, String path, int status)
+            throws IOException, InterruptedException {
+        String id = createGame();
+        HttpResponse<String> response = send(method, path.replace("ID", id), "");
+        assertEquals(status, response.statusCode());
+        if (status >= 400) {
+            assertTrue(response.body().startsWith("{\"error\":\""));
+        }
+    }
+
+    @Test
+    void whenShotInvalid_badRequest() throws IOException, InterruptedException {
+        String id = createGame();
+        send("POST", "/games/" + id + "/fleet", "random");
+        assertEquals(400, send("POST", "/games/" + id + "/shots?cell=K1", "").statusCode());
+        assertEquals(400, send("POST", "/games/" + id + "/shots", "").statusCode());
+    }
+
+    @Test
+    void whenCheckpointRestored_gamesAreBackAndNewIdsContinue(@TempDir Path directory)
+            throws IOException, InterruptedException {
+        String id = createGame();
+        send("POST", "/games/" + id + "/fleet", "random");
+        send("POST", "/games/" + id + "/shots?cell=E5", "");
+        createGame();
+        String board = send("GET", "/games/" + id, "").body();
+        Path checkpoint = directory.resolve("games.checkpoint");
+        assertEquals(2, api.checkpoint(checkpoint));
+
+        api.close();
+        api = new HttpGameApi(GameConfig.fromProperties(), 0);
+        assertEquals(2, api.restore(checkpoint));
+        api.start();
+        assertEquals(board, send("GET", "/games/" + id, "").body());
+        assertEquals(200, send("POST", "/games/" + id + "/shots?cell=F6", "").statusCode());
+        assertNotEquals(id, createGame());
+        assertEquals(3, api.getGames());
+    }
+
+    String createGame() throws IOException, InterruptedException {
+        Matcher matcher = Pattern.compile("\"id\":\"(\\w+)\"").matcher(send("POST", "/games", "").body());
+        assertTrue(matcher.find());
+        return matcher.group(1);
+    }
+
+    HttpResponse<String> send(String method, String path, String body) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + api.getPort() + path))
+                .method(method, HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
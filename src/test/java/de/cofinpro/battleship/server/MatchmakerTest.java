@@ -0,0 +1,128 @@
+package de.cofinpro.battleship.server;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchmakerTest {
+
+    List<Runnable> pendingGames;
+    List<String> played;
+    Matchmaker<String, Integer> matchmaker;
+
+    @BeforeEach
+    void setUp() {
+        pendingGames = new ArrayList<>();
+        played = new ArrayList<>();
+        matchmaker = new Matchmaker<>(pendingGames::add, (first, second) -> played.add(first + "-" + second));
+    }
+
+    @Test
+    void whenTwoPlayersInBucket_theyArePairedAndHandedToWorker() {
+        Matchmaker.Ticket<String> first = matchmaker.enqueue("a", 10);
+        assertFalse(first.isMatched());
+        assertEquals(1, matchmaker.getMetrics().getWaitingPlayers());
+
+        Matchmaker.Ticket<String> second = matchmaker.enqueue("b", 10);
+        assertTrue(first.isMatched());
+        assertTrue(second.isMatched());
+        MatchmakingMetrics metrics = matchmaker.getMetrics();
+        assertEquals(0, metrics.getWaitingPlayers());
+        assertEquals(1, metrics.getPendingPairs());
+        assertEquals(1, metrics.getPairings());
+
+        pendingGames.forEach(Runnable::run);
+        assertEquals(List.of("a-b"), played);
+        assertEquals(0, matchmaker.getMetrics().getPendingPairs());
+    }
+
+    @Test
+    void whenPlayersInDifferentBuckets_theyWait() {
+        matchmaker.enqueue("a", 10);
+        matchmaker.enqueue("b", 8);
+        assertEquals(2, matchmaker.getMetrics().getWaitingPlayers());
+        assertEquals(0, matchmaker.getMetrics().getPairings());
+        matchmaker.enqueue("c", 8);
+        assertEquals(1, matchmaker.getMetrics().getWaitingPlayers());
+        pendingGames.forEach(Runnable::run);
+        assertEquals(List.of("b-c"), played);
+    }
+
+    @Test
+    void whenCancelled_playerIsNotPaired() {
+        Matchmaker.Ticket<String> ticket = matchmaker.enqueue("a", 10);
+        assertTrue(matchmaker.cancel(ticket, 10));
+        assertFalse(matchmaker.cancel(ticket, 10));
+        matchmaker.enqueue("b", 10);
+        assertEquals(1, matchmaker.getMetrics().getWaitingPlayers());
+        assertEquals(0, matchmaker.getMetrics().getPairings());
+    }
+
+    @Test
+    void whenMatched_cancelFails() {
+        Matchmaker.Ticket<String> ticket = matchmaker.enqueue("a", 10);
+        matchmaker.enqueue("b", 10);
+        assertFalse(matchmaker.cancel(ticket, 10));
+    }
+
+    @Test
+    void whenPlayersArriveConcurrently_everyPlayerIsPairedExactlyOnce() throws InterruptedException {
+        int threads = 8;
+        int playersPerThread = 20_000;
+        Map<Integer, Integer> games = new ConcurrentHashMap<>();
+        AtomicInteger pairs = new AtomicInteger();
+        Matchmaker<Integer, Integer> concurrent = new Matchmaker<>(Runnable::run, (first, second) -> {
+            pairs.incrementAndGet();
+            assertNull(games.put(first, second));
+            assertNull(games.put(second, first));
+        });
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * playersPerThread;
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int player = offset; player < offset + playersPerThread; player++) {
+                    concurrent.enqueue(player, player % 4);
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        MatchmakingMetrics metrics = concurrent.getMetrics();
+        assertEquals(threads * playersPerThread / 2, pairs.get());
+        assertEquals(threads * playersPerThread, games.size());
+        assertEquals(pairs.get(), metrics.getPairings());
+        assertEquals(0, metrics.getWaitingPlayers());
+        assertEquals(0, metrics.getPendingPairs());
+        assertTrue(metrics.getP99WaitNanos() <= metrics.getMaxWaitNanos());
+        assertEquals(2 * pairs.get(), concurrent.getWaits().getCount());
+        games.forEach((player, opponent) -> assertEquals(player % 4, opponent % 4));
+    }
+
+    @Test
+    void whenPlayersPaired_bothWaitsAreRecorded() {
+        matchmaker.enqueue("a", 10);
+        matchmaker.enqueue("b", 10);
+        assertEquals(2, matchmaker.getWaits().getCount());
+        assertEquals(0, matchmaker.getWaits().percentileNanos(50));
+        MatchmakingMetrics metrics = matchmaker.getMetrics();
+        assertEquals(matchmaker.getWaits().getMaxNanos(), metrics.getMaxWaitNanos());
+        assertEquals(metrics.getMaxWaitNanos() / 2.0, metrics.getMeanWaitNanos());
+        assertTrue(metrics.getP99WaitNanos() <= metrics.getMaxWaitNanos());
+    }
+}
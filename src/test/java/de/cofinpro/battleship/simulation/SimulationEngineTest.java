@@ -0,0 +1,51 @@
+package de.cofinpro.battleship.simulation;
+
+import de.cofinpro.battleship.ai.RandomPlacer;
+import de.cofinpro.battleship.ai.RandomShooter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationEngineTest {
+
+    private final Strategy random = new Strategy("random", RandomPlacer::new, RandomShooter::new);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 8})
+    void whenRunOnThreads_reportCountsAllGames(int threads) {
+        SimulationReport report = new SimulationEngine(10, List.of(5, 4, 3, 3, 2), random, random)
+                .run(1000, threads);
+        assertEquals(1000, report.getGames());
+        assertEquals(1000, report.getWins(0) + report.getWins(1));
+        assertEquals(1000, Arrays.stream(report.getShotsToWinHistogram()).sum());
+        assertTrue(report.getElapsedNanos() > 0);
+        assertTrue(report.gamesPerSecond() > 0);
+    }
+
+    @Test
+    void whenRandomShooters_shotsToWinBetweenFleetCellsAndFieldCells() {
+        SimulationReport report = new SimulationEngine(5, List.of(2, 2), random, random).run(500, 2);
+        assertTrue(report.shotsToWinPercentile(Double.MIN_VALUE) >= 4);
+        assertTrue(report.shotsToWinPercentile(100) <= 25);
+        assertTrue(report.meanShotsToWin() >= 4 && report.meanShotsToWin() <= 25);
+        assertTrue(report.summary().contains("500 games"));
+    }
+
+    @Test
+    void whenGamePlayed_winnerHasSunkAllShips() {
+        HeadlessGame game = new HeadlessGame(2, List.of(2),
+                new RandomPlacer(new SplittableRandom(1)), new RandomShooter(new SplittableRandom(2)),
+                new RandomPlacer(new SplittableRandom(3)), new RandomShooter(new SplittableRandom(4)));
+        for (int i = 0; i < 100; i++) {
+            GameResult result = game.play();
+            assertTrue(result.getWinnerShots() >= 2 && result.getWinnerShots() <= 4);
+            assertEquals(2 * result.getWinnerShots() - 1 + result.getWinner(), result.getTotalShots());
+        }
+    }
+}
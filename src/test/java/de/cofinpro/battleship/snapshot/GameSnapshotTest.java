@@ -0,0 +1,110 @@
+package de.cofinpro.battleship.snapshot;
+
+import de.cofinpro.battleship.ai.RandomFleetPlacer;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.ShipType;
+import de.cofinpro.battleship.model.Shot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSnapshotTest {
+
+    static final List<ShipType> CLASSIC = List.of(new ShipType("Aircraft Carrier", 5),
+            new ShipType("Battleship", 4), new ShipType("Submarine", 3), new ShipType("Cruiser", 3),
+            new ShipType("Destroyer", 2));
+
+    @ParameterizedTest
+    @CsvSource({"0, 0", "1, 30", "2, 70", "3, 100"})
+    void whenGameEncoded_decodeRestoresBattlefieldsAndFleets(long seed, int shots) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Battlefield first = placedFleet(random);
+        Battlefield second = placedFleet(random);
+        shoot(first, shots, random);
+        shoot(second, shots / 2, random);
+
+        byte[] snapshot = GameSnapshot.encode(CLASSIC, 1, first, second);
+        assertEquals(39, snapshot.length);
+        GameSnapshot restored = GameSnapshot.decode(CLASSIC, snapshot);
+
+        assertEquals(1, restored.getTurn());
+        assertSameState(first, restored.getBattlefield(0));
+        assertSameState(second, restored.getBattlefield(1));
+        assertEquals(liveShips(first), restored.getFleet(0));
+        assertEquals(liveShips(second), restored.getFleet(1));
+    }
+
+    @Test
+    void whenFleetPartlyPositioned_fleetKeepsShipsToPosition() {
+        Battlefield first = new Battlefield(10);
+        Battleship carrier = new Battleship(CLASSIC.get(0));
+        carrier.setRow(2);
+        carrier.setColumn(3);
+        carrier.setRowAligned(false);
+        assertTrue(first.tryPositionShip(carrier));
+
+        GameSnapshot restored = GameSnapshot.decode(CLASSIC,
+                GameSnapshot.encode(CLASSIC, 0, first, new Battlefield(10)));
+
+        assertEquals(List.of(carrier), restored.getBattlefield(0).getShips());
+        assertEquals(5, restored.getFleet(0).size());
+        assertEquals(CLASSIC.get(1), restored.getFleet(0).get(1).getType());
+        assertTrue(restored.getBattlefield(1).getShips().isEmpty());
+        assertEquals(CLASSIC.size(), restored.getFleet(1).size());
+    }
+
+    @Test
+    void whenShipsOutOfTemplateOrder_encodeThrows() {
+        Battlefield first = new Battlefield(10);
+        Battleship destroyer = new Battleship(CLASSIC.get(4));
+        first.tryPositionShip(destroyer);
+        assertThrows(IllegalArgumentException.class,
+                () -> GameSnapshot.encode(CLASSIC, 0, first, new Battlefield(10)));
+    }
+
+    @Test
+    void whenSnapshotCorrupt_decodeThrows() {
+        SplittableRandom random = new SplittableRandom(4);
+        byte[] snapshot = GameSnapshot.encode(CLASSIC, 0, placedFleet(random), placedFleet(random));
+        assertThrows(IllegalArgumentException.class,
+                () -> GameSnapshot.decode(CLASSIC, Arrays.copyOf(snapshot, snapshot.length - 6)));
+        byte[] otherVersion = snapshot.clone();
+        otherVersion[0]++;
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.decode(CLASSIC, otherVersion));
+    }
+
+    private static Battlefield placedFleet(SplittableRandom random) {
+        List<Battleship> fleet = new ArrayList<>();
+        CLASSIC.forEach(type -> fleet.add(new Battleship(type)));
+        return new RandomFleetPlacer(random).placeFleet(10, fleet);
+    }
+
+    private static void shoot(Battlefield battlefield, int shots, SplittableRandom random) {
+        for (int i = 0; i < shots; i++) {
+            battlefield.applyShot(new Shot(random.nextInt(10), random.nextInt(10)));
+        }
+    }
+
+    private static List<Battleship> liveShips(Battlefield battlefield) {
+        return battlefield.getShips().stream().filter(ship -> !ship.isSunk()).toList();
+    }
+
+    private static void assertSameState(Battlefield expected, Battlefield actual) {
+        assertEquals(expected.getSize(), actual.getSize());
+        assertEquals(expected.getShips(), actual.getShips());
+        for (int row = 0; row < expected.getSize(); row++) {
+            for (int column = 0; column < expected.getSize(); column++) {
+                assertEquals(expected.getCell(row, column), actual.getCell(row, column));
+            }
+        }
+        assertEquals(expected.allShipsSunk(), actual.allShipsSunk());
+    }
+}
@@ -0,0 +1,89 @@
+package de.cofinpro.battleship.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardSymmetryTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 5, 8})
+    void whenCellsTransformed_everySymmetryIsPermutationOfTheField(int fieldSize) {
+        BoardSymmetry symmetry = BoardSymmetry.of(fieldSize);
+        long field = FleetLayouts.of(fieldSize, List.of(1)).fieldMask();
+        for (int s = 0; s < BoardSymmetry.SYMMETRIES; s++) {
+            long image = 0;
+            for (int cell = 0; cell < fieldSize * fieldSize; cell++) {
+                image |= 1L << symmetry.transformCell(cell, s);
+                assertEquals(1L << symmetry.transformCell(cell, s), symmetry.transform(1L << cell, s));
+                assertEquals(cell, symmetry.transformCell(symmetry.transformCell(cell, s),
+                        BoardSymmetry.inverse(s)));
+            }
+            assertEquals(field, image);
+            assertEquals(field, symmetry.transform(field, s));
+        }
+    }
+
+    @Test
+    void whenCornerTransformed_rotationsAndMirrorsMapAsExpected() {
+        BoardSymmetry symmetry = BoardSymmetry.of(3);
+        // cell (0, 1) - the middle of the top row
+        int[] expected = {1, 5, 7, 3, 1, 7, 3, 5};
+        for (int s = 0; s < BoardSymmetry.SYMMETRIES; s++) {
+            assertEquals(expected[s], symmetry.transformCell(1, s));
+        }
+        assertEquals(0b100_100_100L, symmetry.transform(0b000_000_111L, 1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 7, 8})
+    void whenStateTransformed_allImagesHaveTheSameCanonicalRepresentative(int fieldSize) {
+        BoardSymmetry symmetry = BoardSymmetry.of(fieldSize);
+        long field = FleetLayouts.of(fieldSize, List.of(1)).fieldMask();
+        SplittableRandom random = new SplittableRandom(fieldSize);
+        for (int i = 0; i < 100; i++) {
+            long hits = random.nextLong() & random.nextLong() & field;
+            KnowledgeState state = new KnowledgeState(random.nextLong() & random.nextLong() & field & ~hits, hits,
+                    hits & random.nextLong());
+            KnowledgeState canonical = symmetry.canonical(state);
+            for (int s = 0; s < BoardSymmetry.SYMMETRIES; s++) {
+                KnowledgeState image = new KnowledgeState(symmetry.transform(state.getMisses(), s),
+                        symmetry.transform(state.getHits(), s), symmetry.transform(state.getSunk(), s));
+                assertEquals(canonical, symmetry.canonical(image));
+                assertEquals(canonical.getZobristHash(), symmetry.canonical(image).getZobristHash());
+            }
+        }
+    }
+
+    @Test
+    void whenStateSymmetric_stabilizerHoldsItsSymmetries() {
+        BoardSymmetry symmetry = BoardSymmetry.of(3);
+        assertEquals(BoardSymmetry.ALL, BoardSymmetry.stabilizerOf(symmetry.canonicalForm(0, 0, 0)));
+        assertEquals(BoardSymmetry.ALL, BoardSymmetry.stabilizerOf(symmetry.canonicalForm(0b000_010_000L, 0, 0)));
+        // the top row is kept by the identity and the mirror at the vertical axis only
+        assertEquals(0b1_0001, BoardSymmetry.stabilizerOf(symmetry.canonicalForm(0b000_000_111L, 0, 0)));
+        // the main diagonal is kept by the identity, the rotation by 180 degrees and the diagonal mirrors
+        assertEquals(0b1100_0101, BoardSymmetry.stabilizerOf(symmetry.canonicalForm(0, 0b100_010_001L, 0)));
+    }
+
+    @Test
+    void whenBoardCanonical_smallestImageIsChosen() {
+        BoardSymmetry symmetry = BoardSymmetry.of(3);
+        assertEquals(1L, symmetry.canonical(1L << 8));
+        assertEquals(0b000_000_111L, symmetry.canonical(0b100_100_100L));
+        int form = symmetry.canonicalForm(1L << 8, 0, 0);
+        assertEquals(1L, symmetry.transform(1L << 8, BoardSymmetry.symmetryOf(form)));
+    }
+
+    @Test
+    void whenFieldSizeUnsupported_ofThrows() {
+        assertThrows(IllegalArgumentException.class, () -> BoardSymmetry.of(1));
+        assertThrows(IllegalArgumentException.class, () -> BoardSymmetry.of(9));
+        assertSame(BoardSymmetry.of(4), BoardSymmetry.of(4));
+    }
+}
@@ -0,0 +1,115 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.ai.ProbabilityDensityShooter;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExactSolverTest {
+
+    @ParameterizedTest
+    @CsvSource({"2, 1, 2.5", "2, 2, 3.0", "3, 1, 5.0", "3, 2, 4.5", "3, 1 1, 4.8125"})
+    void whenSmallFleetSolved_expectedShotsAreExact(int fieldSize, String lengths, double expected) {
+        assertEquals(expected, new ExactSolver(fieldSize, FleetLayoutsTest.lengths(lengths)).solve(), 1e-12);
+    }
+
+    @Test
+    void whenSolvedSequentiallyOrInParallel_valuesAgree() {
+        FleetLayouts layouts = FleetLayouts.of(4, List.of(2, 2));
+        double sequential = new ExactSolver(layouts, new TranspositionTable(1 << 16), new ForkJoinPool(1), 0).solve();
+        ExactSolver parallel = new ExactSolver(layouts, new TranspositionTable(1 << 16), new ForkJoinPool(4),
+                ExactSolver.PARALLEL_DEPTH);
+        assertEquals(sequential, parallel.solve(), 1e-9);
+        assertEquals(786.0 / 98, sequential, 1e-9);
+        assertTrue(parallel.getStates() > 0);
+    }
+
+    @Test
+    void whenTableTooSmallForAllStates_solutionStaysExact() {
+        ExactSolver solver = new ExactSolver(3, List.of(1, 1), new TranspositionTable(16));
+        assertEquals(4.8125, solver.solve(), 1e-12);
+        TranspositionTable table = solver.getTable();
+        assertTrue(table.getReplacements() > 0);
+        assertTrue(table.getCollisions() > 0);
+        assertTrue(table.getHitRate() > 0);
+    }
+
+    @Test
+    void whenStateReachedByShots_zobristHashEqualsBattlefieldsObservedHash() {
+        ExactSolver solver = new ExactSolver(4, List.of(3, 2));
+        int layout = 17;
+        Battlefield battlefield = new Battlefield(4);
+        solver.getLayouts().positionedShips(layout).forEach(battlefield::tryPositionShip);
+        KnowledgeState state = KnowledgeState.INITIAL;
+        OptimalShooter shooter = new OptimalShooter(solver);
+        shooter.newGame(4, solver.getLayouts().positionedShips(layout));
+        ShotResult result;
+        do {
+            Shot shot = shooter.nextShot();
+            result = battlefield.applyShot(shot);
+            shooter.shotResult(shot, result);
+            state = state.afterShot(4, shot, result);
+            assertEquals(battlefield.getObservedHash(), state.getZobristHash());
+            assertEquals(KnowledgeState.zobristHash(state.getMisses(), state.getHits(), state.getSunk()),
+                    state.getZobristHash());
+        } while (result != ShotResult.WON);
+        assertEquals(state, new KnowledgeState(state.getMisses(), state.getHits(), state.getSunk()));
+        assertSame(state, state.afterShot(4, new Shot(0, 0), ShotResult.MISSED));
+    }
+
+    @Test
+    void whenShootersEvaluated_optimalShooterAchievesSolutionAndDensityShooterNotBetter() {
+        ExactSolver solver = new ExactSolver(4, List.of(3, 2));
+        double optimal = solver.solve();
+        assertEquals(optimal, solver.averageShots(new OptimalShooter(solver)), 1e-9);
+        // a random generator always drawing 0 makes the density shooter deterministic
+        assertTrue(solver.averageShots(new ProbabilityDensityShooter(() -> 0L)) >= optimal);
+    }
+
+    @Test
+    void whenShotsKnown_expectedShotsAndBestShotFollowState() {
+        ExactSolver solver = new ExactSolver(3, List.of(2));
+        KnowledgeState hitCenter = KnowledgeState.INITIAL.afterShot(3, new Shot(1, 1), ShotResult.HIT);
+        // the second cell is one of 4 neighbours: 2.5 shots on average
+        assertEquals(2.5, solver.expectedShots(hitCenter), 1e-12);
+        assertEquals(new Shot(0, 1), solver.bestShot(hitCenter));
+        KnowledgeState won = hitCenter.afterShot(3, new Shot(0, 1), ShotResult.WON);
+        assertEquals(0, solver.expectedShots(won));
+        assertThrows(IllegalStateException.class, () -> solver.bestShot(won));
+        KnowledgeState impossible = hitCenter.afterShot(3, new Shot(2, 2), ShotResult.HIT);
+        assertThrows(IllegalArgumentException.class, () -> solver.expectedShots(impossible));
+    }
+
+    @Test
+    void whenShipSunk_stateMarksLineOfHitsThroughShot() {
+        KnowledgeState state = KnowledgeState.INITIAL
+                .afterShot(4, new Shot(0, 3), ShotResult.HIT)
+                .afterShot(4, new Shot(2, 1), ShotResult.HIT)
+                .afterShot(4, new Shot(3, 1), ShotResult.MISSED)
+                .afterShot(4, new Shot(1, 1), ShotResult.SUNK);
+        assertEquals(1L << 3 | 1L << 5 | 1L << 9, state.getHits());
+        assertEquals(1L << 5 | 1L << 9, state.getSunk());
+        assertEquals(1L << 13, state.getMisses());
+        assertEquals(state.getHits() | state.getMisses(), state.shotCells());
+        assertThrows(IllegalArgumentException.class,
+                () -> state.afterShot(4, new Shot(3, 3), ShotResult.NONE));
+    }
+
+    @Test
+    void whenFleetDiffersFromSolver_optimalShooterThrows() {
+        OptimalShooter shooter = new OptimalShooter(new ExactSolver(3, List.of(2)));
+        List<Battleship> fleet = List.of(new Battleship("Cruiser", 3));
+        assertThrows(IllegalArgumentException.class, () -> shooter.newGame(3, fleet));
+        List<Battleship> destroyer = List.of(new Battleship("Destroyer", 2));
+        assertThrows(IllegalArgumentException.class, () -> shooter.newGame(4, destroyer));
+    }
+}
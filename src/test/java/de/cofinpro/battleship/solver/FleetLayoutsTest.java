@@ -0,0 +1,74 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetLayoutsTest {
+
+    @ParameterizedTest
+    @CsvSource({"2, 1, 4", "2, 2, 4", "3, 1 1, 16", "4, 2, 24", "4, 2 3, 104", "5, 2 3 2, 1956", "8, 1, 64"})
+    void whenFleetEnumerated_everyLayoutIsCountedOnce(int fieldSize, String lengths, int expected) {
+        FleetLayouts layouts = FleetLayouts.of(fieldSize, lengths(lengths));
+        assertEquals(expected, layouts.size());
+        Set<Long> distinct = new HashSet<>();
+        for (int layout = 0; layout < layouts.size(); layout++) {
+            distinct.add(layouts.occupied(layout));
+        }
+        assertEquals(expected, distinct.size());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"2, 1, 1", "3, 1, 3", "3, 1 1, 4", "4, 2, 4", "4, 2 3, 13", "5, 2 3 2, 255", "8, 1, 10"})
+    void whenLayoutsCountedUpToSymmetry_symmetricLayoutsAreOneClass(int fieldSize, String lengths, int expected) {
+        assertEquals(expected, FleetLayouts.of(fieldSize, lengths(lengths)).symmetryClasses());
+    }
+
+    @Test
+    void whenLayoutsPositioned_battlefieldAcceptsEveryOne() {
+        FleetLayouts layouts = FleetLayouts.of(5, List.of(2, 3, 2));
+        assertEquals(List.of(3, 2, 2), layouts.getLengths());
+        for (int layout = 0; layout < layouts.size(); layout++) {
+            Battlefield battlefield = new Battlefield(5);
+            long occupied = 0;
+            for (Battleship ship : layouts.positionedShips(layout)) {
+                assertTrue(battlefield.tryPositionShip(ship));
+            }
+            for (int row = 0; row < 5; row++) {
+                for (int column = 0; column < 5; column++) {
+                    occupied |= battlefield.hasShipAt(row, column) ? 1L << row * 5 + column : 0;
+                }
+            }
+            assertEquals(layouts.occupied(layout), occupied);
+        }
+    }
+
+    @Test
+    void whenCellsSurrounded_neighboursWithinFieldAreAdded() {
+        FleetLayouts layouts = FleetLayouts.of(3, List.of(1));
+        assertEquals(0b000_011_011L, layouts.surrounding(0b000_000_001L));
+        assertEquals(0b111_111_111L, layouts.surrounding(0b000_010_000L));
+        assertEquals(0b110_110_000L, layouts.surrounding(0b100_000_000L));
+        assertEquals(-1L, FleetLayouts.of(8, List.of(1)).fieldMask());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 1", "9, 1", "2, 1 1", "3, 4", "3, 0", "4, ''"})
+    void whenFleetInvalidOrNotFitting_ofThrows(int fieldSize, String lengths) {
+        List<Integer> shipLengths = lengths(lengths);
+        assertThrows(IllegalArgumentException.class, () -> FleetLayouts.of(fieldSize, shipLengths));
+    }
+
+    static List<Integer> lengths(String lengths) {
+        return Arrays.stream(lengths.split(" ")).filter(length -> !length.isEmpty()).map(Integer::valueOf).toList();
+    }
+}
@@ -0,0 +1,77 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.config.GameConfig;
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LayoutEnumeratorTest {
+
+    @ParameterizedTest
+    @CsvSource({"2, 1", "3, 1 1", "4, 2", "4, 2 3", "5, 2 3 2", "5, 1 1 1", "6, 3 2 2", "6, 4 3", "7, 3 3 2"})
+    void whenLayoutsCounted_countEqualsFleetLayouts(int fieldSize, String lengths) {
+        List<Integer> shipLengths = FleetLayoutsTest.lengths(lengths);
+        LayoutEnumerator enumerator = LayoutEnumerator.of(fieldSize, shipLengths);
+        long expected = FleetLayouts.of(fieldSize, shipLengths).size();
+        assertEquals(expected, enumerator.count());
+        assertEquals(expected, enumerator.stream().count());
+        assertEquals(expected, enumerator.stream().parallel().count());
+    }
+
+    @Test
+    void whenDefaultFleetCountedOn10x10_countIsExact() {
+        assertEquals(1_925_751_392L, LayoutEnumerator.of(10, List.of(5, 4, 3, 3, 2)).count());
+        assertEquals(13_952L, LayoutEnumerator.of(10, List.of(2, 2)).count());
+    }
+
+    @Test
+    void whenLayoutsStreamed_battlefieldAcceptsEveryDistinctOne() {
+        LayoutEnumerator enumerator = LayoutEnumerator.of(6, List.of(2, 3, 2));
+        Set<BitSet> distinct = new HashSet<>();
+        enumerator.stream().parallel().forEach(layout -> {
+            Battlefield battlefield = new Battlefield(6);
+            for (Battleship ship : enumerator.positionedShips(layout)) {
+                assertTrue(battlefield.tryPositionShip(ship));
+            }
+            BitSet occupied = new BitSet();
+            for (int cell = 0; cell < 36; cell++) {
+                occupied.set(cell, battlefield.hasShipAt(cell / 6, cell % 6));
+            }
+            synchronized (distinct) {
+                assertTrue(distinct.add(occupied));
+            }
+        });
+        assertEquals(enumerator.count(), distinct.size());
+    }
+
+    @Test
+    void whenEnumeratorOfConfig_fleetOfConfigIsTaken() {
+        GameConfig config = GameConfig.fromProperties();
+        LayoutEnumerator enumerator = LayoutEnumerator.of(config);
+        assertEquals(config.getFieldSize(), enumerator.getFieldSize());
+        assertEquals(config.getShipLengths(), enumerator.getLengths());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, 1", "27, 1", "3, 4", "3, 0", "4, ''"})
+    void whenFleetInvalid_ofThrows(int fieldSize, String lengths) {
+        List<Integer> shipLengths = FleetLayoutsTest.lengths(lengths);
+        assertThrows(IllegalArgumentException.class, () -> LayoutEnumerator.of(fieldSize, shipLengths));
+    }
+
+    @Test
+    void whenProfileTooWide_countThrows() {
+        LayoutEnumerator enumerator = LayoutEnumerator.of(26, Arrays.asList(5, 4, 3, 3, 2));
+        assertThrows(IllegalArgumentException.class, enumerator::count);
+    }
+}
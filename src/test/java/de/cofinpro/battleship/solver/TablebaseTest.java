@@ -0,0 +1,91 @@
+package de.cofinpro.battleship.solver;
+
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import de.cofinpro.battleship.model.ShotResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TablebaseTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @CsvSource({"3, 1 1", "4, 2", "4, 3 2"})
+    void whenTablebasePlayed_averageShotsAreOptimal(int fieldSize, String lengths) throws IOException {
+        ExactSolver solver = new ExactSolver(fieldSize, FleetLayoutsTest.lengths(lengths));
+        Path file = directory.resolve("tablebase.bin");
+        int entries = Tablebase.generate(solver, file);
+        assertEquals(Tablebase.RECORD_SIZE * entries + 11 + solver.getLayouts().getShips(), Files.size(file));
+
+        Tablebase tablebase = Tablebase.open(file);
+        assertEquals(entries, tablebase.size());
+        assertEquals(fieldSize, tablebase.getFieldSize());
+        assertEquals(solver.getLayouts().getLengths(), tablebase.getLengths());
+        double optimum = solver.solve();
+        assertEquals(optimum, tablebase.expectedShots(KnowledgeState.INITIAL), 1e-6);
+        assertEquals(optimum, solver.averageShots(new TablebaseShooter(tablebase)), 1e-9);
+    }
+
+    @Test
+    void whenSymmetricStatesLookedUp_shotsAreSymmetricAndValuesEqual() throws IOException {
+        ExactSolver solver = new ExactSolver(4, List.of(3, 2));
+        Path file = directory.resolve("tablebase.bin");
+        Tablebase.generate(solver, file);
+        Tablebase tablebase = Tablebase.open(file);
+        BoardSymmetry symmetry = BoardSymmetry.of(4);
+        KnowledgeState state = KnowledgeState.INITIAL.afterShot(4, tablebase.bestShot(KnowledgeState.INITIAL),
+                ShotResult.MISSED);
+        Shot shot = tablebase.bestShot(state);
+        for (int s = 0; s < BoardSymmetry.SYMMETRIES; s++) {
+            KnowledgeState image = new KnowledgeState(symmetry.transform(state.getMisses(), s), 0, 0);
+            assertEquals(tablebase.expectedShots(state), tablebase.expectedShots(image));
+            assertEquals(solver.expectedShots(image), tablebase.expectedShots(image), 1e-6);
+            // the image of the shot or a cell, that a symmetry of the image state maps it to
+            Shot imageShot = tablebase.bestShot(image);
+            int cell = symmetry.transformCell(shot.getRow() * 4 + shot.getColumn(), s);
+            int stabilizer = BoardSymmetry.stabilizerOf(symmetry.canonicalForm(image.getMisses(), 0, 0));
+            boolean symmetric = false;
+            for (int t = 0; t < BoardSymmetry.SYMMETRIES; t++) {
+                symmetric |= (stabilizer & 1 << t) != 0
+                        && symmetry.transformCell(cell, t) == imageShot.getRow() * 4 + imageShot.getColumn();
+            }
+            assertTrue(symmetric);
+        }
+    }
+
+    @Test
+    void whenStateNotInTablebase_lookupsFindNothing() throws IOException {
+        Path file = directory.resolve("tablebase.bin");
+        Tablebase.generate(new ExactSolver(3, List.of(2)), file);
+        Tablebase tablebase = Tablebase.open(file);
+        KnowledgeState unreached = new KnowledgeState(0b111_000_000L, 0, 0);
+        assertNull(tablebase.bestShot(unreached));
+        assertTrue(Double.isNaN(tablebase.expectedShots(unreached)));
+        TablebaseShooter shooter = new TablebaseShooter(tablebase);
+        shooter.newGame(3, List.of(new Battleship("Destroyer", 2)));
+        assertThrows(IllegalArgumentException.class, () -> shooter.newGame(4, List.of(new Battleship("D", 2))));
+    }
+
+    @Test
+    void whenFileIsNoTablebase_openThrows() throws IOException {
+        Path file = directory.resolve("tablebase.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        assertThrows(IOException.class, () -> Tablebase.open(file));
+        Tablebase.generate(new ExactSolver(3, List.of(2)), file);
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 1));
+        assertThrows(IOException.class, () -> Tablebase.open(file));
+    }
+}
@@ -0,0 +1,100 @@
+package de.cofinpro.battleship.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @ParameterizedTest
+    @CsvSource({"1, 2", "2, 2", "3, 4", "1000, 1024", "1024, 1024"})
+    void whenCreated_capacityIsRoundedUpToPowerOfTwo(int capacity, int expected) {
+        assertEquals(expected, new TranspositionTable(capacity).getCapacity());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, 1 << 27})
+    void whenCapacityInvalid_constructorThrows(int capacity) {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(capacity));
+    }
+
+    @Test
+    void whenStored_probeFindsValueAndEmptyEntriesMatchNoKey() {
+        TranspositionTable table = new TranspositionTable(1024);
+        assertTrue(Double.isNaN(table.probe(0)));
+        table.store(0, 2.5, 1);
+        table.store(42, 7.25, 3);
+        assertEquals(2.5, table.probe(0));
+        assertEquals(7.25, table.probe(42));
+        table.store(42, 7.5, 1);
+        assertEquals(7.5, table.probe(42));
+        assertTrue(Double.isNaN(table.probe(43)));
+        assertEquals(5, table.getProbes());
+        assertEquals(3, table.getHits());
+        assertEquals(0.6, table.getHitRate());
+        assertEquals(3, table.getStores());
+        assertThrows(IllegalArgumentException.class, () -> table.store(1, 1.0, 0));
+    }
+
+    @Test
+    void whenBucketFull_resultOfMostWorkIsKeptAndNewestReplacesTheOther() {
+        TranspositionTable table = new TranspositionTable(2);
+        table.store(1, 1.0, 100);
+        table.store(2, 2.0, 10);
+        table.store(3, 3.0, 20);
+        assertEquals(1.0, table.probe(1));
+        assertTrue(Double.isNaN(table.probe(2)));
+        assertEquals(3.0, table.probe(3));
+        assertEquals(1, table.getReplacements());
+        assertEquals(1, table.getCollisions());
+        // more work takes the first entry and moves its result to the second one
+        table.store(4, 4.0, 200);
+        assertEquals(4.0, table.probe(4));
+        assertEquals(1.0, table.probe(1));
+        assertTrue(Double.isNaN(table.probe(3)));
+        assertEquals(2, table.getReplacements());
+        assertTrue(table.summary().contains("capacity 2"));
+    }
+
+    @Test
+    void whenThreadsStoreAndProbeConcurrently_noValueOfAnotherKeyIsReturned() throws Exception {
+        TranspositionTable table = new TranspositionTable(256);
+        List<Future<Long>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int thread = 0; thread < 4; thread++) {
+                long seed = thread;
+                results.add(executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    long wrong = 0;
+                    for (int i = 0; i < 200_000; i++) {
+                        long key = random.nextLong(4096) * 0x9E3779B97F4A7C15L;
+                        double value = table.probe(key);
+                        if (!Double.isNaN(value) && value != valueOf(key)) {
+                            wrong++;
+                        }
+                        table.store(key, valueOf(key), 1 + random.nextInt(100));
+                    }
+                    return wrong;
+                }));
+            }
+            for (Future<Long> result : results) {
+                assertEquals(0, result.get());
+            }
+        }
+        assertTrue(table.getHits() > 0);
+    }
+
+    private static double valueOf(long key) {
+        return key % 1000;
+    }
+}
@@ -0,0 +1,36 @@
+package de.cofinpro.battleship.view;
+
+import de.cofinpro.battleship.model.Battlefield;
+import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattlefieldJsonTest {
+
+    Battlefield battlefield;
+
+    @BeforeEach
+    void setUp() {
+        battlefield = new Battlefield(3);
+        battlefield.couldPositionShip(List.of("A3", "B3"), new Battleship("Destroyer", 2));
+        battlefield.applyShot(new Shot(0, 2));
+        battlefield.applyShot(new Shot(2, 0));
+    }
+
+    @Test
+    void clearRowsShowShips() {
+        assertEquals("[\"..X\",\"..O\",\"M..\"]",
+                BattlefieldJson.appendRows(new StringBuilder(), battlefield, false).toString());
+    }
+
+    @Test
+    void obscuredRowsHideShips() {
+        assertEquals("[\"..X\",\"...\",\"M..\"]",
+                BattlefieldJson.appendRows(new StringBuilder(), battlefield, true).toString());
+    }
+}
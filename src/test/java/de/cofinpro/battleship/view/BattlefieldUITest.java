@@ -3,9 +3,14 @@ package de.cofinpro.battleship.view;
 import de.cofinpro.battleship.config.PropertyManager;
 import de.cofinpro.battleship.model.Battlefield;
 import de.cofinpro.battleship.model.Battleship;
+import de.cofinpro.battleship.model.Shot;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,4 +50,68 @@ class BattlefieldUITest {
         assertTrue(lines[6].endsWith(PropertyManager.getProperty("water-symbol").repeat(10)));
         assertTrue(lines[6].startsWith("E "));
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenShotApplied_displayBattlefieldEqualsFreshRendering() {
+        Battlefield battlefield = new Battlefield(10);
+        battlefield.couldPositionShip(List.of("E1","E4"), new Battleship("test", 4));
+        BattlefieldUI battlefieldUI = new BattlefieldUI(battlefield);
+        String before = battlefieldUI.displayBattlefield();
+        assertSame(before, battlefieldUI.displayBattlefield());
+        battlefield.applyShot(new Shot(4, 1));
+        battlefield.applyShot(new Shot(7, 7));
+        String after = battlefieldUI.displayBattlefield();
+        assertNotEquals(before, after);
+        assertEquals(new BattlefieldUI(battlefield).displayBattlefield(), after);
+        assertEquals(new BattlefieldUI(battlefield).displayBattlefieldObscured(),
+                battlefieldUI.displayBattlefieldObscured());
+    }
+
+    @Test
+    void whenCellsChanged_renderChangedCellsUpdatesOnlyThese() {
+        Battlefield battlefield = new Battlefield(10);
+        BattlefieldUI battlefieldUI = new BattlefieldUI(battlefield);
+        assertEquals(100, battlefieldUI.renderChangedCells(false, 1, 1).split("\u001b\\[").length - 1);
+        assertEquals("", battlefieldUI.renderChangedCells(false, 1, 1));
+        battlefield.applyShot(new Shot(1, 2));
+        assertEquals("\u001b[3;7H" + PropertyManager.getProperty("miss-symbol"),
+                battlefieldUI.renderChangedCells(false, 1, 1));
+    }
+
+    @Test
+    void whenShipPositioned_renderChangedCellsObscuredShowsNothing() {
+        Battlefield battlefield = new Battlefield(10);
+        BattlefieldUI battlefieldUI = new BattlefieldUI(battlefield);
+        battlefieldUI.renderChangedCells(true, 5, 1);
+        battlefield.couldPositionShip(List.of("E1","E4"), new Battleship("test", 4));
+        assertEquals("", battlefieldUI.renderChangedCells(true, 5, 1));
+        battlefield.applyShot(new Shot(4, 0));
+        assertEquals("\u001b[10;3H" + PropertyManager.getProperty("hit-symbol"),
+                battlefieldUI.renderChangedCells(true, 5, 1));
+    }
+
+    @Test
+    void whenRenderedConcurrently_clearAndObscuredViewsStayApart() throws Exception {
+        String ship = PropertyManager.getProperty("own-ship-symbol");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> renderings = new ArrayList<>();
+            for (int game = 0; game < 8; game++) {
+                renderings.add(executor.submit(() -> {
+                    for (int turn = 0; turn < 200; turn++) {
+                        Battlefield battlefield = new Battlefield(10);
+                        battlefield.couldPositionShip(List.of("E1", "E4"), new Battleship("test", 4));
+                        BattlefieldUI battlefieldUI = new BattlefieldUI(battlefield);
+                        assertFalse(battlefieldUI.displayBattlefieldObscured().contains(ship));
+                        assertTrue(battlefieldUI.displayBattlefield().contains(ship.repeat(4)));
+                    }
+                }));
+            }
+            for (Future<?> rendering : renderings) {
+                rendering.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package de.cofinpro.battleship.view;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptReaderTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 64})
+    void whenTokensSpreadOverLinesAndBuffers_allAreReadInOrder(int bufferSize) {
+        ScriptReader reader = reader("A1 A5\n  B10\tC3\r\n\nLongerThanSixteenBytesToken  ", bufferSize);
+        List<String> tokens = new ArrayList<>();
+        while (reader.hasNextToken()) {
+            tokens.add(reader.nextToken());
+        }
+        assertEquals(List.of("A1", "A5", "B10", "C3", "LongerThanSixteenBytesToken"), tokens);
+        assertEquals(5, reader.getTokens());
+        assertThrows(NoSuchElementException.class, reader::nextToken);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "  \n\t "})
+    void whenScriptBlank_noTokens(String script) {
+        assertFalse(reader(script, 4).hasNextToken());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 64})
+    void scriptedUiTakesTwoTokensPerShipAndOnePerShot(int bufferSize) {
+        ScriptedCommandLineUI ui = new ScriptedCommandLineUI(reader("A1 A2 C1\nC2 J10", bufferSize));
+        assertEquals(List.of("A1", "A2"), ui.promptForShipPosition("Destroyer", 2));
+        assertEquals(List.of("C1", "C2"), ui.promptForShipPosition("Destroyer", 2));
+        assertEquals("J10", ui.promptForShotPosition());
+        ui.promptForPlayerChange();
+        assertThrows(NoSuchElementException.class, ui::promptForShotPosition);
+    }
+
+    private static ScriptReader reader(String script, int bufferSize) {
+        return new ScriptReader(Channels.newChannel(
+                new ByteArrayInputStream(script.getBytes(StandardCharsets.US_ASCII))), bufferSize);
+    }
+}